@@ -0,0 +1,256 @@
+package ADTPackage.Dictionary;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+/**
+   A class that implements the ADT dictionary by using open addressing
+   with linear probing. Removed entries are not marked with tombstones;
+   instead, the entries that follow in the same cluster are shifted back,
+   so a search never has to step over deleted slots.
+   Search keys and associated values are not null.
+*/
+public class HashedDictionary<K, V> implements DictionaryInterface<K, V>
+{
+   private K[] keys;           // Search keys; null marks an empty slot
+   private V[] values;         // Values parallel to keys
+   private int numberOfEntries;
+   private int mask;           // keys.length - 1; capacity is a power of 2
+   private int resizeThreshold;
+   private static final int DEFAULT_CAPACITY = 16;
+   private static final int MAX_CAPACITY = 1 << 30;
+   private static final double MAX_LOAD_FACTOR = 0.5;
+
+   public HashedDictionary()
+   {
+      this(DEFAULT_CAPACITY);
+   } // end default constructor
+
+   /** Creates a dictionary that can hold the given number of entries
+       before it needs to resize.
+       @param initialCapacity  The expected number of entries. */
+   public HashedDictionary(int initialCapacity)
+   {
+      if (initialCapacity < 0)
+         throw new IllegalArgumentException("Initial capacity cannot be negative.");
+      allocateTable(tableSizeFor(initialCapacity));
+   } // end constructor
+
+   public V add(K key, V value)
+   {
+      if ((key == null) || (value == null))
+         throw new IllegalArgumentException("Cannot add null to a dictionary.");
+
+      int index = locate(key);
+      if (index >= 0)
+      {
+         V oldValue = values[index];
+         values[index] = value;
+         return oldValue;
+      } // end if
+
+      index = -(index + 1);
+      keys[index] = key;
+      values[index] = value;
+      numberOfEntries++;
+      if (numberOfEntries > resizeThreshold)
+         enlargeHashTable();
+      return null;
+   } // end add
+
+   public V remove(K key)
+   {
+      if (key == null)
+         throw new IllegalArgumentException("Cannot remove null from a dictionary.");
+
+      V result = null;
+      int index = locate(key);
+      if (index >= 0)
+      {
+         result = values[index];
+         shiftBack(index);
+         numberOfEntries--;
+      } // end if
+      return result;
+   } // end remove
+
+   public V getValue(K key)
+   {
+      int index = locate(key);
+      return (index >= 0) ? values[index] : null;
+   } // end getValue
+
+   public boolean contains(K key)
+   {
+      return locate(key) >= 0;
+   } // end contains
+
+   public Iterator<K> getKeyIterator()
+   {
+      return new KeyIterator();
+   } // end getKeyIterator
+
+   public Iterator<V> getValueIterator()
+   {
+      return new ValueIterator();
+   } // end getValueIterator
+
+   public boolean isEmpty()
+   {
+      return numberOfEntries == 0;
+   } // end isEmpty
+
+   public int getSize()
+   {
+      return numberOfEntries;
+   } // end getSize
+
+   public void clear()
+   {
+      for (int index = 0; index < keys.length; index++)
+      {
+         keys[index] = null;
+         values[index] = null;
+      } // end for
+      numberOfEntries = 0;
+   } // end clear
+
+   // Follows the probe sequence of key once. Returns the index of key if
+   // it is present; otherwise returns -(index of the empty slot that ends
+   // the probe sequence) - 1, which is where key would be inserted.
+   private int locate(K key)
+   {
+      int index = getHashIndex(key);
+      K candidate = keys[index];
+      while (candidate != null)
+      {
+         if ((candidate == key) || key.equals(candidate))
+            return index;
+         index = (index + 1) & mask;
+         candidate = keys[index];
+      } // end while
+      return -(index + 1);
+   } // end locate
+
+   private int getHashIndex(K key)
+   {
+      int hash = key.hashCode() * 0x9E3779B9; // Spread poor hash codes
+      return (hash ^ (hash >>> 16)) & mask;
+   } // end getHashIndex
+
+   // Empties the slot at hole and moves later entries of the same cluster
+   // back so that every remaining key is still reachable from its home slot.
+   private void shiftBack(int hole)
+   {
+      int index = (hole + 1) & mask;
+      K candidate = keys[index];
+      while (candidate != null)
+      {
+         int home = getHashIndex(candidate);
+         // Move the entry unless its home lies cyclically in (hole, index]
+         if (((index - home) & mask) >= ((index - hole) & mask))
+         {
+            keys[hole] = candidate;
+            values[hole] = values[index];
+            hole = index;
+         } // end if
+         index = (index + 1) & mask;
+         candidate = keys[index];
+      } // end while
+      keys[hole] = null;
+      values[hole] = null;
+   } // end shiftBack
+
+   private void enlargeHashTable()
+   {
+      K[] oldKeys = keys;
+      V[] oldValues = values;
+      if (oldKeys.length >= MAX_CAPACITY)
+         throw new IllegalStateException("Attempt to create a dictionary whose " +
+                                         "capacity exceeds allowed maximum of " + MAX_CAPACITY);
+      allocateTable(2 * oldKeys.length);
+
+      for (int index = 0; index < oldKeys.length; index++)
+      {
+         K key = oldKeys[index];
+         if (key != null)
+         {
+            // Keys are distinct, so the first empty slot is the right one
+            int newIndex = getHashIndex(key);
+            while (keys[newIndex] != null)
+               newIndex = (newIndex + 1) & mask;
+            keys[newIndex] = key;
+            values[newIndex] = oldValues[index];
+         } // end if
+      } // end for
+   } // end enlargeHashTable
+
+   private void allocateTable(int tableSize)
+   {
+      // The casts are safe because the new arrays contain null entries
+      @SuppressWarnings("unchecked")
+      K[] tempKeys = (K[])new Object[tableSize];
+      @SuppressWarnings("unchecked")
+      V[] tempValues = (V[])new Object[tableSize];
+      keys = tempKeys;
+      values = tempValues;
+      mask = tableSize - 1;
+      resizeThreshold = (int)(tableSize * MAX_LOAD_FACTOR);
+   } // end allocateTable
+
+   // Returns the smallest power of 2 whose table holds capacity entries
+   // without exceeding the maximum load factor.
+   private static int tableSizeFor(int capacity)
+   {
+      int tableSize = DEFAULT_CAPACITY;
+      while ((tableSize < MAX_CAPACITY) && (tableSize * MAX_LOAD_FACTOR < capacity))
+         tableSize = 2 * tableSize;
+      return tableSize;
+   } // end tableSizeFor
+
+   private abstract class SlotIterator
+   {
+      private int nextIndex; // Index of next occupied slot, or keys.length
+
+      protected SlotIterator()
+      {
+         nextIndex = -1;
+         advance();
+      } // end default constructor
+
+      public boolean hasNext()
+      {
+         return nextIndex < keys.length;
+      } // end hasNext
+
+      protected int nextSlot()
+      {
+         if (!hasNext())
+            throw new NoSuchElementException("Illegal call to next(); iterator is after end of dictionary.");
+         int result = nextIndex;
+         advance();
+         return result;
+      } // end nextSlot
+
+      private void advance()
+      {
+         nextIndex++;
+         while ((nextIndex < keys.length) && (keys[nextIndex] == null))
+            nextIndex++;
+      } // end advance
+   } // end SlotIterator
+
+   private class KeyIterator extends SlotIterator implements Iterator<K>
+   {
+      public K next()
+      {
+         return keys[nextSlot()];
+      } // end next
+   } // end KeyIterator
+
+   private class ValueIterator extends SlotIterator implements Iterator<V>
+   {
+      public V next()
+      {
+         return values[nextSlot()];
+      } // end next
+   } // end ValueIterator
+} // end HashedDictionary
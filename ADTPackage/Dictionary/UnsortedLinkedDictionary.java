@@ -26,9 +26,10 @@ public class UnsortedLinkedDictionary<K, V> implements DictionaryInterface<K, V>
             throw new IllegalArgumentException("Cannot add null to a dictionary.");
         } else
         {
-            if (this.contains(key))
+            V existingValue = this.getValue(key);
+            if (existingValue != null)
             {
-                return this.getValue(key);
+                return existingValue;
             } else
             {
                 Node<K, V> newNode = new Node<K, V>(key, value, firstNode);
@@ -47,14 +48,29 @@ public class UnsortedLinkedDictionary<K, V> implements DictionaryInterface<K, V>
             throw new IllegalArgumentException("Cannot remove null from a dictionary.");
         } else
         {
-            if (this.contains(key))
+            // Unlink the node in the same pass that finds it
+            Node<K, V> currentNode = firstNode;
+            Node<K, V> nodeBefore = null;
+            while ((currentNode != null) && !key.equals(currentNode.getKey()))
             {
-                numberOfEntries--;
-                return this.getValue(key);
-            } else
+                nodeBefore = currentNode;
+                currentNode = currentNode.getNextNode();
+            } // end while
+
+            if (currentNode == null)
             {
                 return null;
-            }
+            } // end if
+            if (nodeBefore == null)
+            {
+                firstNode = currentNode.getNextNode();
+            } else
+            {
+                nodeBefore.setNextNode(currentNode.getNextNode());
+            } // end if
+            currentNode.setNextNode(null);
+            numberOfEntries--;
+            return currentNode.getValue();
         }
     }
 
@@ -159,10 +175,10 @@ public class UnsortedLinkedDictionary<K, V> implements DictionaryInterface<K, V>
             return value;
         }
 
-        /*private void setNextNode(Node<K, V> nextNode)
+        private void setNextNode(Node<K, V> nextNode)
         {
             next = nextNode;
-        } // end setNextNode */
+        } // end setNextNode
 
     }
 
@@ -0,0 +1,125 @@
+package ADTPackage.DisjointSet;
+import java.util.Arrays;
+/**
+   A class of disjoint sets of the integers 0 through n - 1, also called a
+   union-find structure. Each set is a tree stored in a parent array; union
+   by size keeps the trees shallow, and find compresses the path it walks
+   by pointing every other node at its grandparent. A sequence of m
+   operations then takes O(m alpha(n)) time, which is linear in practice.
+*/
+public final class DisjointSets
+{
+   private final int[] parents; // Parent of each element; a root is its own parent
+   private final int[] sizes;   // Number of elements in the set of each root
+   private int numberOfSets;
+
+   /** Creates n sets, each containing one of the integers 0 through n - 1.
+       @param numberOfElements  The number of elements, n. */
+   public DisjointSets(int numberOfElements)
+   {
+      if (numberOfElements < 0)
+         throw new IllegalArgumentException("The number of elements cannot be negative.");
+      parents = new int[numberOfElements];
+      sizes = new int[numberOfElements];
+      for (int element = 0; element < numberOfElements; element++)
+         parents[element] = element;
+      Arrays.fill(sizes, 1);
+      numberOfSets = numberOfElements;
+   } // end constructor
+
+   /** Finds the representative of the set containing an element. Two
+       elements are in the same set exactly when they have the same
+       representative.
+       @param element  An integer from 0 through n - 1.
+       @return  The representative of element's set. */
+   public int find(int element)
+   {
+      checkElement(element);
+      int current = element;
+      while (parents[current] != current)
+      {
+         int grandparent = parents[parents[current]];
+         parents[current] = grandparent;
+         current = grandparent;
+      } // end while
+      return current;
+   } // end find
+
+   /** Combines the sets that contain two elements.
+       @param first  An integer from 0 through n - 1.
+       @param second  An integer from 0 through n - 1.
+       @return  True if the elements were in different sets. */
+   public boolean union(int first, int second)
+   {
+      int firstRoot = find(first);
+      int secondRoot = find(second);
+      if (firstRoot == secondRoot)
+         return false;
+      if (sizes[firstRoot] < sizes[secondRoot])
+      {
+         int smallerRoot = firstRoot;
+         firstRoot = secondRoot;
+         secondRoot = smallerRoot;
+      } // end if
+      parents[secondRoot] = firstRoot;
+      sizes[firstRoot] += sizes[secondRoot];
+      numberOfSets--;
+      return true;
+   } // end union
+
+   /** Sees whether two elements are in the same set.
+       @param first  An integer from 0 through n - 1.
+       @param second  An integer from 0 through n - 1.
+       @return  True if the elements are in the same set. */
+   public boolean isConnected(int first, int second)
+   {
+      return find(first) == find(second);
+   } // end isConnected
+
+   /** Gets the number of elements in the set containing a given element.
+       @param element  An integer from 0 through n - 1.
+       @return  The size of element's set. */
+   public int getSetSize(int element)
+   {
+      return sizes[find(element)];
+   } // end getSetSize
+
+   /** Gets the number of disjoint sets.
+       @return  The number of sets. */
+   public int getNumberOfSets()
+   {
+      return numberOfSets;
+   } // end getNumberOfSets
+
+   /** Gets the number of elements in all sets.
+       @return  n. */
+   public int getNumberOfElements()
+   {
+      return parents.length;
+   } // end getNumberOfElements
+
+   /** Numbers the sets 0, 1, 2, ... in order of their smallest elements.
+       @return  An array whose entry e is the number of the set that
+                contains e. */
+   public int[] getSetIds()
+   {
+      int[] ids = new int[parents.length];
+      Arrays.fill(ids, -1);
+      int nextId = 0;
+      for (int element = 0; element < parents.length; element++)
+      {
+         int root = find(element);
+         if (ids[root] < 0)
+            ids[root] = nextId++;
+         ids[element] = ids[root];
+      } // end for
+      return ids;
+   } // end getSetIds
+
+   private void checkElement(int element)
+   {
+      if ((element < 0) || (element >= parents.length))
+         throw new IllegalArgumentException("Element " + element + " is outside 0 to " +
+                                            (parents.length - 1) + ".");
+   } // end checkElement
+} // end DisjointSets
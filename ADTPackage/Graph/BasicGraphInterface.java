@@ -36,6 +36,20 @@ public interface BasicGraphInterface<T>
        @return  True if the edge is added, or false if not. */
    public boolean addEdge(T begin, T end);
 
+   /** Removes the edge between two given vertices. In a directed graph,
+       only the edge that points toward the second vertex is removed.
+       @param begin  An object that labels the origin vertex of the edge.
+       @param end    An object that labels the end vertex of the edge.
+       @return  True if the edge is removed, or false if there was no
+                such edge. */
+   public boolean removeEdge(T begin, T end);
+
+   /** Removes a given vertex and every edge that begins or ends at it.
+       @param vertexLabel  An object that labels the vertex.
+       @return  True if the vertex is removed, or false if there was no
+                such vertex. */
+   public boolean removeVertex(T vertexLabel);
+
    /** Sees whether an edge exists between two given vertices.
        @param begin  An object that labels the origin vertex of the edge.
        @param end    An object that labels the end vertex of the edge.
@@ -0,0 +1,49 @@
+package ADTPackage.Graph;
+/**
+   The outcome of a breadth-first search over a CsrGraph: the vertex
+   indices in the order they were reached, and the level (number of edges
+   from the origin) of every vertex.
+*/
+public final class BreadthFirstResult
+{
+   private final int[] order;
+   private final int[] levels;
+   private final int numberOfLevels;
+
+   BreadthFirstResult(int[] visitOrder, int[] vertexLevels, int levelCount)
+   {
+      order = visitOrder;
+      levels = vertexLevels;
+      numberOfLevels = levelCount;
+   } // end constructor
+
+   /** Gets the indices of the reached vertices. Every vertex on a level
+       comes before every vertex on the next level.
+       @return  The array of vertex indices, beginning with the origin. */
+   public int[] getOrder()
+   {
+      return order;
+   } // end getOrder
+
+   /** Gets the level of each vertex.
+       @return  An array whose entry v is the number of edges on a shortest
+                path from the origin to vertex v, or -1 if v is unreachable. */
+   public int[] getLevels()
+   {
+      return levels;
+   } // end getLevels
+
+   /** Gets the number of levels, counting the origin's level 0.
+       @return  One more than the largest level. */
+   public int getNumberOfLevels()
+   {
+      return numberOfLevels;
+   } // end getNumberOfLevels
+
+   /** Gets the number of vertices reached, including the origin.
+       @return  The number of reachable vertices. */
+   public int getNumberOfVertices()
+   {
+      return order.length;
+   } // end getNumberOfVertices
+} // end BreadthFirstResult
@@ -0,0 +1,140 @@
+package ADTPackage.Graph;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import ADTPackage.Stack.*;
+/**
+   A class that answers batches of shortest-path queries against one graph
+   by spreading them across a pool of threads. Graph keeps the state of
+   each query in a per-thread context, so the workers share the graph
+   without locking.
+
+   The graph must not be modified while a batch is running, and changes
+   made before a batch must be visible to the workers, which is the case
+   when they happen in the thread that calls getShortestPaths.
+*/
+public final class ConcurrentGraphQueryEngine<T> implements AutoCloseable
+{
+   private final Graph<T> graph;
+   private final ExecutorService executor;
+   private final int parallelism;
+   private final boolean ownsExecutor;    // True if close() should shut it down
+   private static final int TASKS_PER_THREAD = 4; // Evens out uneven query costs
+
+   /** Creates an engine with one platform thread per available processor.
+       @param queryGraph  The graph to query. */
+   public ConcurrentGraphQueryEngine(Graph<T> queryGraph)
+   {
+      this(queryGraph, Runtime.getRuntime().availableProcessors(), Executors.defaultThreadFactory());
+   } // end constructor
+
+   /** Creates an engine with a fixed number of worker threads made by a
+       given factory. On a JDK with virtual threads, passing
+       Thread.ofVirtual().factory() runs the queries on virtual threads.
+       @param queryGraph  The graph to query.
+       @param numberOfThreads  The number of worker threads.
+       @param threadFactory  The factory that creates the worker threads. */
+   public ConcurrentGraphQueryEngine(Graph<T> queryGraph, int numberOfThreads, ThreadFactory threadFactory)
+   {
+      if (numberOfThreads < 1)
+         throw new IllegalArgumentException("An engine needs at least one thread.");
+      graph = queryGraph;
+      executor = Executors.newFixedThreadPool(numberOfThreads, threadFactory);
+      parallelism = numberOfThreads;
+      ownsExecutor = true;
+   } // end constructor
+
+   /** Creates an engine that runs its queries on an existing executor.
+       close() does not shut down this executor.
+       @param queryGraph  The graph to query.
+       @param queryExecutor  The executor that runs the queries.
+       @param expectedParallelism  About how many queries the executor
+                                   runs at once; used to size the tasks. */
+   public ConcurrentGraphQueryEngine(Graph<T> queryGraph, ExecutorService queryExecutor,
+                                     int expectedParallelism)
+   {
+      if (expectedParallelism < 1)
+         throw new IllegalArgumentException("Expected parallelism must be positive.");
+      graph = queryGraph;
+      executor = queryExecutor;
+      parallelism = expectedParallelism;
+      ownsExecutor = false;
+   } // end constructor
+
+   /** Finds the shortest path for each (begins[i], ends[i]) pair.
+       @param begins  Labels of the origin vertices.
+       @param ends    Labels of the destination vertices; the same length
+                      as begins.
+       @return  An array whose entry i is the result for pair i. */
+   public PathResult<T>[] getShortestPaths(T[] begins, T[] ends)
+   {
+      if (begins.length != ends.length)
+         throw new IllegalArgumentException("Each begin label needs a matching end label.");
+
+      // The cast is safe because the new array contains null entries
+      @SuppressWarnings("unchecked")
+      PathResult<T>[] results = (PathResult<T>[])new PathResult<?>[begins.length];
+      int numberOfTasks = Math.max(1, Math.min(begins.length, parallelism * TASKS_PER_THREAD));
+      Future<?>[] tasks = new Future<?>[numberOfTasks];
+
+      for (int task = 0; task < numberOfTasks; task++)
+      {
+         int first = (int)((long)begins.length * task / numberOfTasks);
+         int last = (int)((long)begins.length * (task + 1) / numberOfTasks);
+         tasks[task] = executor.submit(() -> answer(begins, ends, first, last, results));
+      } // end for
+
+      waitFor(tasks);
+      return results;
+   } // end getShortestPaths
+
+   /** Shuts down the worker threads if this engine created them. */
+   public void close()
+   {
+      if (ownsExecutor)
+         executor.shutdown();
+   } // end close
+
+   // Answers the queries first through last - 1; each task writes
+   // distinct entries of results
+   private void answer(T[] begins, T[] ends, int first, int last, PathResult<T>[] results)
+   {
+      for (int query = first; query < last; query++)
+      {
+         StackInterface<T> path = new ResizableArrayStack<>();
+         int length = graph.getShortestPath(begins[query], ends[query], path);
+         results[query] = new PathResult<>(begins[query], ends[query], length, path);
+      } // end for
+   } // end answer
+
+   // Waits for every task; Future.get also makes the tasks' writes to the
+   // results array visible to this thread
+   private static void waitFor(Future<?>[] tasks)
+   {
+      try
+      {
+         for (Future<?> task : tasks)
+            task.get();
+      }
+      catch (InterruptedException e)
+      {
+         for (Future<?> task : tasks)
+            task.cancel(true);
+         Thread.currentThread().interrupt();
+         throw new IllegalStateException("Interrupted while waiting for queries.", e);
+      }
+      catch (ExecutionException e)
+      {
+         for (Future<?> task : tasks)
+            task.cancel(true);
+         Throwable cause = e.getCause();
+         if (cause instanceof RuntimeException)
+            throw (RuntimeException)cause;
+         if (cause instanceof Error)
+            throw (Error)cause;
+         throw new IllegalStateException(cause);
+      } // end try
+   } // end waitFor
+} // end ConcurrentGraphQueryEngine
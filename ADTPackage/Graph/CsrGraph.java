@@ -0,0 +1,273 @@
+package ADTPackage.Graph;
+import java.util.Arrays;
+import ADTPackage.Dictionary.*;
+import ADTPackage.Queue.*;
+import ADTPackage.Stack.*;
+/**
+   An immutable directed graph stored in compressed sparse row form.
+   Vertices are numbered 0 through getNumberOfVertices() - 1. The edges of
+   vertex v are targets[offsets[v]] through targets[offsets[v + 1] - 1],
+   with matching entries in weights. Traversals work on these primitive
+   arrays through IndexedSearches and allocate nothing per edge.
+
+   A CsrGraph is created by Graph.freeze(). Because it never changes, any
+   number of threads can query it at the same time.
+*/
+public final class CsrGraph<T>
+{
+   private final T[] labels;      // Vertex labels by index
+   private final int[] offsets;   // Start of each vertex's edges; length is n + 1
+   private final int[] targets;   // End vertex of each edge
+   private final double[] weights;// Weight of each edge
+   private final DictionaryInterface<T, Integer> labelIndices;
+   private volatile CsrGraph<T> transpose; // Built on first request
+   private final IndexedEdges<T> indexedEdges = new IndexedView(); // For IndexedSearches
+   private final ThreadLocal<TraversalContext> contexts = ThreadLocal.withInitial(TraversalContext::new);
+
+   CsrGraph(T[] vertexLabels, int[] edgeOffsets, int[] edgeTargets, double[] edgeWeights)
+   {
+      labels = vertexLabels;
+      offsets = edgeOffsets;
+      targets = edgeTargets;
+      weights = edgeWeights;
+      labelIndices = new HashedDictionary<>(labels.length);
+      for (int index = 0; index < labels.length; index++)
+         labelIndices.add(labels[index], index);
+   } // end constructor
+
+   // Creates the transpose of original, sharing its labels
+   private CsrGraph(CsrGraph<T> original, int[] edgeOffsets, int[] edgeTargets, double[] edgeWeights)
+   {
+      labels = original.labels;
+      offsets = edgeOffsets;
+      targets = edgeTargets;
+      weights = edgeWeights;
+      labelIndices = original.labelIndices;
+      transpose = original;
+   } // end constructor
+
+   /** Gets the number of vertices in this graph.
+       @return  The number of vertices. */
+   public int getNumberOfVertices()
+   {
+      return labels.length;
+   } // end getNumberOfVertices
+
+   /** Gets the number of edges in this graph.
+       @return  The number of edges. */
+   public int getNumberOfEdges()
+   {
+      return targets.length;
+   } // end getNumberOfEdges
+
+   /** Gets the index of the vertex with a given label.
+       @param vertexLabel  An object that labels a vertex.
+       @return  The index of the vertex, or -1 if no vertex has the label. */
+   public int getIndex(T vertexLabel)
+   {
+      Integer index = labelIndices.getValue(vertexLabel);
+      return (index == null) ? -1 : index;
+   } // end getIndex
+
+   /** Gets the label of the vertex at a given index.
+       @param vertexIndex  The index of a vertex.
+       @return  The label of the vertex. */
+   public T getLabel(int vertexIndex)
+   {
+      return labels[vertexIndex];
+   } // end getLabel
+
+   /** Gets the number of edges that begin at a given vertex.
+       @param vertexIndex  The index of a vertex.
+       @return  The out-degree of the vertex. */
+   public int getOutDegree(int vertexIndex)
+   {
+      return offsets[vertexIndex + 1] - offsets[vertexIndex];
+   } // end getOutDegree
+
+   /** Gets the transpose of this graph: a graph with the same vertices
+       and indices in which every edge is reversed. Its edges from v are
+       this graph's edges into v, so algorithms that pull values from a
+       vertex's predecessors can scan them as one contiguous range. The
+       transpose is built once, in O(V + E) time, and then reused.
+       @return  The transpose of this graph. */
+   public CsrGraph<T> getTranspose()
+   {
+      CsrGraph<T> result = transpose;
+      if (result == null)
+      {
+         int numberOfVertices = labels.length;
+         int[] reverseOffsets = new int[numberOfVertices + 1];
+         for (int target : targets)
+            reverseOffsets[target + 1]++;
+         for (int vertex = 0; vertex < numberOfVertices; vertex++)
+            reverseOffsets[vertex + 1] += reverseOffsets[vertex];
+
+         // Filling by increasing source keeps each vertex's in-edges sorted
+         int[] nextSlot = Arrays.copyOf(reverseOffsets, numberOfVertices);
+         int[] sources = new int[targets.length];
+         double[] reverseWeights = new double[targets.length];
+         for (int vertex = 0; vertex < numberOfVertices; vertex++)
+         {
+            for (int edge = offsets[vertex]; edge < offsets[vertex + 1]; edge++)
+            {
+               int slot = nextSlot[targets[edge]]++;
+               sources[slot] = vertex;
+               reverseWeights[slot] = weights[edge];
+            } // end for
+         } // end for
+         // Two threads may both build it; either result is correct
+         result = new CsrGraph<>(this, reverseOffsets, sources, reverseWeights);
+         transpose = result;
+      } // end if
+      return result;
+   } // end getTranspose
+
+   // The arrays below are shared, not copied, with the algorithm classes
+   // of this package; none of them may modify the arrays
+
+   int[] getOffsets()
+   {
+      return offsets;
+   } // end getOffsets
+
+   int[] getTargets()
+   {
+      return targets;
+   } // end getTargets
+
+   double[] getWeights()
+   {
+      return weights;
+   } // end getWeights
+
+   /** Performs a breadth-first traversal of this graph.
+       @param origin  An object that labels the origin vertex of the traversal.
+       @return  A queue of labels of the vertices in the traversal, with
+                the label of the origin vertex at the queue's front. */
+   public QueueInterface<T> getBreadthFirstTraversal(T origin)
+   {
+      int originIndex = getIndex(origin);
+      if (originIndex < 0)
+         return new ResizableArrayQueue<>();
+
+      TraversalContext context = beginQuery();
+      int count = IndexedSearches.breadthFirst(indexedEdges, originIndex, context);
+      return IndexedSearches.addLabels(indexedEdges, context.getVertexBuffer(), count,
+                                       new ResizableArrayQueue<>(count));
+   } // end getBreadthFirstTraversal
+
+   /** Performs a breadth-first traversal from a vertex index.
+       @param originIndex  The index of the origin vertex.
+       @return  The indices of the vertices in the traversal, beginning
+                with originIndex. */
+   public int[] getBreadthFirstOrder(int originIndex)
+   {
+      TraversalContext context = beginQuery();
+      return Arrays.copyOf(context.getVertexBuffer(), IndexedSearches.breadthFirst(indexedEdges, originIndex, context));
+   } // end getBreadthFirstOrder
+
+   /** Performs a depth-first traversal of this graph.
+       @param origin  An object that labels the origin vertex of the traversal.
+       @return  A queue of labels of the vertices in the traversal, with
+                the label of the origin vertex at the queue's front. */
+   public QueueInterface<T> getDepthFirstTraversal(T origin)
+   {
+      int originIndex = getIndex(origin);
+      if (originIndex < 0)
+         return new ResizableArrayQueue<>();
+
+      TraversalContext context = beginQuery();
+      int count = IndexedSearches.depthFirst(indexedEdges, originIndex, context);
+      return IndexedSearches.addLabels(indexedEdges, context.getVertexBuffer(), count,
+                                       new ResizableArrayQueue<>(count));
+   } // end getDepthFirstTraversal
+
+   /** Performs a depth-first traversal from a vertex index.
+       @param originIndex  The index of the origin vertex.
+       @return  The indices of the vertices in the traversal, beginning
+                with originIndex. */
+   public int[] getDepthFirstOrder(int originIndex)
+   {
+      TraversalContext context = beginQuery();
+      return Arrays.copyOf(context.getVertexBuffer(), IndexedSearches.depthFirst(indexedEdges, originIndex, context));
+   } // end getDepthFirstOrder
+
+   /** Finds the shortest-length path between two given vertices in this graph.
+       @param begin  An object that labels the path's origin vertex.
+       @param end    An object that labels the path's destination vertex.
+       @param path   A stack of labels that is empty initially;
+                     at the completion of the method, this stack contains
+                     the labels of the vertices along the shortest path;
+                     the label of the origin vertex is at the top, and
+                     the label of the destination vertex is at the bottom
+       @return  The length of the shortest path, or -1 if end cannot be
+                reached from begin, in which case path is unchanged. */
+   public int getShortestPath(T begin, T end, StackInterface<T> path)
+   {
+      int beginIndex = getIndex(begin);
+      int endIndex = getIndex(end);
+      if ((beginIndex < 0) || (endIndex < 0))
+         return -1;
+
+      TraversalContext context = beginQuery();
+      int pathLength = IndexedSearches.shortestPath(indexedEdges, beginIndex, endIndex, context);
+      if (pathLength >= 0)
+         IndexedSearches.pushPath(indexedEdges, endIndex, context, path);
+      return pathLength;
+   } // end getShortestPath
+
+   // Starts a query with the calling thread's own traversal state
+   private TraversalContext beginQuery()
+   {
+      TraversalContext context = contexts.get();
+      context.begin(labels.length);
+      return context;
+   } // end beginQuery
+
+   private final class IndexedView implements IndexedEdges<T>
+   {
+      public int getNumberOfVertices()
+      {
+         return labels.length;
+      } // end getNumberOfVertices
+
+      public T getLabel(int vertex)
+      {
+         return labels[vertex];
+      } // end getLabel
+
+      public IndexedEdges.Cursor newCursor()
+      {
+         return new EdgeCursor();
+      } // end newCursor
+   } // end IndexedView
+
+   // Walks the range of targets and weights that holds a vertex's edges
+   private final class EdgeCursor implements IndexedEdges.Cursor
+   {
+      private int edge;
+      private int end;
+
+      public void moveTo(int vertex)
+      {
+         edge = offsets[vertex] - 1;
+         end = offsets[vertex + 1];
+      } // end moveTo
+
+      public boolean next()
+      {
+         return ++edge < end;
+      } // end next
+
+      public int getTarget()
+      {
+         return targets[edge];
+      } // end getTarget
+
+      public double getWeight()
+      {
+         return weights[edge];
+      } // end getWeight
+   } // end EdgeCursor
+} // end CsrGraph
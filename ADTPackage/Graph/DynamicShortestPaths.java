@@ -0,0 +1,251 @@
+package ADTPackage.Graph;
+import java.util.Arrays;
+import java.util.Iterator;
+import ADTPackage.Dictionary.*;
+import ADTPackage.Stack.*;
+/**
+   A class that keeps shortest-length paths from chosen source vertices of
+   a Graph up to date while the graph changes.
+
+   For each source it stores a breadth-first tree: the length of a
+   shortest path to every vertex and the vertex before it on that path.
+   The class listens to the graph, and when an edge from u to v shortens
+   the path to v, it repairs v and then only those vertices whose paths
+   improve through v. Other vertices are not touched, so an insertion
+   that changes nothing costs O(1) per source, and a path query costs
+   O(path length).
+
+   Removals can lengthen paths, which a local repair cannot detect
+   cheaply. Removing an edge therefore rebuilds only the trees that used
+   it, and removing a vertex rebuilds every tree.
+
+   Like Graph, this class is not safe for use by several threads at once.
+   Call close() to stop listening when the paths are no longer needed.
+*/
+public final class DynamicShortestPaths<T> implements AutoCloseable
+{
+   private final Graph<T> graph;
+   private final DictionaryInterface<T, SourceTree> trees;
+   private final GraphListener<T> listener;
+   private int[] repairQueue;  // Vertices whose distances just improved
+
+   /** Creates an object that maintains shortest paths in a given graph,
+       initially from no sources.
+       @param pathGraph  The graph whose paths are maintained. */
+   public DynamicShortestPaths(Graph<T> pathGraph)
+   {
+      graph = pathGraph;
+      trees = new HashedDictionary<>();
+      repairQueue = new int[Math.max(graph.getNumberOfVertices(), 1)];
+      listener = new GraphListener<T>()
+      {
+         public void edgeAdded(T begin, T end, double edgeWeight)
+         {
+            repairAfterInsertion(graph.getIndex(begin), graph.getIndex(end));
+         } // end edgeAdded
+
+         public void edgeRemoved(T begin, T end)
+         {
+            repairAfterRemoval(graph.getIndex(begin), graph.getIndex(end));
+         } // end edgeRemoved
+
+         public void vertexRemoved(T vertexLabel)
+         {
+            trees.remove(vertexLabel);
+            rebuildAll();
+         } // end vertexRemoved
+
+         public void graphCleared()
+         {
+            trees.clear();
+         } // end graphCleared
+      }; // end GraphListener
+      graph.addGraphListener(listener);
+   } // end constructor
+
+   /** Starts maintaining the paths from a given vertex. This takes one
+       breadth-first search of the graph.
+       @param source  An object that labels the source vertex.
+       @return  True if the paths from source are now maintained, or false
+                if they already were or no vertex has the label source. */
+   public boolean addSource(T source)
+   {
+      int sourceIndex = graph.getIndex(source);
+      if ((sourceIndex < 0) || trees.contains(source))
+         return false;
+      SourceTree tree = new SourceTree();
+      build(tree, sourceIndex);
+      trees.add(source, tree);
+      return true;
+   } // end addSource
+
+   /** Stops maintaining the paths from a given vertex.
+       @param source  An object that labels the source vertex.
+       @return  True if the paths from source had been maintained. */
+   public boolean removeSource(T source)
+   {
+      return trees.remove(source) != null;
+   } // end removeSource
+
+   /** Gets the length of a shortest path from a source to a given vertex.
+       @param source  An object that labels a source added by addSource.
+       @param end  An object that labels the path's destination vertex.
+       @return  The number of edges on the path, or -1 if end is missing
+                or cannot be reached from source.
+       @throws  IllegalArgumentException if source is not a source. */
+   public int getDistance(T source, T end)
+   {
+      SourceTree tree = getTree(source);
+      int endIndex = graph.getIndex(end);
+      return (endIndex < 0) ? -1 : tree.getDistance(endIndex);
+   } // end getDistance
+
+   /** Finds a shortest path from a source to a given vertex. The time
+       taken is proportional to the length of the path.
+       @param source  An object that labels a source added by addSource.
+       @param end  An object that labels the path's destination vertex.
+       @param path  A stack of labels that is empty initially; at the
+                    completion of the method, this stack contains the
+                    labels of the vertices along the path, with the label
+                    of source at the top.
+       @return  The length of the path, or -1 if end is missing or cannot
+                be reached from source, in which case path is unchanged.
+       @throws  IllegalArgumentException if source is not a source. */
+   public int getShortestPath(T source, T end, StackInterface<T> path)
+   {
+      int length = getDistance(source, end);
+      if (length >= 0)
+      {
+         SourceTree tree = trees.getValue(source);
+         for (int index = graph.getIndex(end); index >= 0; index = tree.predecessors[index])
+            path.push(graph.getVertex(index).getLabel());
+      } // end if
+      return length;
+   } // end getShortestPath
+
+   /** Stops listening to the graph. The paths are no longer updated. */
+   public void close()
+   {
+      graph.removeGraphListener(listener);
+   } // end close
+
+   private SourceTree getTree(T source)
+   {
+      SourceTree tree = trees.getValue(source);
+      if (tree == null)
+         throw new IllegalArgumentException(source + " is not a source of this object.");
+      return tree;
+   } // end getTree
+
+   // Updates every source's tree after an edge from beginIndex to endIndex
+   // has been added
+   private void repairAfterInsertion(int beginIndex, int endIndex)
+   {
+      int numberOfVertices = graph.getNumberOfVertices();
+      Iterator<SourceTree> treeIterator = trees.getValueIterator();
+      while (treeIterator.hasNext())
+      {
+         SourceTree tree = treeIterator.next();
+         tree.ensureCapacity(numberOfVertices);
+         int beginDistance = tree.distances[beginIndex];
+         if ((beginDistance >= 0) && tree.improve(endIndex, beginDistance + 1, beginIndex))
+            propagate(tree, endIndex);
+      } // end while
+   } // end repairAfterInsertion
+
+   // Rebuilds every tree whose path to endIndex used the removed edge
+   // from beginIndex; no other path can have changed
+   private void repairAfterRemoval(int beginIndex, int endIndex)
+   {
+      Iterator<T> sources = trees.getKeyIterator();
+      while (sources.hasNext())
+      {
+         T source = sources.next();
+         SourceTree tree = trees.getValue(source);
+         if ((tree.getDistance(endIndex) > 0) && (tree.predecessors[endIndex] == beginIndex))
+            build(tree, graph.getIndex(source));
+      } // end while
+   } // end repairAfterRemoval
+
+   private void rebuildAll()
+   {
+      Iterator<T> sources = trees.getKeyIterator();
+      while (sources.hasNext())
+      {
+         T source = sources.next();
+         build(trees.getValue(source), graph.getIndex(source));
+      } // end while
+   } // end rebuildAll
+
+   // Fills a tree by a breadth-first search of the whole graph
+   private void build(SourceTree tree, int sourceIndex)
+   {
+      tree.ensureCapacity(graph.getNumberOfVertices());
+      Arrays.fill(tree.distances, -1);
+      tree.distances[sourceIndex] = 0;
+      tree.predecessors[sourceIndex] = -1;
+      propagate(tree, sourceIndex);
+   } // end build
+
+   // Performs a breadth-first search from a vertex whose distance has just
+   // been set, following only edges that shorten a path. Since the search
+   // starts from one vertex, vertices leave the queue in order of their new
+   // distances, so each improved vertex is queued once.
+   private void propagate(SourceTree tree, int startIndex)
+   {
+      if (repairQueue.length < tree.distances.length)
+         repairQueue = new int[tree.distances.length];
+      int head = 0;
+      int tail = 0;
+      repairQueue[tail++] = startIndex;
+      while (head < tail)
+      {
+         int frontIndex = repairQueue[head++];
+         int neighborDistance = tree.distances[frontIndex] + 1;
+         Iterator<Vertex<T>.Edge> edges = graph.getVertex(frontIndex).getEdgeIterator();
+         while (edges.hasNext())
+         {
+            int neighborIndex = ((Vertex<T>)edges.next().getEndVertex()).getIndex();
+            if (tree.improve(neighborIndex, neighborDistance, frontIndex))
+               repairQueue[tail++] = neighborIndex;
+         } // end while
+      } // end while
+   } // end propagate
+
+   // The breadth-first tree of one source. Entries of vertices added to
+   // the graph after the tree was built are filled in as the tree grows.
+   private static final class SourceTree
+   {
+      private int[] distances = new int[0];     // -1 if unreachable
+      private int[] predecessors = new int[0];
+
+      private void ensureCapacity(int numberOfVertices)
+      {
+         int oldLength = distances.length;
+         if (numberOfVertices > oldLength)
+         {
+            int newLength = Math.max(numberOfVertices, 2 * oldLength);
+            distances = Arrays.copyOf(distances, newLength);
+            predecessors = Arrays.copyOf(predecessors, newLength);
+            Arrays.fill(distances, oldLength, newLength, -1);
+         } // end if
+      } // end ensureCapacity
+
+      private int getDistance(int vertexIndex)
+      {
+         return (vertexIndex < distances.length) ? distances[vertexIndex] : -1;
+      } // end getDistance
+
+      // Records a path of the given length to a vertex if it is shorter
+      // than the known one; returns true if it was
+      private boolean improve(int vertexIndex, int distance, int predecessor)
+      {
+         int oldDistance = distances[vertexIndex];
+         if ((oldDistance >= 0) && (oldDistance <= distance))
+            return false;
+         distances[vertexIndex] = distance;
+         predecessors[vertexIndex] = predecessor;
+         return true;
+      } // end improve
+   } // end SourceTree
+} // end DynamicShortestPaths
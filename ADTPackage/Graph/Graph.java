@@ -1,5 +1,13 @@
 package ADTPackage.Graph;
+import java.util.Arrays;
 import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.IntToDoubleFunction;
+import java.util.function.ToDoubleBiFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 import ADTPackage.Dictionary.*; 
 import ADTPackage.Queue.*;
 import ADTPackage.Stack.*;
@@ -7,17 +15,82 @@ public final class Graph<T> implements GraphInterface<T>
 {
 	private DictionaryInterface<T, VertexInterface<T>> vertices;
 	private int edgeCount;
+	private Vertex<T>[] vertexTable; // Vertices by index, in order of addition
+	private final ThreadLocal<TraversalContext> contexts; // Per-thread query state
+	private final IndexedEdges<T> indexedEdges = new IndexedView(); // For IndexedSearches
+	private GraphListener<? super T>[] listeners; // Replaced, never changed, when listeners change
+	private static final int DEFAULT_CAPACITY = 16;
+	// Direction-optimizing BFS goes bottom-up once the frontier's edges exceed
+	// 1/14 of the edges into unvisited vertices, and back once the frontier
+	// holds fewer than 1/24 of the vertices (Beamer, Asanovic and Patterson)
+	private static final int TOP_DOWN_EDGE_RATIO = 14;
+	private static final int BOTTOM_UP_VERTEX_RATIO = 24;
 	
 	public Graph()
 	{
-		vertices = new UnsortedLinkedDictionary<>();
-		edgeCount = 0;
+		this(new HashedDictionary<>());
 	} // end default constructor
+
+	/** Creates an empty graph whose vertices are stored in the given dictionary.
+	    @param vertexDictionary  An empty dictionary that maps vertex labels
+	                             to vertices, such as a HashedDictionary or
+	                             an UnsortedLinkedDictionary. */
+	public Graph(DictionaryInterface<T, VertexInterface<T>> vertexDictionary)
+	{
+		if (vertexDictionary == null || !vertexDictionary.isEmpty())
+			throw new IllegalArgumentException("Graph requires an empty vertex dictionary.");
+		vertices = vertexDictionary;
+		edgeCount = 0;
+		initializeVertexTable();
+		contexts = ThreadLocal.withInitial(TraversalContext::new);
+		listeners = newListenerArray(0);
+	} // end constructor
+	
+	/** Creates a graph with the vertices and edges of a snapshot, such as
+	    one from freeze() or GraphLoader. Vertex i of the snapshot gets
+	    index i here, and each vertex's edges keep their order. The edges
+	    are linked straight from the snapshot's arrays, so unlike addEdge
+	    no label is looked up per edge. Self-loops and repeated edges,
+	    which a Graph cannot hold, are skipped.
+	    @param snapshot  The graph to copy.
+	    @throws IllegalArgumentException if two vertices of the snapshot
+	            have equal labels. */
+	public Graph(CsrGraph<T> snapshot)
+	{
+		this(new HashedDictionary<>(snapshot.getNumberOfVertices()));
+		int numberOfVertices = snapshot.getNumberOfVertices();
+		if (numberOfVertices > vertexTable.length)
+			vertexTable = Arrays.copyOf(vertexTable, numberOfVertices);
+		for (int index = 0; index < numberOfVertices; index++) {
+			if (!addVertex(snapshot.getLabel(index)))
+				throw new IllegalArgumentException("The label " + snapshot.getLabel(index) +
+				                                   " belongs to more than one vertex.");
+		} //end for
+
+		int[] offsets = snapshot.getOffsets();
+		int[] targets = snapshot.getTargets();
+		double[] weights = snapshot.getWeights();
+		for (int index = 0; index < numberOfVertices; index++) {
+			Vertex<T> beginVertex = vertexTable[index];
+			for (int edge = offsets[index]; edge < offsets[index + 1]; edge++) {
+				if (beginVertex.connect(vertexTable[targets[edge]], weights[edge]))
+					edgeCount++;
+			} //end for
+		} //end for
+	} // end constructor
 	
 	//basic graph interface implemented
 	public boolean addVertex(T vertexLabel) {
-		VertexInterface<T> addOutcome = vertices.add(vertexLabel, new Vertex<>(vertexLabel));
-		return addOutcome == null;
+		//DictionaryInterface.add replaces an existing value, so look first
+		if (vertices.getValue(vertexLabel) != null)
+			return false;
+		int index = vertices.getSize();
+		if (index == vertexTable.length)
+			vertexTable = Arrays.copyOf(vertexTable, 2 * vertexTable.length);
+		Vertex<T> newVertex = new Vertex<>(vertexLabel, index);
+		vertexTable[index] = newVertex;
+		vertices.add(vertexLabel, newVertex);
+		return true;
 	} //end addVertex
 
 	public boolean addEdge(T begin, T end, double edgeWeight) {
@@ -26,7 +99,11 @@ public final class Graph<T> implements GraphInterface<T>
         VertexInterface<T> endVertex = vertices.getValue(end);
         if (beginVertex != null && endVertex != null) {
             result = beginVertex.connect(endVertex, edgeWeight);
-            if (result) edgeCount++;
+            if (result) {
+                edgeCount++;
+                for (GraphListener<? super T> listener : listeners)
+                    listener.edgeAdded(begin, end, edgeWeight);
+            } //end if
         }
         return result;
     } // end addEdge
@@ -35,17 +112,55 @@ public final class Graph<T> implements GraphInterface<T>
 		return addEdge(begin, end, 0);
 	} //end addEdge
 
+	public boolean removeEdge(T begin, T end) {
+		boolean result = false;
+		VertexInterface<T> beginVertex = vertices.getValue(begin);
+		VertexInterface<T> endVertex = vertices.getValue(end);
+		if (beginVertex != null && endVertex != null) {
+			result = beginVertex.disconnect(endVertex);
+			if (result) {
+				edgeCount--;
+				for (GraphListener<? super T> listener : listeners)
+					listener.edgeRemoved(begin, end);
+			} //end if
+		} //end if
+		return result;
+	} //end removeEdge
+
+	/** Removes a given vertex and every edge that begins or ends at it, in
+	    time proportional to the vertex's degree. To keep vertex indices
+	    dense, the vertex with the largest index takes the removed
+	    vertex's index.
+	    @param vertexLabel  An object that labels the vertex.
+	    @return  True if the vertex is removed, or false if there was no
+	             such vertex. */
+	public boolean removeVertex(T vertexLabel) {
+		VertexInterface<T> vertex = vertices.remove(vertexLabel);
+		if (vertex == null)
+			return false;
+		Vertex<T> removedVertex = (Vertex<T>)vertex;
+		edgeCount -= removedVertex.disconnectAll();
+
+		int hole = removedVertex.getIndex();
+		int lastIndex = vertices.getSize();
+		if (hole != lastIndex) {
+			Vertex<T> movedVertex = vertexTable[lastIndex];
+			movedVertex.setIndex(hole);
+			vertexTable[hole] = movedVertex;
+		} //end if
+		vertexTable[lastIndex] = null;
+		removedVertex.setIndex(-1);
+		for (GraphListener<? super T> listener : listeners)
+			listener.vertexRemoved(vertexLabel);
+		return true;
+	} //end removeVertex
+
 	public boolean hasEdge(T begin, T end) {
 		boolean hasEdge = false;
 		VertexInterface<T> beginVertex = vertices.getValue(begin);
         VertexInterface<T> endVertex = vertices.getValue(end);
         if (beginVertex != null && endVertex != null) {
-            Iterator<VertexInterface<T>> neighbors = beginVertex.getNeighborIterator();
-            while (!hasEdge && neighbors.hasNext()) {
-                if (neighbors.next().equals(endVertex)) {
-                    hasEdge = true;
-                } //end if
-            } //end while
+            hasEdge = beginVertex.hasNeighbor(endVertex);
         } //end if
         return hasEdge;
 	} //end hasEdge
@@ -65,136 +180,673 @@ public final class Graph<T> implements GraphInterface<T>
 	public void clear() {
 		vertices.clear();
 		edgeCount = 0;
+		initializeVertexTable();
+		for (GraphListener<? super T> listener : listeners)
+			listener.graphCleared();
 	} //end of clear
 
-	protected void resetVertices() {
-		Iterator<VertexInterface<T>> vertexIterator = vertices.getValueIterator();
-		while (vertexIterator.hasNext())
-		{
-			 VertexInterface<T> nextVertex = vertexIterator.next();
-			 nextVertex.unvisit();
-			 nextVertex.setCost(0);
-			 nextVertex.setPredecessor(null);
-		} // end while
-	 } // end resetVertices
- 
+	/** Registers an object to be told about each later change to this graph.
+	    Listeners run in the thread that changes the graph.
+	    @param listener  The listener to add. */
+	public void addGraphListener(GraphListener<? super T> listener) {
+		if (listener == null)
+			throw new IllegalArgumentException("Cannot add a null listener.");
+		GraphListener<? super T>[] newListeners = Arrays.copyOf(listeners, listeners.length + 1);
+		newListeners[listeners.length] = listener;
+		listeners = newListeners;
+	} //end addGraphListener
+
+	/** Stops telling a listener about changes to this graph.
+	    @param listener  The listener to remove.
+	    @return  True if the listener had been registered. */
+	public boolean removeGraphListener(GraphListener<? super T> listener) {
+		for (int position = 0; position < listeners.length; position++) {
+			if (listeners[position] == listener) {
+				GraphListener<? super T>[] newListeners = newListenerArray(listeners.length - 1);
+				System.arraycopy(listeners, 0, newListeners, 0, position);
+				System.arraycopy(listeners, position + 1, newListeners, position, newListeners.length - position);
+				listeners = newListeners;
+				return true;
+			} //end if
+		} //end for
+		return false;
+	} //end removeGraphListener
+
+	private GraphListener<? super T>[] newListenerArray(int length) {
+		// The cast is safe because the new array contains null entries
+		@SuppressWarnings("unchecked")
+		GraphListener<? super T>[] tempListeners = (GraphListener<? super T>[])new GraphListener<?>[length];
+		return tempListeners;
+	} //end newListenerArray
+
+	/** Gets the index of the vertex with a given label, for the classes of
+	    this package that keep per-vertex data in arrays.
+	    @return  The index, or -1 if no vertex has the label. */
+	int getIndex(T vertexLabel) {
+		VertexInterface<T> vertex = vertices.getValue(vertexLabel);
+		return (vertex == null) ? -1 : indexOf(vertex);
+	} //end getIndex
+
+	/** Gets the vertex at a given index. */
+	Vertex<T> getVertex(int vertexIndex) {
+		return vertexTable[vertexIndex];
+	} //end getVertex
+
+	private void initializeVertexTable() {
+		// The cast is safe because the new array contains null entries
+		@SuppressWarnings("unchecked")
+		Vertex<T>[] tempTable = (Vertex<T>[])new Vertex<?>[DEFAULT_CAPACITY];
+		vertexTable = tempTable;
+	} //end initializeVertexTable
+
+	/** Packs this graph into an immutable compressed sparse row snapshot.
+	    Vertex i of the snapshot is the vertex with index i in this graph,
+	    which is the i-th vertex added unless vertices have been removed,
+	    and its edges keep the order in which they were added. Later changes
+	    to this graph do not affect the snapshot.
+	    @return  A CsrGraph with the same vertices, edges, and weights. */
+	public CsrGraph<T> freeze() {
+		int numberOfVertices = vertices.getSize();
+		// The cast is safe because the new array contains null entries
+		@SuppressWarnings("unchecked")
+		T[] labels = (T[])new Object[numberOfVertices];
+		int[] offsets = new int[numberOfVertices + 1];
+		for (int index = 0; index < numberOfVertices; index++) {
+			labels[index] = vertexTable[index].getLabel();
+			offsets[index + 1] = offsets[index] + vertexTable[index].getOutDegree();
+		} //end for
+
+		int[] targets = new int[offsets[numberOfVertices]];
+		double[] weights = new double[offsets[numberOfVertices]];
+		int position = 0;
+		for (int index = 0; index < numberOfVertices; index++) {
+			Iterator<Vertex<T>.Edge> edges = vertexTable[index].getEdgeIterator();
+			while (edges.hasNext()) {
+				Vertex<T>.Edge nextEdge = edges.next();
+				targets[position] = indexOf(nextEdge.getEndVertex());
+				weights[position] = nextEdge.getWeight();
+				position++;
+			} //end while
+		} //end for
+
+		return new CsrGraph<>(labels, offsets, targets, weights);
+	} //end freeze
+
+	// Graph creates every vertex it stores, so each one is a Vertex
+	private static <T> int indexOf(VertexInterface<T> vertex) {
+		return ((Vertex<T>)vertex).getIndex();
+	} //end indexOf
 
 	public QueueInterface<T> getBreadthFirstTraversal(T origin) {
-		//reset visited status of all vertices
-		resetVertices();
-        QueueInterface<T> traversalOrder = new LinkedQueue<>();
-        QueueInterface<VertexInterface<T>> vertexQueue = new LinkedQueue<>();
-
-        VertexInterface<T> originVertex = vertices.getValue(origin);
-
-        if (originVertex != null) {
-            originVertex.visit();
-            traversalOrder.enqueue(origin); //enqueue vertex label
-            vertexQueue.enqueue(originVertex); //enqueue vertex
-
-            while (!vertexQueue.isEmpty()) {
-                VertexInterface<T> frontVertex = vertexQueue.dequeue();
-                Iterator<VertexInterface<T>> neighbors = frontVertex.getNeighborIterator();
-
-                while (neighbors.hasNext()) {
-                    VertexInterface<T> nextNeighbor = neighbors.next();
-                    if (!nextNeighbor.isVisited()) {
-                        nextNeighbor.visit();
-                        traversalOrder.enqueue(nextNeighbor.getLabel());
-                        vertexQueue.enqueue(nextNeighbor);
-                    } //end if
-                } //end while
-            } //end while
-        } //end if
+		return getBreadthFirstTraversal(origin, new LinkedQueue<>());
+	} //end getBreadthFirstTraversal
 
-        return traversalOrder;
-    } //end getBreadthFirstTraversal
+	/** Performs a breadth-first traversal of this graph, adding the labels
+	    to a queue the caller chooses, such as a ResizableArrayQueue.
+	    @param origin  An object that labels the origin vertex of the traversal.
+	    @param traversalOrder  An empty queue to receive the labels.
+	    @return  traversalOrder, with the label of the origin vertex at the
+	             queue's front. */
+	public QueueInterface<T> getBreadthFirstTraversal(T origin, QueueInterface<T> traversalOrder) {
+		VertexInterface<T> originVertex = vertices.getValue(origin);
+		if (originVertex != null) {
+			TraversalContext context = beginQuery();
+			int count = IndexedSearches.breadthFirst(indexedEdges, indexOf(originVertex), context);
+			IndexedSearches.addLabels(indexedEdges, context.getVertexBuffer(), count, traversalOrder);
+		} //end if
+		return traversalOrder;
+	} //end getBreadthFirstTraversal
 
-    public QueueInterface<T> getDepthFirstTraversal(T origin) {
-		//reset visited status of all vertices
-		resetVertices();
+	/** Performs a breadth-first traversal of this graph, optionally in
+	    direction-optimizing mode. In that mode, a level whose frontier has
+	    many edges compared with the unvisited part of the graph is expanded
+	    bottom-up: each unvisited vertex looks through its incoming edges for
+	    a parent in the frontier and stops at the first one. On graphs with a
+	    small diameter this skips most of the edges a top-down step examines.
+	    Both modes visit the same vertices at the same levels, but within a
+	    level the bottom-up order follows vertex indices rather than edges.
+	    @param origin  An object that labels the origin vertex of the traversal.
+	    @param traversalOrder  An empty queue to receive the labels.
+	    @param directionOptimizing  True to allow bottom-up levels.
+	    @return  traversalOrder, with the label of the origin vertex at the
+	             queue's front and each level after the one before it. */
+	public QueueInterface<T> getBreadthFirstTraversal(T origin, QueueInterface<T> traversalOrder,
+	                                                  boolean directionOptimizing) {
+		if (!directionOptimizing)
+			return getBreadthFirstTraversal(origin, traversalOrder);
+
+		VertexInterface<T> originVertex = vertices.getValue(origin);
+		if (originVertex != null) {
+			TraversalContext context = beginQuery();
+			// order holds every reached vertex, level by level; the current
+			// level occupies positions levelStart through levelEnd - 1
+			int[] order = context.getVertexBuffer();
+			int originIndex = indexOf(originVertex);
+			context.reach(originIndex, 0, -1);
+			order[0] = originIndex;
+			int levelStart = 0;
+			int levelEnd = 1;
+			int level = 0;
+			long frontierEdges = vertexTable[originIndex].getOutDegree();
+			long unexploredEdges = edgeCount - vertexTable[originIndex].getInDegree();
+			boolean bottomUp = false;
+
+			while (levelStart < levelEnd) {
+				int frontierSize = levelEnd - levelStart;
+				if (!bottomUp)
+					bottomUp = frontierEdges > unexploredEdges / TOP_DOWN_EDGE_RATIO;
+				else
+					bottomUp = frontierSize >= vertices.getSize() / BOTTOM_UP_VERTEX_RATIO;
+
+				int tail = bottomUp ? expandBottomUp(context, level, order, levelEnd)
+				                    : expandTopDown(context, level, order, levelStart, levelEnd);
+
+				frontierEdges = 0;
+				for (int position = levelEnd; position < tail; position++) {
+					frontierEdges += vertexTable[order[position]].getOutDegree();
+					unexploredEdges -= vertexTable[order[position]].getInDegree();
+				} //end for
+				levelStart = levelEnd;
+				levelEnd = tail;
+				level++;
+			} //end while
+
+			for (int position = 0; position < levelEnd; position++)
+				traversalOrder.enqueue(vertexTable[order[position]].getLabel());
+		} //end if
+
+		return traversalOrder;
+	} //end getBreadthFirstTraversal
 
+	// Expands the frontier order[levelStart..levelEnd - 1] along outgoing
+	// edges, appending the next level to order; returns the new end of order
+	private int expandTopDown(TraversalContext context, int level, int[] order, int levelStart, int levelEnd) {
+		int tail = levelEnd;
+		for (int position = levelStart; position < levelEnd; position++) {
+			int frontIndex = order[position];
+			Iterator<Vertex<T>.Edge> edges = vertexTable[frontIndex].getEdgeIterator();
+			while (edges.hasNext()) {
+				int neighborIndex = indexOf(edges.next().getEndVertex());
+				if (!context.isReached(neighborIndex)) {
+					context.reach(neighborIndex, level + 1, frontIndex);
+					order[tail++] = neighborIndex;
+				} //end if
+			} //end while
+		} //end for
+		return tail;
+	} //end expandTopDown
+
+	// Gives each unvisited vertex with an incoming edge from the current
+	// level a parent on that level, appending it to order; returns the new
+	// end of order. The cost recorded by reach serves as the level number.
+	private int expandBottomUp(TraversalContext context, int level, int[] order, int levelEnd) {
+		int tail = levelEnd;
+		int numberOfVertices = vertices.getSize();
+		for (int index = 0; index < numberOfVertices; index++) {
+			if (!context.isReached(index)) {
+				Iterator<Vertex<T>.Edge> inEdges = vertexTable[index].getIncomingEdgeIterator();
+				while (inEdges.hasNext()) {
+					int parentIndex = indexOf(inEdges.next().getEndVertex());
+					if (context.isReached(parentIndex) && context.getCost(parentIndex) == level) {
+						context.reach(index, level + 1, parentIndex);
+						order[tail++] = index;
+						break;
+					} //end if
+				} //end while
+			} //end if
+		} //end for
+		return tail;
+	} //end expandBottomUp
+
+    public QueueInterface<T> getDepthFirstTraversal(T origin) {
 		//queue to store the traversal order
-        QueueInterface<T> traversalOrder = new LinkedQueue<>();
-
-		// Stack to perform depth-first traversal
-        StackInterface<VertexInterface<T>> vertexStack = new ResizableArrayStack<>();
-
-		//get vertex corresponding to origin value and mark it as visited
-        VertexInterface<T> originVertex = vertices.getValue(origin);
-
-        if (originVertex != null) {
-            originVertex.visit();
-            traversalOrder.enqueue(origin);
-            vertexStack.push(originVertex);
-
-			//perform depth-first traversal
-            while (!vertexStack.isEmpty()) {
-				//peek top vertex from stack
-                VertexInterface<T> topVertex = vertexStack.peek();
-				//get unvisited neighbor of the top vertex
-                VertexInterface<T> nextNeighbor = topVertex.getUnvisitedNeighbor();
-
-                if (nextNeighbor != null) {
-					//if unvisited neighbor is found, mark as visited,
-					//enqueue its label, and push onto stack
-                    nextNeighbor.visit();
-                    traversalOrder.enqueue(nextNeighbor.getLabel());
-                    vertexStack.push(nextNeighbor);
-                } else {
-					//if no unvisited neighbor found, pop top vertex from stack
-                    vertexStack.pop();
-                } //end if
-            }// end while
-        } //end if
+		return getDepthFirstTraversal(origin, new LinkedQueue<>());
+	} //end getDepthFirstTraversal
+
+	/** Performs a depth-first traversal of this graph, adding the labels
+	    to a queue the caller chooses, such as a ResizableArrayQueue.
+	    @param origin  An object that labels the origin vertex of the traversal.
+	    @param traversalOrder  An empty queue to receive the labels.
+	    @return  traversalOrder, with the label of the origin vertex at the
+	             queue's front. */
+	public QueueInterface<T> getDepthFirstTraversal(T origin, QueueInterface<T> traversalOrder) {
+		VertexInterface<T> originVertex = vertices.getValue(origin);
+		if (originVertex != null) {
+			TraversalContext context = beginQuery();
+			int count = IndexedSearches.depthFirst(indexedEdges, indexOf(originVertex), context);
+			IndexedSearches.addLabels(indexedEdges, context.getVertexBuffer(), count, traversalOrder);
+		} //end if
+		return traversalOrder;
+	} //end getDepthFirstTraversal
+
+	/** Creates an iterator that performs a breadth-first traversal lazily.
+	    Each call to next() expands only as many frontier vertices as it takes
+	    to find one more vertex. The graph must not change during iteration.
+	    @param origin  An object that labels the origin vertex of the traversal.
+	    @return  An iterator of the labels in breadth-first order, beginning
+	             with origin; it is empty if no vertex has that label. */
+	public TraversalIterator<T> getBreadthFirstIterator(T origin) {
+		return new BreadthFirstIterator(vertices.getValue(origin));
+	} //end getBreadthFirstIterator
+
+	/** Creates an iterator that performs a depth-first traversal lazily.
+	    Each call to next() advances the search by one vertex. The graph must
+	    not change during iteration.
+	    @param origin  An object that labels the origin vertex of the traversal.
+	    @return  An iterator of the labels in the order of
+	             getDepthFirstTraversal, beginning with origin; it is empty
+	             if no vertex has that label. */
+	public TraversalIterator<T> getDepthFirstIterator(T origin) {
+		return new DepthFirstIterator(vertices.getValue(origin));
+	} //end getDepthFirstIterator
+
+	/** Creates a sequential stream of the labels of a breadth-first
+	    traversal. Vertices are found only as the stream consumes them, so
+	    operations such as limit and anyMatch end the traversal early.
+	    @param origin  An object that labels the origin vertex of the traversal.
+	    @return  A stream of labels in breadth-first order. */
+	public Stream<T> streamBreadthFirst(T origin) {
+		return toStream(getBreadthFirstIterator(origin));
+	} //end streamBreadthFirst
+
+	/** Creates a sequential stream of the labels of a depth-first
+	    traversal. Vertices are found only as the stream consumes them.
+	    @param origin  An object that labels the origin vertex of the traversal.
+	    @return  A stream of labels in depth-first order. */
+	public Stream<T> streamDepthFirst(T origin) {
+		return toStream(getDepthFirstIterator(origin));
+	} //end streamDepthFirst
+
+	private static <T> Stream<T> toStream(Iterator<T> traversal) {
+		int characteristics = Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL;
+		return StreamSupport.stream(Spliterators.spliteratorUnknownSize(traversal, characteristics), false);
+	} //end toStream
+
+	/** Finds the shortest-length path between two given vertices in this graph.
+	    @param begin  An object that labels the path's origin vertex.
+	    @param end    An object that labels the path's destination vertex.
+	    @param path   A stack of labels that is empty initially; at the
+	                  completion of the method, this stack contains the labels
+	                  of the vertices along the shortest path, with the label
+	                  of the origin vertex at the top.
+	    @return  The length of the shortest path, or -1 if either vertex is
+	             missing or end cannot be reached from begin, in which case
+	             path is unchanged. */
+	public int getShortestPath(T begin, T end, StackInterface<T> path) {
+		VertexInterface<T> originVertex = vertices.getValue(begin);
+		VertexInterface<T> endVertex = vertices.getValue(end);
+		if (originVertex == null || endVertex == null)
+			return -1;
+
+		TraversalContext context = beginQuery();
+		int endIndex = indexOf(endVertex);
+		int length = IndexedSearches.shortestPath(indexedEdges, indexOf(originVertex), endIndex, context);
+		if (length >= 0)
+			IndexedSearches.pushPath(indexedEdges, endIndex, context, path);
+		return length;
+	} //end getShortestPath
+
+	/** Finds the shortest-length path between two given vertices in this
+	    graph, optionally by a bidirectional search. That search grows one
+	    frontier forward from begin along outgoing edges and another backward
+	    from end along incoming edges, always expanding a whole level of the
+	    smaller frontier, and stops at the first level where they meet. When
+	    the graph branches by a factor of b and the path has length d, it
+	    explores about 2 b^(d/2) vertices instead of b^d. Where several
+	    shortest paths exist, the two modes may return different ones.
+	    @param begin  An object that labels the path's origin vertex.
+	    @param end    An object that labels the path's destination vertex.
+	    @param path   A stack of labels that is empty initially; at the
+	                  completion of the method, this stack contains the labels
+	                  of the vertices along the shortest path, with the label
+	                  of the origin vertex at the top.
+	    @param bidirectional  True to search from both ends.
+	    @return  The length of the shortest path, or -1 if either vertex is
+	             missing or end cannot be reached from begin, in which case
+	             path is unchanged. */
+	public int getShortestPath(T begin, T end, StackInterface<T> path, boolean bidirectional) {
+		if (!bidirectional)
+			return getShortestPath(begin, end, path);
+
+		VertexInterface<T> originVertex = vertices.getValue(begin);
+		VertexInterface<T> endVertex = vertices.getValue(end);
+		if (originVertex == null || endVertex == null)
+			return -1;
+
+		TraversalContext context = beginQuery();
+		int originIndex = indexOf(originVertex);
+		int endIndex = indexOf(endVertex);
+		context.reach(originIndex, 0, -1);
+		context.reachBackward(endIndex, 0, -1);
+		if (originIndex == endIndex) {
+			IndexedSearches.pushPath(indexedEdges, originIndex, context, path);
+			return 0;
+		} //end if
+
+		// Each queue holds its side's reached vertices level by level; the
+		// current level runs from its start to its end position
+		int[] forwardQueue = context.getVertexBuffer();
+		int[] backwardQueue = context.getBackwardBuffer();
+		forwardQueue[0] = originIndex;
+		backwardQueue[0] = endIndex;
+		int forwardStart = 0;
+		int forwardEnd = 1;
+		int backwardStart = 0;
+		int backwardEnd = 1;
+		int meetingIndex = -1;
+		int bestLength = Integer.MAX_VALUE;
+		while (meetingIndex < 0 && forwardStart < forwardEnd && backwardStart < backwardEnd) {
+			boolean forward = (forwardEnd - forwardStart) <= (backwardEnd - backwardStart);
+			int[] queue = forward ? forwardQueue : backwardQueue;
+			int levelStart = forward ? forwardStart : backwardStart;
+			int tail = forward ? forwardEnd : backwardEnd;
+			int levelEnd = tail;
+
+			// Finish the whole level, so the shortest of its meetings is kept
+			for (int position = levelStart; position < levelEnd; position++) {
+				int frontIndex = queue[position];
+				Iterator<Vertex<T>.Edge> edges = forward ? vertexTable[frontIndex].getEdgeIterator()
+				                                         : vertexTable[frontIndex].getIncomingEdgeIterator();
+				while (edges.hasNext()) {
+					int neighborIndex = indexOf(edges.next().getEndVertex());
+					if (forward ? !context.isReached(neighborIndex) : !context.isReachedBackward(neighborIndex)) {
+						if (forward)
+							context.reach(neighborIndex, 1 + context.getCost(frontIndex), frontIndex);
+						else
+							context.reachBackward(neighborIndex, 1 + context.getBackwardCost(frontIndex), frontIndex);
+						queue[tail++] = neighborIndex;
+
+						if (context.isReached(neighborIndex) && context.isReachedBackward(neighborIndex)) {
+							int length = (int)(context.getCost(neighborIndex) + context.getBackwardCost(neighborIndex));
+							if (length < bestLength) {
+								bestLength = length;
+								meetingIndex = neighborIndex;
+							} //end if
+						} //end if
+					} //end if
+				} //end while
+			} //end for
+
+			if (forward) {
+				forwardStart = levelEnd;
+				forwardEnd = tail;
+			}
+			else {
+				backwardStart = levelEnd;
+				backwardEnd = tail;
+			} //end if
+		} //end while
+
+		if (meetingIndex < 0)
+			return -1;
+
+		// Push the backward half from end toward the meeting vertex, then the
+		// forward half; the backward queue is free to hold the reversed half
+		int halfLength = 0;
+		for (int index = context.getSuccessor(meetingIndex); index >= 0; index = context.getSuccessor(index))
+			backwardQueue[halfLength++] = index;
+		for (int position = halfLength - 1; position >= 0; position--)
+			path.push(vertexTable[backwardQueue[position]].getLabel());
+		IndexedSearches.pushPath(indexedEdges, meetingIndex, context, path);
+		return bestLength;
+	} //end getShortestPath
+
+	// Starts a query with the calling thread's own traversal state
+	private TraversalContext beginQuery() {
+		TraversalContext context = contexts.get();
+		context.begin(vertexTable.length);
+		return context;
+	} //end beginQuery
+
+	/** Performs a topological sort of the vertices in this graph by using
+	    Kahn's algorithm. In-degrees are counted in one pass over the edges,
+	    and each vertex and edge is then handled once, so the sort takes
+	    O(V + E) time.
+	    @return  A stack of vertex labels in topological order, beginning
+	             with the stack's top.
+	    @throws  GraphCycleException if the graph has a cycle; the exception
+	             names the vertices of one cycle. */
+	public StackInterface<T> getTopologicalOrder() {
+		int[] order = IndexedSearches.topologicalOrder(indexedEdges, beginQuery());
+		StackInterface<T> topologicalOrder = new ResizableArrayStack<>(Math.max(order.length, 1));
+		for (int position = order.length - 1; position >= 0; position--)
+			topologicalOrder.push(vertexTable[order[position]].getLabel());
+		return topologicalOrder;
+	} //end getTopologicalOrder
+
+	/** Finds the least-cost path between two given vertices by using
+	    Dijkstra's algorithm. The search stops as soon as the cost of end
+	    is final. Edge weights must not be negative.
+	    @param begin  An object that labels the path's origin vertex.
+	    @param end    An object that labels the path's destination vertex.
+	    @param path   A stack of labels that is empty initially; at the
+	                  completion of the method, this stack contains the labels
+	                  of the vertices along the cheapest path, with the label
+	                  of the origin vertex at the top.
+	    @return  The cost of the cheapest path, or Double.POSITIVE_INFINITY if
+	             end cannot be reached from begin, in which case path is
+	             unchanged. */
+	public double getCheapestPath(T begin, T end, StackInterface<T> path) {
+		return cheapestPath(begin, end, path, null);
+	} //end getCheapestPath
+
+	/** Finds the least-cost path between two given vertices by using A*
+	    search. Vertices leave the priority queue in order of their cost from
+	    begin plus the heuristic's estimate of their cost to end, so the
+	    search expands few vertices that lead away from end. The path is the
+	    cheapest one if the heuristic is consistent: it never exceeds the
+	    weight of an edge plus the estimate from that edge's end vertex, and
+	    it estimates 0 for end itself. Distances in the plane between
+	    coordinates stored in the labels are consistent when no edge weighs
+	    less than the distance between its vertices. Edge weights must not
+	    be negative.
+	    @param begin  An object that labels the path's origin vertex.
+	    @param end    An object that labels the path's destination vertex.
+	    @param path   A stack of labels that is empty initially; at the
+	                  completion of the method, this stack contains the labels
+	                  of the vertices along the cheapest path, with the label
+	                  of the origin vertex at the top.
+	    @param heuristic  A function that estimates the cost of a path from
+	                      its first argument to its second, which is end.
+	    @return  The cost of the path found, or Double.POSITIVE_INFINITY if
+	             end cannot be reached from begin, in which case path is
+	             unchanged. */
+	public double getCheapestPath(T begin, T end, StackInterface<T> path,
+	                              ToDoubleBiFunction<? super T, ? super T> heuristic) {
+		if (heuristic == null)
+			throw new IllegalArgumentException("A* search needs a heuristic.");
+		return cheapestPath(begin, end, path, heuristic);
+	} //end getCheapestPath
+
+	/** Gets the number of vertices that the calling thread's most recent
+	    call to getCheapestPath removed from its priority queue and expanded.
+	    Comparing the counts with and without a heuristic measures how much
+	    work the heuristic saves.
+	    @return  The number of vertices expanded by the last least-cost path
+	             search on this thread, or 0 if the last query of this
+	             thread was not such a search. */
+	public int getLastExpandedCount() {
+		return contexts.get().getExpandedCount();
+	} //end getLastExpandedCount
+
+	// Performs Dijkstra's algorithm when heuristic is null and A* search
+	// otherwise, giving IndexedSearches the heuristic's estimates by index
+	private double cheapestPath(T begin, T end, StackInterface<T> path,
+	                            ToDoubleBiFunction<? super T, ? super T> heuristic) {
+		VertexInterface<T> originVertex = vertices.getValue(begin);
+		VertexInterface<T> endVertex = vertices.getValue(end);
+		TraversalContext context = beginQuery();
+		if (originVertex == null || endVertex == null)
+			return Double.POSITIVE_INFINITY;
+
+		IntToDoubleFunction estimate = null;
+		if (heuristic != null)
+			estimate = index -> heuristic.applyAsDouble(vertexTable[index].getLabel(), end);
+		int endIndex = indexOf(endVertex);
+		double cost = IndexedSearches.cheapestPath(indexedEdges, indexOf(originVertex), endIndex, estimate, context);
+		if (context.isSettled(endIndex))
+			IndexedSearches.pushPath(indexedEdges, endIndex, context, path);
+		return cost;
+	} //end cheapestPath
+
+	// Visits vertices in breadth-first order on demand. found holds every
+	// vertex discovered so far in discovery order; entries before
+	// returnedCount have been returned and entries before expandedCount have
+	// had their edges followed. A bitmap rather than the thread's traversal
+	// context records which vertices were found, since the caller may run
+	// other queries between calls to next().
+	private class BreadthFirstIterator implements TraversalIterator<T> {
+		private int[] found;
+		private int[] depths;
+		private int foundCount;
+		private int returnedCount;
+		private int expandedCount;
+		private final long[] foundBits;
+		private int currentDepth;
+
+		private BreadthFirstIterator(VertexInterface<T> originVertex) {
+			found = new int[DEFAULT_CAPACITY];
+			depths = new int[DEFAULT_CAPACITY];
+			foundBits = new long[(vertexTable.length + 63) >>> 6];
+			currentDepth = -1;
+			if (originVertex != null)
+				addFound(indexOf(originVertex), 0);
+		} // end constructor
+
+		public boolean hasNext() {
+			while (returnedCount == foundCount && expandedCount < foundCount)
+				expand(found[expandedCount], depths[expandedCount++] + 1);
+			return returnedCount < foundCount;
+		} // end hasNext
+
+		public T next() {
+			if (!hasNext())
+				throw new NoSuchElementException("Illegal call to next(); traversal is complete.");
+			currentDepth = depths[returnedCount];
+			return vertexTable[found[returnedCount++]].getLabel();
+		} // end next
+
+		public int getDepth() {
+			return currentDepth;
+		} // end getDepth
+
+		private void expand(int index, int neighborDepth) {
+			Iterator<Vertex<T>.Edge> edges = vertexTable[index].getEdgeIterator();
+			while (edges.hasNext()) {
+				int neighborIndex = indexOf(edges.next().getEndVertex());
+				if ((foundBits[neighborIndex >>> 6] & (1L << neighborIndex)) == 0)
+					addFound(neighborIndex, neighborDepth);
+			} // end while
+		} // end expand
+
+		private void addFound(int index, int depth) {
+			foundBits[index >>> 6] |= 1L << index;
+			if (foundCount == found.length) {
+				found = Arrays.copyOf(found, 2 * foundCount);
+				depths = Arrays.copyOf(depths, 2 * foundCount);
+			} //end if
+			found[foundCount] = index;
+			depths[foundCount++] = depth;
+		} // end addFound
+	} // end BreadthFirstIterator
+
+	// Visits vertices in depth-first order on demand. The stacks hold the
+	// current path and, for each vertex on it, the iterator over the edges
+	// it has not yet tried.
+	private class DepthFirstIterator implements TraversalIterator<T> {
+		private final IntArrayStack pathStack;
+		private final StackInterface<Iterator<Vertex<T>.Edge>> edgeStack;
+		private final long[] foundBits;
+		private int nextIndex;   // Vertex to return next, or -1 if not yet found
+		private int nextDepth;
+		private int currentDepth;
+
+		private DepthFirstIterator(VertexInterface<T> originVertex) {
+			pathStack = new IntArrayStack();
+			edgeStack = new ResizableArrayStack<>();
+			foundBits = new long[(vertexTable.length + 63) >>> 6];
+			currentDepth = -1;
+			nextIndex = -1;
+			if (originVertex != null) {
+				nextIndex = indexOf(originVertex);
+				nextDepth = 0;
+			} //end if
+		} // end constructor
+
+		public boolean hasNext() {
+			while (nextIndex < 0 && !pathStack.isEmpty()) {
+				Iterator<Vertex<T>.Edge> edges = edgeStack.peek();
+				while (nextIndex < 0 && edges.hasNext()) {
+					int candidate = indexOf(edges.next().getEndVertex());
+					if ((foundBits[candidate >>> 6] & (1L << candidate)) == 0) {
+						nextIndex = candidate;
+						nextDepth = pathStack.getSize();
+					} //end if
+				} //end while
+				if (nextIndex < 0) {
+					pathStack.pop();
+					edgeStack.pop();
+				} //end if
+			} //end while
+			return nextIndex >= 0;
+		} // end hasNext
+
+		public T next() {
+			if (!hasNext())
+				throw new NoSuchElementException("Illegal call to next(); traversal is complete.");
+			int index = nextIndex;
+			foundBits[index >>> 6] |= 1L << index;
+			pathStack.push(index);
+			edgeStack.push(vertexTable[index].getEdgeIterator());
+			currentDepth = nextDepth;
+			nextIndex = -1;
+			return vertexTable[index].getLabel();
+		} // end next
+
+		public int getDepth() {
+			return currentDepth;
+		} // end getDepth
+	} // end DepthFirstIterator
+
+	private class IndexedView implements IndexedEdges<T> {
+		public int getNumberOfVertices() {
+			return vertices.getSize();
+		} // end getNumberOfVertices
+
+		public T getLabel(int vertex) {
+			return vertexTable[vertex].getLabel();
+		} // end getLabel
+
+		public IndexedEdges.Cursor newCursor() {
+			return new EdgeCursor();
+		} // end newCursor
+	} // end IndexedView
+
+	// Walks the linked edges of a vertex; nextEdge is the edge that next()
+	// moves to
+	private class EdgeCursor implements IndexedEdges.Cursor {
+		private Vertex<T>.Edge edge;
+		private Vertex<T>.Edge nextEdge;
+
+		public void moveTo(int vertex) {
+			edge = null;
+			nextEdge = vertexTable[vertex].getFirstEdge();
+		} // end moveTo
+
+		public boolean next() {
+			edge = nextEdge;
+			if (edge == null)
+				return false;
+			nextEdge = edge.getNextEdge();
+			return true;
+		} // end next
+
+		public int getTarget() {
+			return indexOf(edge.getEndVertex());
+		} // end getTarget
 
-        return traversalOrder;
-    } //end getDepthFirstTraversal
-
-	public int getShortestPath(T begin, T end, StackInterface<T> path)
-   {
-      resetVertices();
-      boolean done = false;
-      QueueInterface<VertexInterface<T>> vertexQueue = new LinkedQueue<>();
-      VertexInterface<T> originVertex = vertices.getValue(begin);
-      VertexInterface<T> endVertex = vertices.getValue(end);
-      originVertex.visit();
-   
-      // Assertion: resetVertices() has executed setCost(0)
-      // and setPredecessor(null) for originVertex
-   
-      vertexQueue.enqueue(originVertex);
-      while (!done && !vertexQueue.isEmpty())
-      {
-         VertexInterface<T> frontVertex = vertexQueue.dequeue();
-         Iterator<VertexInterface<T>> neighbors = frontVertex.getNeighborIterator();
-         while (!done && neighbors.hasNext())
-         {
-            VertexInterface<T> nextNeighbor = neighbors.next();
-            if (!nextNeighbor.isVisited())
-            {
-               nextNeighbor.visit();
-               nextNeighbor.setCost(1 + frontVertex.getCost());
-               nextNeighbor.setPredecessor(frontVertex);
-               vertexQueue.enqueue(nextNeighbor);
-            } // end if
-   
-            if (nextNeighbor.equals(endVertex))
-               done = true;
-         } // end while
-      } // end while
-   
-      // Traversal ends; construct shortest path
-      int pathLength = (int)endVertex.getCost();
-      path.push(endVertex.getLabel());
-   
-      VertexInterface<T> vertex = endVertex;
-      while (vertex.hasPredecessor())
-      {
-         vertex = vertex.getPredecessor();
-         path.push(vertex.getLabel());
-      } // end while
-   
-      return pathLength;
-   } // end getShortestPath
+		public double getWeight() {
+			return edge.getWeight();
+		} // end getWeight
+	} // end EdgeCursor
 } // end DirectedGraph
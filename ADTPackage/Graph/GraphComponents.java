@@ -0,0 +1,119 @@
+package ADTPackage.Graph;
+import java.util.Arrays;
+import ADTPackage.DisjointSet.*;
+/**
+   A class of linear-time algorithms that divide the vertices of a
+   CsrGraph into components. Each returns an array whose entry v is the
+   component number of vertex v; components are numbered 0 through k - 1,
+   so the number of components is one more than the largest entry.
+   Neither algorithm recurses, so a graph with a path of millions of
+   vertices cannot overflow the call stack.
+*/
+public final class GraphComponents
+{
+   private GraphComponents()
+   {
+   } // end constructor
+
+   /** Finds the weakly connected components of a graph: the sets of
+       vertices that are connected when edge directions are ignored. The
+       edges are merged into a union-find structure in O(V + E alpha(V))
+       time. Components are numbered in order of their first vertex.
+       @param graph  The graph.
+       @return  The component number of each vertex. */
+   public static int[] getWeaklyConnectedComponents(CsrGraph<?> graph)
+   {
+      int numberOfVertices = graph.getNumberOfVertices();
+      int[] offsets = graph.getOffsets();
+      int[] targets = graph.getTargets();
+      DisjointSets components = new DisjointSets(numberOfVertices);
+      for (int vertex = 0; vertex < numberOfVertices; vertex++)
+      {
+         for (int edge = offsets[vertex]; edge < offsets[vertex + 1]; edge++)
+            components.union(vertex, targets[edge]);
+      } // end for
+      return components.getSetIds();
+   } // end getWeaklyConnectedComponents
+
+   /** Finds the strongly connected components of a graph: the largest
+       sets of vertices in which every vertex can reach every other. This
+       is Tarjan's algorithm in O(V + E) time, with the depth-first search
+       kept in int arrays instead of on the call stack. Components are
+       numbered in the order Tarjan's algorithm completes them, which is a
+       reverse topological order: every edge between two components goes
+       from a higher number to a lower one.
+       @param graph  The graph.
+       @return  The component number of each vertex. */
+   public static int[] getStronglyConnectedComponents(CsrGraph<?> graph)
+   {
+      int numberOfVertices = graph.getNumberOfVertices();
+      int[] offsets = graph.getOffsets();
+      int[] targets = graph.getTargets();
+
+      int[] discovery = new int[numberOfVertices]; // Discovery time + 1; 0 if unvisited
+      int[] lowLinks = new int[numberOfVertices];
+      int[] components = new int[numberOfVertices];
+      Arrays.fill(components, -1);
+      int[] nextEdge = new int[numberOfVertices];  // Next edge to try from each vertex
+      int[] searchPath = new int[numberOfVertices]; // Depth-first path
+      int[] pending = new int[numberOfVertices];   // Vertices not yet in a component
+      boolean[] isPending = new boolean[numberOfVertices];
+      int time = 0;
+      int componentCount = 0;
+      int pendingSize = 0;
+
+      for (int root = 0; root < numberOfVertices; root++)
+      {
+         if (discovery[root] != 0)
+            continue;
+
+         int pathSize = 0;
+         searchPath[pathSize++] = root;
+         discovery[root] = lowLinks[root] = ++time;
+         nextEdge[root] = offsets[root];
+         pending[pendingSize++] = root;
+         isPending[root] = true;
+         while (pathSize > 0)
+         {
+            int vertex = searchPath[pathSize - 1];
+            if (nextEdge[vertex] < offsets[vertex + 1])
+            {
+               int neighbor = targets[nextEdge[vertex]++];
+               if (discovery[neighbor] == 0)
+               {
+                  // Descend into neighbor
+                  searchPath[pathSize++] = neighbor;
+                  discovery[neighbor] = lowLinks[neighbor] = ++time;
+                  nextEdge[neighbor] = offsets[neighbor];
+                  pending[pendingSize++] = neighbor;
+                  isPending[neighbor] = true;
+               }
+               else if (isPending[neighbor])
+                  lowLinks[vertex] = Math.min(lowLinks[vertex], discovery[neighbor]);
+            }
+            else
+            {
+               // vertex is finished; report its component if it is a root
+               pathSize--;
+               if (lowLinks[vertex] == discovery[vertex])
+               {
+                  int member;
+                  do
+                  {
+                     member = pending[--pendingSize];
+                     isPending[member] = false;
+                     components[member] = componentCount;
+                  } while (member != vertex);
+                  componentCount++;
+               } // end if
+               if (pathSize > 0)
+               {
+                  int parent = searchPath[pathSize - 1];
+                  lowLinks[parent] = Math.min(lowLinks[parent], lowLinks[vertex]);
+               } // end if
+            } // end if
+         } // end while
+      } // end for
+      return components;
+   } // end getStronglyConnectedComponents
+} // end GraphComponents
@@ -0,0 +1,38 @@
+package ADTPackage.Graph;
+/**
+   An exception thrown when an algorithm that needs a graph without
+   cycles, such as a topological sort, finds a cycle. The exception names
+   the vertices of one such cycle.
+*/
+public class GraphCycleException extends IllegalStateException
+{
+   private static final long serialVersionUID = 1L;
+   private final Object[] cycle; // Labels along the cycle, in edge order
+
+   /** Creates an exception for a cycle through the given vertex labels.
+       @param cycleLabels  The labels of the vertices on the cycle, in the
+                           order the edges visit them. */
+   public GraphCycleException(Object[] cycleLabels)
+   {
+      super(describe(cycleLabels));
+      cycle = cycleLabels.clone();
+   } // end constructor
+
+   /** Gets the labels of the vertices on the cycle. An edge leads from
+       each label to the next, and from the last label back to the first.
+       @return  A newly allocated array of the labels on the cycle. */
+   public Object[] getCycle()
+   {
+      return cycle.clone();
+   } // end getCycle
+
+   private static String describe(Object[] cycleLabels)
+   {
+      StringBuilder message = new StringBuilder("Graph has a cycle: ");
+      for (Object label : cycleLabels)
+         message.append(label).append(" -> ");
+      if (cycleLabels.length > 0)
+         message.append(cycleLabels[0]);
+      return message.toString();
+   } // end describe
+} // end GraphCycleException
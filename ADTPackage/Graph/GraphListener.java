@@ -0,0 +1,37 @@
+package ADTPackage.Graph;
+/**
+   An interface for objects that keep derived data up to date as a Graph
+   changes. A graph calls its listeners, in the order they were added,
+   after each change succeeds.
+*/
+public interface GraphListener<T>
+{
+   /** Reacts to the addition of an edge.
+       @param begin  The label of the edge's origin vertex.
+       @param end  The label of the edge's destination vertex.
+       @param edgeWeight  The weight of the edge. */
+   public void edgeAdded(T begin, T end, double edgeWeight);
+
+   /** Reacts to the removal of an edge by removeEdge. The default does
+       nothing.
+       @param begin  The label of the edge's origin vertex.
+       @param end  The label of the edge's destination vertex. */
+   public default void edgeRemoved(T begin, T end)
+   {
+   } // end edgeRemoved
+
+   /** Reacts to the removal of a vertex. The vertex's edges were removed
+       with it, without separate calls to edgeRemoved, and the vertex that
+       had the largest index now has the removed vertex's index. The
+       default does nothing.
+       @param vertexLabel  The label of the removed vertex. */
+   public default void vertexRemoved(T vertexLabel)
+   {
+   } // end vertexRemoved
+
+   /** Reacts to the removal of every vertex and edge by clear(). The
+       default does nothing. */
+   public default void graphCleared()
+   {
+   } // end graphCleared
+} // end GraphListener
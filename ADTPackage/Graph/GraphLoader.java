@@ -0,0 +1,592 @@
+package ADTPackage.Graph;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Function;
+import ADTPackage.Dictionary.*;
+/**
+   A class that builds graphs from edge-list text files. Each line holds
+   the label of an edge's origin vertex, the label of its end vertex, and
+   optionally the edge's weight, separated by whitespace or by a given
+   delimiter. Blank lines and lines that begin with # are skipped.
+
+   The file is memory-mapped in chunks that end at line breaks, and the
+   threads of a ForkJoinPool parse the chunks at the same time. Labels are
+   compared as bytes in the mapped file and given dense ids, so a String
+   is created once per distinct label in a chunk rather than once per
+   line. The edges are then placed by counting, in a few passes over
+   primitive arrays, without calling addEdge. Self-loops, which a Graph
+   rejects, are dropped, and of several edges between the same vertices
+   only the first one in the file is kept.
+*/
+public final class GraphLoader<T>
+{
+   private final Function<String, ? extends T> labelParser;
+   private final byte delimiter;  // Or WHITESPACE
+   private final ForkJoinPool pool;
+   private static final byte WHITESPACE = 0;
+   private static final long MIN_CHUNK_SIZE = 1 << 20;
+   private static final long MAX_CHUNK_SIZE = 1 << 30; // Well below the 2 GB limit of one mapping
+   private static final int CHUNKS_PER_THREAD = 4;
+
+   /** Creates a loader for whitespace-separated files that runs on the
+       common ForkJoinPool.
+       @param labelParser  A function that makes a vertex label from the
+                           text of a label, such as Integer::valueOf; it is
+                           called once per distinct label text in the file. */
+   public GraphLoader(Function<String, ? extends T> labelParser)
+   {
+      this(labelParser, ' ', ForkJoinPool.commonPool());
+   } // end constructor
+
+   /** Creates a loader.
+       @param labelParser  A function that makes a vertex label from the
+                           text of a label. Texts whose labels are equal,
+                           such as 1 and 01 under Integer::valueOf, name
+                           the same vertex.
+       @param fieldDelimiter  The ASCII character between fields, or any
+                              whitespace character to split fields at runs
+                              of spaces and tabs.
+       @param forkJoinPool  The pool whose threads parse the file. */
+   public GraphLoader(Function<String, ? extends T> labelParser, char fieldDelimiter, ForkJoinPool forkJoinPool)
+   {
+      if (fieldDelimiter > 127 || fieldDelimiter == '\n' || fieldDelimiter == '#')
+         throw new IllegalArgumentException("Illegal field delimiter: " + fieldDelimiter);
+      this.labelParser = labelParser;
+      delimiter = Character.isWhitespace(fieldDelimiter) ? WHITESPACE : (byte)fieldDelimiter;
+      pool = forkJoinPool;
+   } // end constructor
+
+   /** Reads an edge-list file into a Graph. The file is loaded as by
+       loadCsrGraph, which is the faster choice when the graph need not
+       change, and the Graph is then built from the snapshot's arrays
+       without calling addEdge.
+       @param file  The path of the file.
+       @return  A graph whose vertices appear in the order their labels
+                first appear in the file.
+       @throws IOException if the file cannot be read or a line has
+               fewer than two fields or a malformed weight. */
+   public Graph<T> loadGraph(Path file) throws IOException
+   {
+      return new Graph<>(loadCsrGraph(file));
+   } // end loadGraph
+
+   /** Reads an edge-list file into an immutable CsrGraph.
+       @param file  The path of the file.
+       @return  A graph whose vertex indices follow the order in which
+                labels first appear in the file.
+       @throws IOException if the file cannot be read or a line has
+               fewer than two fields or a malformed weight. */
+   public CsrGraph<T> loadCsrGraph(Path file) throws IOException
+   {
+      ChunkParser[] chunks;
+      try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ))
+      {
+         long[] bounds = findChunkBounds(channel);
+         chunks = new ChunkParser[bounds.length - 1];
+         for (int chunk = 0; chunk < chunks.length; chunk++)
+         {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, bounds[chunk],
+                                                  bounds[chunk + 1] - bounds[chunk]);
+            chunks[chunk] = new ChunkParser(buffer, bounds[chunk], delimiter);
+         } // end for
+      } // end try
+      parseAll(chunks);
+
+      // Give label texts global ids in order of first appearance, and
+      // parse each distinct text once
+      DictionaryInterface<String, Integer> textIds = new HashedDictionary<>();
+      int numberOfTexts = 0;
+      for (ChunkParser chunk : chunks)
+      {
+         for (int local = 0; local < chunk.labelTexts.length; local++)
+         {
+            Integer id = textIds.getValue(chunk.labelTexts[local]);
+            if (id == null)
+            {
+               id = numberOfTexts++;
+               textIds.add(chunk.labelTexts[local], id);
+            } // end if
+            chunk.globalIds[local] = id;
+         } // end for
+      } // end for
+      // The cast is safe because the new array contains null entries
+      @SuppressWarnings("unchecked")
+      T[] textLabels = (T[])new Object[numberOfTexts];
+      String[] texts = new String[numberOfTexts];
+      for (ChunkParser chunk : chunks)
+      {
+         for (int local = 0; local < chunk.labelTexts.length; local++)
+         {
+            int id = chunk.globalIds[local];
+            if (texts[id] == null)
+            {
+               texts[id] = chunk.labelTexts[local];
+               textLabels[id] = labelParser.apply(texts[id]);
+               if (textLabels[id] == null)
+                  throw new IllegalArgumentException("The label parser returned null for \"" +
+                                                     texts[id] + "\".");
+            } // end if
+         } // end for
+         chunk.labelTexts = null;
+      } // end for
+
+      // Texts that parse to equal labels, such as "1" and "01", must name
+      // one vertex, since a graph finds its vertices by label
+      DictionaryInterface<T, Integer> vertexIds = new HashedDictionary<>(numberOfTexts);
+      int[] vertexOfText = new int[numberOfTexts];
+      T[] labels = Arrays.copyOf(textLabels, numberOfTexts);
+      int numberOfVertices = 0;
+      for (int id = 0; id < numberOfTexts; id++)
+      {
+         Integer vertex = vertexIds.getValue(textLabels[id]);
+         if (vertex == null)
+         {
+            vertex = numberOfVertices++;
+            vertexIds.add(textLabels[id], vertex);
+            labels[vertex] = textLabels[id];
+         } // end if
+         vertexOfText[id] = vertex;
+      } // end for
+      if (numberOfVertices < numberOfTexts)
+      {
+         labels = Arrays.copyOf(labels, numberOfVertices);
+         for (ChunkParser chunk : chunks)
+         {
+            for (int local = 0; local < chunk.globalIds.length; local++)
+               chunk.globalIds[local] = vertexOfText[chunk.globalIds[local]];
+         } // end for
+      } // end if
+
+      return buildCsr(chunks, labels);
+   } // end loadCsrGraph
+
+   // Places the edges of every chunk by counting sort on their origins,
+   // in file order, then removes self-loops and repeated edges
+   private CsrGraph<T> buildCsr(ChunkParser[] chunks, T[] labels)
+   {
+      int numberOfVertices = labels.length;
+      int[] offsets = new int[numberOfVertices + 1];
+      long totalEdges = 0;
+      for (ChunkParser chunk : chunks)
+      {
+         for (int edge = 0; edge < chunk.edgeCount; edge++)
+         {
+            int begin = chunk.globalIds[chunk.begins[edge]];
+            if (begin != chunk.globalIds[chunk.ends[edge]])
+            {
+               offsets[begin + 1]++;
+               totalEdges++;
+            } // end if
+         } // end for
+      } // end for
+      if (totalEdges > Integer.MAX_VALUE - 8)
+         throw new IllegalStateException("A CsrGraph cannot hold " + totalEdges + " edges.");
+      for (int vertex = 0; vertex < numberOfVertices; vertex++)
+         offsets[vertex + 1] += offsets[vertex];
+
+      int[] targets = new int[(int)totalEdges];
+      double[] weights = new double[(int)totalEdges];
+      int[] nextSlot = Arrays.copyOf(offsets, numberOfVertices);
+      for (ChunkParser chunk : chunks)
+      {
+         for (int edge = 0; edge < chunk.edgeCount; edge++)
+         {
+            int begin = chunk.globalIds[chunk.begins[edge]];
+            int end = chunk.globalIds[chunk.ends[edge]];
+            if (begin != end)
+            {
+               targets[nextSlot[begin]] = end;
+               weights[nextSlot[begin]++] = chunk.weights[edge];
+            } // end if
+         } // end for
+      } // end for
+
+      // Compact each vertex's edges, keeping the first edge to each target;
+      // lastOrigin[v] is the most recent origin with an edge to v
+      int[] lastOrigin = new int[numberOfVertices];
+      Arrays.fill(lastOrigin, -1);
+      int kept = 0;
+      int start = 0;
+      for (int vertex = 0; vertex < numberOfVertices; vertex++)
+      {
+         int end = offsets[vertex + 1];
+         offsets[vertex] = kept;
+         for (int edge = start; edge < end; edge++)
+         {
+            int target = targets[edge];
+            if (lastOrigin[target] != vertex)
+            {
+               lastOrigin[target] = vertex;
+               targets[kept] = target;
+               weights[kept++] = weights[edge];
+            } // end if
+         } // end for
+         start = end;
+      } // end for
+      offsets[numberOfVertices] = kept;
+      if (kept < targets.length)
+      {
+         targets = Arrays.copyOf(targets, kept);
+         weights = Arrays.copyOf(weights, kept);
+      } // end if
+      return new CsrGraph<>(labels, offsets, targets, weights);
+   } // end buildCsr
+
+   private void parseAll(ChunkParser[] chunks) throws IOException
+   {
+      if (chunks.length == 1)
+      {
+         chunks[0].parse();
+         return;
+      } // end if
+
+      @SuppressWarnings("unchecked")
+      ForkJoinTask<Void>[] tasks = (ForkJoinTask<Void>[])new ForkJoinTask<?>[chunks.length];
+      for (int chunk = 0; chunk < chunks.length; chunk++)
+      {
+         ChunkParser parser = chunks[chunk];
+         tasks[chunk] = pool.submit(() -> { parser.parse(); return null; });
+      } // end for
+      for (ForkJoinTask<Void> task : tasks)
+      {
+         try
+         {
+            task.get();
+         }
+         catch (InterruptedException e)
+         {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while loading a graph.", e);
+         }
+         catch (ExecutionException e)
+         {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException)
+               throw (IOException)cause;
+            if (cause instanceof RuntimeException)
+               throw (RuntimeException)cause;
+            throw new IOException(cause);
+         } // end try
+      } // end for
+   } // end parseAll
+
+   // Splits the file into chunks of about equal size that each end just
+   // after a line break or at the end of the file
+   private long[] findChunkBounds(FileChannel channel) throws IOException
+   {
+      long size = channel.size();
+      long target = Math.max(MIN_CHUNK_SIZE, size / ((long)CHUNKS_PER_THREAD * pool.getParallelism()));
+      target = Math.min(target, MAX_CHUNK_SIZE / 2);
+      int maxChunks = (int)Math.min(Integer.MAX_VALUE - 1, size / target + 2);
+      long[] bounds = new long[maxChunks + 1];
+      int count = 0;
+      bounds[0] = 0;
+      ByteBuffer window = ByteBuffer.allocate(1 << 16);
+      long position = 0;
+      while (position < size)
+      {
+         long split = position + target;
+         if (split >= size)
+            position = size;
+         else
+         {
+            // Advance the split to just past the next line break
+            boolean found = false;
+            while (!found && split < size)
+            {
+               window.clear();
+               int read = channel.read(window, split);
+               for (int index = 0; index < read && !found; index++)
+               {
+                  if (window.get(index) == '\n')
+                  {
+                     split += index + 1;
+                     found = true;
+                  } // end if
+               } // end for
+               if (!found)
+                  split += Math.max(read, 0);
+               if (split - position > MAX_CHUNK_SIZE)
+                  throw new IOException("A line near byte " + position + " is too long.");
+            } // end while
+            position = Math.min(split, size);
+         } // end if
+         bounds[++count] = position;
+      } // end while
+      return Arrays.copyOf(bounds, count + 1);
+   } // end findChunkBounds
+
+   // Parses the lines of one mapped chunk into edges between chunk-local
+   // label ids. Labels are interned in an open-addressing table keyed by
+   // their bytes, so repeated labels cost no allocation.
+   private static final class ChunkParser
+   {
+      private final MappedByteBuffer buffer;
+      private final long fileOffset;
+      private final byte delimiter;
+
+      // Edges, by local label id
+      private int[] begins = new int[1024];
+      private int[] ends = new int[1024];
+      private double[] weights = new double[1024];
+      private int edgeCount;
+
+      // Distinct labels, by local id: where their bytes start in the high
+      // half and how many there are in the low half
+      private long[] labelSpans = new long[256];
+      private int labelCount;
+      // A label's hash in the high half and its local id + 1 in the low
+      // half, or 0 if empty, so most failed probes read no other array
+      private long[] table = new long[512];
+      private String[] labelTexts;
+      private int[] globalIds;
+
+      // Fields of the line being parsed
+      private int fieldStart;
+      private int fieldEnd;
+
+      private ChunkParser(MappedByteBuffer chunkBuffer, long chunkOffset, byte fieldDelimiter)
+      {
+         buffer = chunkBuffer;
+         fileOffset = chunkOffset;
+         delimiter = fieldDelimiter;
+      } // end constructor
+
+      private void parse() throws IOException
+      {
+         int limit = buffer.limit();
+         int position = 0;
+         while (position < limit)
+         {
+            int lineEnd = position;
+            while (lineEnd < limit && buffer.get(lineEnd) != '\n')
+               lineEnd++;
+            parseLine(position, lineEnd);
+            position = lineEnd + 1;
+         } // end while
+
+         labelTexts = new String[labelCount];
+         byte[] bytes = new byte[64];
+         for (int local = 0; local < labelCount; local++)
+         {
+            int length = (int)labelSpans[local];
+            if (length > bytes.length)
+               bytes = new byte[Math.max(length, 2 * bytes.length)];
+            buffer.get((int)(labelSpans[local] >>> 32), bytes, 0, length);
+            labelTexts[local] = new String(bytes, 0, length, StandardCharsets.UTF_8);
+         } // end for
+         globalIds = new int[labelCount];
+         table = null;
+         labelSpans = null;
+      } // end parse
+
+      private void parseLine(int lineStart, int lineEnd) throws IOException
+      {
+         int position = lineStart;
+         if (!nextField(position, lineEnd) || buffer.get(fieldStart) == '#')
+            return;   // Blank line or comment
+         int begin = intern(fieldStart, fieldEnd);
+         if (!nextField(fieldEnd + 1, lineEnd))
+            throw malformed(lineStart, "has only one field");
+         int end = intern(fieldStart, fieldEnd);
+         double weight = 0;
+         if (nextField(fieldEnd + 1, lineEnd))
+            weight = parseWeight(fieldStart, fieldEnd, lineStart);
+
+         if (edgeCount == begins.length)
+         {
+            int newLength = 2 * edgeCount;
+            begins = Arrays.copyOf(begins, newLength);
+            ends = Arrays.copyOf(ends, newLength);
+            weights = Arrays.copyOf(weights, newLength);
+         } // end if
+         begins[edgeCount] = begin;
+         ends[edgeCount] = end;
+         weights[edgeCount++] = weight;
+      } // end parseLine
+
+      // Finds the next field at or after from; sets fieldStart and
+      // fieldEnd and returns true, or returns false if the line has no
+      // more fields. Spaces, tabs and carriage returns around a field are
+      // not part of it.
+      private boolean nextField(int from, int lineEnd)
+      {
+         int position = from;
+         while (position < lineEnd && isBlank(buffer.get(position)))
+            position++;
+         if (position >= lineEnd)
+            return false;
+         fieldStart = position;
+         if (delimiter == WHITESPACE)
+         {
+            while (position < lineEnd && !isBlank(buffer.get(position)))
+               position++;
+            fieldEnd = position;
+         }
+         else
+         {
+            while (position < lineEnd && buffer.get(position) != delimiter)
+               position++;
+            fieldEnd = position;
+            while (fieldEnd > fieldStart && isBlank(buffer.get(fieldEnd - 1)))
+               fieldEnd--;
+            if (fieldEnd == fieldStart)
+               return nextField(position + 1, lineEnd);  // Skip an empty field
+         } // end if
+         return true;
+      } // end nextField
+
+      private boolean isBlank(byte character)
+      {
+         return character == ' ' || character == '\t' || character == '\r';
+      } // end isBlank
+
+      // Returns the local id of the label in bytes start through end - 1
+      private int intern(int start, int end) throws IOException
+      {
+         int length = end - start;
+         int hash = 0;
+         for (int position = start; position < end; position++)
+            hash = 31 * hash + buffer.get(position);
+         hash *= 0x9E3779B9;
+         hash ^= hash >>> 16;
+
+         int mask = table.length - 1;
+         int slot = hash & mask;
+         long entry;
+         while ((entry = table[slot]) != 0)
+         {
+            if ((int)(entry >>> 32) == hash)
+            {
+               int local = (int)entry - 1;
+               long span = labelSpans[local];
+               if (((int)span == length) && sameBytes((int)(span >>> 32), start, length))
+                  return local;
+            } // end if
+            slot = (slot + 1) & mask;
+         } // end while
+
+         if (labelCount == labelSpans.length)
+            labelSpans = Arrays.copyOf(labelSpans, 2 * labelCount);
+         int local = labelCount++;
+         labelSpans[local] = ((long)start << 32) | length;
+         table[slot] = ((long)hash << 32) | (local + 1);
+         if (2 * labelCount > table.length)
+            enlargeTable();
+         return local;
+      } // end intern
+
+      private boolean sameBytes(int first, int second, int length)
+      {
+         for (int offset = 0; offset < length; offset++)
+         {
+            if (buffer.get(first + offset) != buffer.get(second + offset))
+               return false;
+         } // end for
+         return true;
+      } // end sameBytes
+
+      private void enlargeTable()
+      {
+         long[] oldTable = table;
+         table = new long[2 * oldTable.length];
+         int mask = table.length - 1;
+         for (long entry : oldTable)
+         {
+            if (entry != 0)
+            {
+               int slot = (int)(entry >>> 32) & mask;
+               while (table[slot] != 0)
+                  slot = (slot + 1) & mask;
+               table[slot] = entry;
+            } // end if
+         } // end for
+      } // end enlargeTable
+
+      // Parses an optionally signed decimal number with an optional
+      // fraction and exponent when its digits fit in 53 bits and the power
+      // of ten is exact, so one rounding gives the correctly rounded value;
+      // other forms, such as NaN or long mantissas, go to Double.parseDouble
+      private double parseWeight(int start, int end, int lineStart) throws IOException
+      {
+         int position = start;
+         boolean negative = false;
+         if (buffer.get(position) == '-' || buffer.get(position) == '+')
+            negative = buffer.get(position++) == '-';
+         long digits = 0;
+         int scale = 0;
+         int digitCount = 0;
+         boolean pastPoint = false;
+         while (position < end)
+         {
+            byte character = buffer.get(position);
+            if (character >= '0' && character <= '9')
+            {
+               digits = 10 * digits + (character - '0');
+               digitCount++;
+               if (pastPoint)
+                  scale--;
+            }
+            else if (character == '.' && !pastPoint)
+               pastPoint = true;
+            else
+               break;
+            position++;
+         } // end while
+         if (position < end && (buffer.get(position) == 'e' || buffer.get(position) == 'E'))
+         {
+            position++;
+            boolean negativeExponent = false;
+            if (position < end && (buffer.get(position) == '-' || buffer.get(position) == '+'))
+               negativeExponent = buffer.get(position++) == '-';
+            int exponent = 0;
+            while (position < end && buffer.get(position) >= '0' && buffer.get(position) <= '9' && exponent < 1000)
+               exponent = 10 * exponent + (buffer.get(position++) - '0');
+            scale += negativeExponent ? -exponent : exponent;
+         } // end if
+         if ((position < end) || (digitCount == 0) || (digitCount > 18) || (digits > (1L << 53)) ||
+             (Math.abs(scale) >= POWERS_OF_TEN.length))
+            return parseSlowly(start, end, lineStart);
+
+         double value = (scale >= 0) ? digits * POWERS_OF_TEN[scale] : digits / POWERS_OF_TEN[-scale];
+         return negative ? -value : value;
+      } // end parseWeight
+
+      private double parseSlowly(int start, int end, int lineStart) throws IOException
+      {
+         byte[] bytes = new byte[end - start];
+         buffer.get(start, bytes);
+         try
+         {
+            return Double.parseDouble(new String(bytes, StandardCharsets.US_ASCII));
+         }
+         catch (NumberFormatException e)
+         {
+            throw malformed(lineStart, "has a malformed weight");
+         } // end try
+      } // end parseSlowly
+
+      private IOException malformed(int lineStart, String problem)
+      {
+         return new IOException("The line at byte " + (fileOffset + lineStart) + " " + problem + ".");
+      } // end malformed
+   } // end ChunkParser
+
+   // Powers of ten that double represents exactly
+   private static final double[] POWERS_OF_TEN = new double[23];
+   static
+   {
+      POWERS_OF_TEN[0] = 1;
+      for (int power = 1; power < POWERS_OF_TEN.length; power++)
+         POWERS_OF_TEN[power] = 10 * POWERS_OF_TEN[power - 1];
+   } // end static
+} // end GraphLoader
@@ -0,0 +1,42 @@
+package ADTPackage.Graph;
+/**
+   A view of a graph whose vertices are numbered 0 through
+   getNumberOfVertices() - 1, through which IndexedSearches reads the
+   graph. Each graph class of this package supplies one. Its cursors walk
+   the edges of one vertex at a time, whether the graph keeps them in
+   ranges of arrays, in blocks outside the heap, in a mapped file or as
+   linked edge objects.
+*/
+interface IndexedEdges<T>
+{
+   /** Gets the number of vertices, one more than the largest index. */
+   int getNumberOfVertices();
+
+   /** Gets the label of the vertex at a given index. */
+   T getLabel(int vertex);
+
+   /** Creates a cursor over the edges of this graph. A search keeps one
+       cursor per level and reuses it from vertex to vertex. */
+   Cursor newCursor();
+
+   /**
+      A position among the edges of one vertex. The graph must not change
+      while a cursor is in use.
+   */
+   interface Cursor
+   {
+      /** Moves this cursor before the first edge of a vertex. */
+      void moveTo(int vertex);
+
+      /** Advances this cursor to the vertex's next edge.
+          @return  True if there is such an edge, or false if the cursor
+                   has passed the vertex's last edge. */
+      boolean next();
+
+      /** Gets the end vertex of the edge at this cursor. */
+      int getTarget();
+
+      /** Gets the weight of the edge at this cursor. */
+      double getWeight();
+   } // end Cursor
+} // end IndexedEdges
@@ -0,0 +1,277 @@
+package ADTPackage.Graph;
+import java.util.function.IntToDoubleFunction;
+import ADTPackage.PriorityQueue.*;
+import ADTPackage.Queue.*;
+import ADTPackage.Stack.*;
+/**
+   The traversals and path searches of Graph, CsrGraph, IntGraph,
+   OffHeapGraph and MappedGraph. Each works on vertex indices, reads the
+   graph through an IndexedEdges view and keeps its state in a
+   TraversalContext that the caller has begun with room for every vertex
+   index. The graph classes thus differ only in how they store their edges
+   and in how they report results.
+*/
+final class IndexedSearches
+{
+   private IndexedSearches()
+   {
+   } // end default constructor
+
+   /** Fills the context's vertex buffer with the breadth-first traversal
+       from a vertex. The buffer doubles as the frontier queue.
+       @return  The number of vertices reached, including origin. */
+   static int breadthFirst(IndexedEdges<?> graph, int origin, TraversalContext context)
+   {
+      int[] order = context.getVertexBuffer();
+      IndexedEdges.Cursor edges = context.getCursor(0, graph);
+      context.visit(origin);
+      order[0] = origin;
+      int head = 0;
+      int tail = 1;
+      while (head < tail)
+      {
+         edges.moveTo(order[head++]);
+         while (edges.next())
+         {
+            int nextNeighbor = edges.getTarget();
+            if (!context.isReached(nextNeighbor))
+            {
+               context.visit(nextNeighbor);
+               order[tail++] = nextNeighbor;
+            } // end if
+         } // end while
+      } // end while
+      return tail;
+   } // end breadthFirst
+
+   /** Fills the context's vertex buffer with the depth-first traversal
+       from a vertex. The cursor of each level of the current path
+       remembers where the scan of its vertex's edges stopped, so no edge
+       is examined twice.
+       @return  The number of vertices reached, including origin. */
+   static int depthFirst(IndexedEdges<?> graph, int origin, TraversalContext context)
+   {
+      int[] order = context.getVertexBuffer();
+      int count = 0;
+      int depth = 0;
+      context.visit(origin);
+      order[count++] = origin;
+      context.getCursor(0, graph).moveTo(origin);
+      while (depth >= 0)
+      {
+         IndexedEdges.Cursor edges = context.getCursor(depth, graph);
+         int nextNeighbor = -1;
+         while ((nextNeighbor < 0) && edges.next())
+         {
+            int candidate = edges.getTarget();
+            if (!context.isReached(candidate))
+               nextNeighbor = candidate;
+         } // end while
+
+         if (nextNeighbor >= 0)
+         {
+            context.visit(nextNeighbor);
+            order[count++] = nextNeighbor;
+            depth++;
+            context.getCursor(depth, graph).moveTo(nextNeighbor);
+         }
+         else
+            depth--;
+      } // end while
+      return count;
+   } // end depthFirst
+
+   /** Finds a path with the fewest edges by a breadth-first search that
+       stops once end is reached. The context records the path's
+       predecessors.
+       @return  The length of the path, or -1 if end cannot be reached. */
+   static int shortestPath(IndexedEdges<?> graph, int begin, int end, TraversalContext context)
+   {
+      context.reach(begin, 0, -1);
+      if (begin == end)
+         return 0;
+
+      int[] vertexQueue = context.getVertexBuffer();
+      IndexedEdges.Cursor edges = context.getCursor(0, graph);
+      int head = 0;
+      int tail = 0;
+      vertexQueue[tail++] = begin;
+      while (head < tail)
+      {
+         int frontVertex = vertexQueue[head++];
+         double neighborLength = context.getCost(frontVertex) + 1;
+         edges.moveTo(frontVertex);
+         while (edges.next())
+         {
+            int nextNeighbor = edges.getTarget();
+            if (!context.isReached(nextNeighbor))
+            {
+               context.reach(nextNeighbor, neighborLength, frontVertex);
+               if (nextNeighbor == end)
+                  return (int)neighborLength;
+               vertexQueue[tail++] = nextNeighbor;
+            } // end if
+         } // end while
+      } // end while
+      return -1;
+   } // end shortestPath
+
+   /** Finds a least-cost path by Dijkstra's algorithm when estimate is
+       null and by A* search otherwise. Costs in the context are path costs
+       from begin; the priority queue is ordered by those costs plus the
+       estimates of the cost to end. The search stops once the cost of end
+       is final, and the context records the path's predecessors.
+       @param estimate  A function that gives, for a vertex index, a
+                        consistent estimate of the cost from that vertex
+                        to end, or null.
+       @return  The cost of the path, or Double.POSITIVE_INFINITY if end
+                cannot be reached.
+       @throws  IllegalStateException if the search meets a negative
+                edge weight. */
+   static double cheapestPath(IndexedEdges<?> graph, int begin, int end, IntToDoubleFunction estimate,
+                              TraversalContext context)
+   {
+      IndexedPriorityQueueInterface priorityQueue = context.getPriorityQueue();
+      IndexedEdges.Cursor edges = context.getCursor(0, graph);
+      context.reach(begin, 0, -1);
+      priorityQueue.add(begin, 0);
+      while (!priorityQueue.isEmpty() && !context.isSettled(end))
+      {
+         int frontVertex = priorityQueue.remove();
+         context.settle(frontVertex);
+         double frontCost = context.getCost(frontVertex);
+         edges.moveTo(frontVertex);
+         while (edges.next())
+         {
+            int neighbor = edges.getTarget();
+            if (!context.isSettled(neighbor))
+            {
+               double edgeWeight = edges.getWeight();
+               if (edgeWeight < 0)
+                  throw new IllegalStateException("getCheapestPath requires nonnegative edge weights.");
+               double newCost = frontCost + edgeWeight;
+               if (!context.isReached(neighbor) || (newCost < context.getCost(neighbor)))
+               {
+                  context.reach(neighbor, newCost, frontVertex);
+                  double priority = newCost;
+                  if (estimate != null)
+                     priority += estimate.applyAsDouble(neighbor);
+                  priorityQueue.addOrDecrease(neighbor, priority);
+               } // end if
+            } // end if
+         } // end while
+      } // end while
+      return context.isSettled(end) ? context.getCost(end) : Double.POSITIVE_INFINITY;
+   } // end cheapestPath
+
+   /** Sorts the vertices of a graph topologically by Kahn's algorithm.
+       In-degrees are counted in one pass over the edges, and each vertex
+       and edge is then handled once, so the sort takes O(V + E) time.
+       @return  A new array of every vertex index in topological order.
+       @throws  GraphCycleException if the graph has a cycle; the exception
+                names the vertices of one cycle. */
+   static int[] topologicalOrder(IndexedEdges<?> graph, TraversalContext context)
+   {
+      int numberOfVertices = graph.getNumberOfVertices();
+      IndexedEdges.Cursor edges = context.getCursor(0, graph);
+      int[] inDegree = new int[numberOfVertices];
+      for (int vertex = 0; vertex < numberOfVertices; vertex++)
+      {
+         edges.moveTo(vertex);
+         while (edges.next())
+            inDegree[edges.getTarget()]++;
+      } // end for
+
+      // order doubles as the queue of vertices whose in-degree reached 0
+      int[] order = new int[numberOfVertices];
+      int head = 0;
+      int tail = 0;
+      for (int vertex = 0; vertex < numberOfVertices; vertex++)
+      {
+         if (inDegree[vertex] == 0)
+            order[tail++] = vertex;
+      } // end for
+      while (head < tail)
+      {
+         edges.moveTo(order[head++]);
+         while (edges.next())
+         {
+            int neighbor = edges.getTarget();
+            if (--inDegree[neighbor] == 0)
+               order[tail++] = neighbor;
+         } // end while
+      } // end while
+
+      if (tail < numberOfVertices)
+         throw new GraphCycleException(findCycle(graph, inDegree, context));
+      return order;
+   } // end topologicalOrder
+
+   /** Pushes the labels on the path that ends at a vertex, following the
+       predecessors recorded in the context back to the path's origin. */
+   static <T> void pushPath(IndexedEdges<T> graph, int end, TraversalContext context, StackInterface<T> path)
+   {
+      for (int vertex = end; vertex >= 0; vertex = context.getPredecessor(vertex))
+         path.push(graph.getLabel(vertex));
+   } // end pushPath
+
+   /** Adds the labels of order[0] through order[count - 1] to a queue.
+       @return  traversalOrder. */
+   static <T> QueueInterface<T> addLabels(IndexedEdges<T> graph, int[] order, int count,
+                                          QueueInterface<T> traversalOrder)
+   {
+      for (int position = 0; position < count; position++)
+         traversalOrder.enqueue(graph.getLabel(order[position]));
+      return traversalOrder;
+   } // end addLabels
+
+   // Finds a cycle among the vertices Kahn's algorithm could not order,
+   // which are those whose in-degree is still positive. A depth-first
+   // search restricted to them must meet an edge back to a vertex on its
+   // path; the path from that vertex on is the cycle. pathDepth is 0 for
+   // a vertex not yet seen, its depth + 1 while it is on the path, and -1
+   // once it is finished.
+   private static Object[] findCycle(IndexedEdges<?> graph, int[] inDegree, TraversalContext context)
+   {
+      int numberOfVertices = inDegree.length;
+      int[] pathDepth = new int[numberOfVertices];
+      int[] pathVertices = context.getVertexBuffer();
+      for (int start = 0; start < numberOfVertices; start++)
+      {
+         if ((inDegree[start] == 0) || (pathDepth[start] != 0))
+            continue;
+         int depth = 0;
+         pathVertices[0] = start;
+         pathDepth[start] = 1;
+         context.getCursor(0, graph).moveTo(start);
+         while (depth >= 0)
+         {
+            IndexedEdges.Cursor edges = context.getCursor(depth, graph);
+            if (edges.next())
+            {
+               int neighbor = edges.getTarget();
+               if ((inDegree[neighbor] == 0) || (pathDepth[neighbor] < 0))
+                  continue;
+               if (pathDepth[neighbor] > 0)
+               {
+                  int first = pathDepth[neighbor] - 1;
+                  Object[] cycle = new Object[depth - first + 1];
+                  for (int position = first; position <= depth; position++)
+                     cycle[position - first] = graph.getLabel(pathVertices[position]);
+                  return cycle;
+               } // end if
+               depth++;
+               pathVertices[depth] = neighbor;
+               pathDepth[neighbor] = depth + 1;
+               context.getCursor(depth, graph).moveTo(neighbor);
+            }
+            else
+            {
+               pathDepth[pathVertices[depth]] = -1;
+               depth--;
+            } // end if
+         } // end while
+      } // end for
+      throw new AssertionError("Unordered vertices must contain a cycle.");
+   } // end findCycle
+} // end IndexedSearches
@@ -0,0 +1,455 @@
+package ADTPackage.Graph;
+import java.util.Arrays;
+import ADTPackage.Queue.*;
+import ADTPackage.Stack.*;
+/**
+   A directed graph whose vertices are the ints 0 through
+   getNumberOfVertices() - 1. It offers the operations of Graph without
+   labels, vertex objects or boxing: each vertex keeps its end vertices
+   and weights in an int array and a double array that double in size as
+   they fill, and traversals report vertices through int arrays,
+   IntArrayQueues and IntArrayStacks.
+
+   As in Graph, the working state of a query lives in a per-thread
+   context that is reused from query to query, so once a thread's context
+   and the caller's queue or stack are large enough, a traversal or path
+   search allocates nothing. Several threads may query a graph that is not
+   changing. A vertex with more than a few edges gets a hash index of its
+   neighbors, so hasEdge and the duplicate check in addEdge take O(1)
+   expected time.
+*/
+public final class IntGraph
+{
+   private int[][] targets;         // End vertices of each vertex's edges
+   private double[][] weights;      // Weights of each vertex's edges
+   private int[] degrees;
+   private NeighborIndex[] neighborIndexes; // Null until a vertex has enough edges
+   private int numberOfVertices;
+   private int edgeCount;
+   private final ThreadLocal<TraversalContext> contexts;
+   private final IndexedEdges<Integer> indexedEdges = new IndexedView(); // For IndexedSearches
+   private static final int DEFAULT_CAPACITY = 16;
+   private static final int NEIGHBOR_INDEX_THRESHOLD = 8;
+   private static final int[] NO_TARGETS = new int[0];
+   private static final double[] NO_WEIGHTS = new double[0];
+
+   public IntGraph()
+   {
+      this(0);
+   } // end default constructor
+
+   /** Creates a graph with a given number of vertices and no edges.
+       @param initialVertices  The number of vertices. */
+   public IntGraph(int initialVertices)
+   {
+      if (initialVertices < 0)
+         throw new IllegalArgumentException("The number of vertices cannot be negative.");
+      contexts = ThreadLocal.withInitial(TraversalContext::new);
+      initializeVertexArrays(Math.max(initialVertices, DEFAULT_CAPACITY));
+      addVertices(initialVertices);
+   } // end constructor
+
+   /** Adds a vertex to this graph.
+       @return  The new vertex, which is the previous number of vertices. */
+   public int addVertex()
+   {
+      return addVertices(1);
+   } // end addVertex
+
+   /** Adds a given number of vertices to this graph.
+       @param count  The number of vertices to add.
+       @return  The first new vertex. */
+   public int addVertices(int count)
+   {
+      if (count < 0)
+         throw new IllegalArgumentException("The number of vertices cannot be negative.");
+      int first = numberOfVertices;
+      int newSize = first + count;
+      if (newSize > targets.length)
+      {
+         int newLength = Math.max(newSize, 2 * targets.length);
+         targets = Arrays.copyOf(targets, newLength);
+         weights = Arrays.copyOf(weights, newLength);
+         degrees = Arrays.copyOf(degrees, newLength);
+         neighborIndexes = Arrays.copyOf(neighborIndexes, newLength);
+      } // end if
+      Arrays.fill(targets, first, newSize, NO_TARGETS);
+      Arrays.fill(weights, first, newSize, NO_WEIGHTS);
+      numberOfVertices = newSize;
+      return first;
+   } // end addVertices
+
+   /** Adds a weighted edge between two given distinct vertices that are
+       not already so connected.
+       @param begin  The origin vertex of the edge.
+       @param end    The vertex that ends the edge.
+       @param edgeWeight  The real value of the edge's weight.
+       @return  True if the edge is added, or false if not. */
+   public boolean addEdge(int begin, int end, double edgeWeight)
+   {
+      if (!isVertex(begin) || !isVertex(end) || (begin == end) || (findEdge(begin, end) >= 0))
+         return false;
+      int degree = degrees[begin];
+      if (degree == targets[begin].length)
+      {
+         int newLength = Math.max(4, 2 * degree);
+         targets[begin] = Arrays.copyOf(targets[begin], newLength);
+         weights[begin] = Arrays.copyOf(weights[begin], newLength);
+      } // end if
+      targets[begin][degree] = end;
+      weights[begin][degree] = edgeWeight;
+      degrees[begin] = degree + 1;
+      if (neighborIndexes[begin] != null)
+         neighborIndexes[begin].put(end, degree);
+      else if (degree + 1 > NEIGHBOR_INDEX_THRESHOLD)
+         buildNeighborIndex(begin);
+      edgeCount++;
+      return true;
+   } // end addEdge
+
+   /** Adds an unweighted edge between two given distinct vertices that
+       are not already so connected.
+       @param begin  The origin vertex of the edge.
+       @param end    The vertex that ends the edge.
+       @return  True if the edge is added, or false if not. */
+   public boolean addEdge(int begin, int end)
+   {
+      return addEdge(begin, end, 0);
+   } // end addEdge
+
+   /** Removes the edge between two given vertices. The last edge of begin
+       takes the removed edge's place among begin's edges.
+       @param begin  The origin vertex of the edge.
+       @param end    The vertex that ends the edge.
+       @return  True if the edge is removed, or false if there was no
+                such edge. */
+   public boolean removeEdge(int begin, int end)
+   {
+      if (!isVertex(begin) || !isVertex(end))
+         return false;
+      int position = findEdge(begin, end);
+      if (position < 0)
+         return false;
+
+      int last = --degrees[begin];
+      NeighborIndex index = neighborIndexes[begin];
+      if (index != null)
+         index.remove(end);
+      if (position != last)
+      {
+         int movedTarget = targets[begin][last];
+         targets[begin][position] = movedTarget;
+         weights[begin][position] = weights[begin][last];
+         if (index != null)
+            index.put(movedTarget, position);
+      } // end if
+      edgeCount--;
+      return true;
+   } // end removeEdge
+
+   /** Sees whether an edge exists between two given vertices.
+       @param begin  The origin vertex of the edge.
+       @param end    The vertex that ends the edge.
+       @return  True if an edge exists. */
+   public boolean hasEdge(int begin, int end)
+   {
+      return isVertex(begin) && isVertex(end) && (findEdge(begin, end) >= 0);
+   } // end hasEdge
+
+   /** Sees whether this graph is empty.
+       @return  True if the graph has no vertices. */
+   public boolean isEmpty()
+   {
+      return numberOfVertices == 0;
+   } // end isEmpty
+
+   /** Gets the number of vertices in this graph.
+       @return  The number of vertices. */
+   public int getNumberOfVertices()
+   {
+      return numberOfVertices;
+   } // end getNumberOfVertices
+
+   /** Gets the number of edges in this graph.
+       @return  The number of edges. */
+   public int getNumberOfEdges()
+   {
+      return edgeCount;
+   } // end getNumberOfEdges
+
+   /** Gets the number of edges that begin at a given vertex.
+       @param vertex  A vertex of this graph.
+       @return  The out-degree of the vertex. */
+   public int getOutDegree(int vertex)
+   {
+      checkVertex(vertex);
+      return degrees[vertex];
+   } // end getOutDegree
+
+   /** Gets the end vertex of one of a vertex's edges.
+       @param vertex  A vertex of this graph.
+       @param position  The number of the edge, from 0 through
+                        getOutDegree(vertex) - 1.
+       @return  The vertex that ends the edge. */
+   public int getNeighbor(int vertex, int position)
+   {
+      checkEdge(vertex, position);
+      return targets[vertex][position];
+   } // end getNeighbor
+
+   /** Gets the weight of one of a vertex's edges.
+       @param vertex  A vertex of this graph.
+       @param position  The number of the edge, as for getNeighbor.
+       @return  The weight of the edge. */
+   public double getWeight(int vertex, int position)
+   {
+      checkEdge(vertex, position);
+      return weights[vertex][position];
+   } // end getWeight
+
+   /** Removes all vertices and edges from this graph. */
+   public void clear()
+   {
+      initializeVertexArrays(DEFAULT_CAPACITY);
+   } // end clear
+
+   /** Performs a breadth-first traversal of this graph.
+       @param origin  The origin vertex of the traversal.
+       @return  A new array of the vertices in the traversal, beginning with
+                origin, or an empty array if origin is not a vertex. */
+   public int[] getBreadthFirstOrder(int origin)
+   {
+      TraversalContext context = beginQuery();
+      return Arrays.copyOf(context.getVertexBuffer(), breadthFirst(origin, context));
+   } // end getBreadthFirstOrder
+
+   /** Performs a breadth-first traversal of this graph.
+       @param origin  The origin vertex of the traversal.
+       @param traversalOrder  A queue to which the vertices in the traversal
+                              are added, beginning with origin; nothing is
+                              added if origin is not a vertex. */
+   public void getBreadthFirstTraversal(int origin, IntArrayQueue traversalOrder)
+   {
+      TraversalContext context = beginQuery();
+      int[] order = context.getVertexBuffer();
+      int count = breadthFirst(origin, context);
+      for (int position = 0; position < count; position++)
+         traversalOrder.enqueue(order[position]);
+   } // end getBreadthFirstTraversal
+
+   /** Performs a depth-first traversal of this graph.
+       @param origin  The origin vertex of the traversal.
+       @return  A new array of the vertices in the traversal, beginning with
+                origin, or an empty array if origin is not a vertex. */
+   public int[] getDepthFirstOrder(int origin)
+   {
+      IntArrayQueue traversalOrder = new IntArrayQueue();
+      getDepthFirstTraversal(origin, traversalOrder);
+      return traversalOrder.toArray();
+   } // end getDepthFirstOrder
+
+   /** Performs a depth-first traversal of this graph.
+       @param origin  The origin vertex of the traversal.
+       @param traversalOrder  A queue to which the vertices in the traversal
+                              are added, beginning with origin; nothing is
+                              added if origin is not a vertex. */
+   public void getDepthFirstTraversal(int origin, IntArrayQueue traversalOrder)
+   {
+      TraversalContext context = beginQuery();
+      if (!isVertex(origin))
+         return;
+
+      int[] order = context.getVertexBuffer();
+      int count = IndexedSearches.depthFirst(indexedEdges, origin, context);
+      for (int position = 0; position < count; position++)
+         traversalOrder.enqueue(order[position]);
+   } // end getDepthFirstTraversal
+
+   /** Finds the shortest-length path between two given vertices.
+       @param begin  The path's origin vertex.
+       @param end    The path's destination vertex.
+       @param path   A stack that is empty initially; at the completion of
+                     the method, this stack contains the vertices along the
+                     shortest path, with begin at the top and end at the
+                     bottom.
+       @return  The length of the shortest path, or -1 if end cannot be
+                reached from begin, in which case path is unchanged. */
+   public int getShortestPath(int begin, int end, IntArrayStack path)
+   {
+      TraversalContext context = beginQuery();
+      if (!isVertex(begin) || !isVertex(end))
+         return -1;
+
+      int pathLength = IndexedSearches.shortestPath(indexedEdges, begin, end, context);
+      if (pathLength >= 0)
+         pushPath(end, context, path);
+      return pathLength;
+   } // end getShortestPath
+
+   /** Finds the least-cost path between two given vertices by using
+       Dijkstra's algorithm. Edge weights must not be negative.
+       @param begin  The path's origin vertex.
+       @param end    The path's destination vertex.
+       @param path   A stack that is empty initially; at the completion of
+                     the method, this stack contains the vertices along the
+                     cheapest path, with begin at the top.
+       @return  The cost of the cheapest path, or Double.POSITIVE_INFINITY if
+                end cannot be reached from begin, in which case path is
+                unchanged. */
+   public double getCheapestPath(int begin, int end, IntArrayStack path)
+   {
+      TraversalContext context = beginQuery();
+      if (!isVertex(begin) || !isVertex(end))
+         return Double.POSITIVE_INFINITY;
+
+      double cost = IndexedSearches.cheapestPath(indexedEdges, begin, end, null, context);
+      if (context.isSettled(end))
+         pushPath(end, context, path);
+      return cost;
+   } // end getCheapestPath
+
+   /** Creates an immutable snapshot of this graph in compressed sparse
+       row form, for the algorithm classes that work on CsrGraphs. Vertex v
+       of the snapshot is labeled by the Integer v.
+       @return  A CsrGraph with the same vertices and edges. */
+   public CsrGraph<Integer> freeze()
+   {
+      Integer[] labels = new Integer[numberOfVertices];
+      int[] offsets = new int[numberOfVertices + 1];
+      for (int vertex = 0; vertex < numberOfVertices; vertex++)
+      {
+         labels[vertex] = vertex;
+         offsets[vertex + 1] = offsets[vertex] + degrees[vertex];
+      } // end for
+      int[] allTargets = new int[edgeCount];
+      double[] allWeights = new double[edgeCount];
+      for (int vertex = 0; vertex < numberOfVertices; vertex++)
+      {
+         System.arraycopy(targets[vertex], 0, allTargets, offsets[vertex], degrees[vertex]);
+         System.arraycopy(weights[vertex], 0, allWeights, offsets[vertex], degrees[vertex]);
+      } // end for
+      return new CsrGraph<>(labels, offsets, allTargets, allWeights);
+   } // end freeze
+
+   private void initializeVertexArrays(int capacity)
+   {
+      targets = new int[capacity][];
+      weights = new double[capacity][];
+      degrees = new int[capacity];
+      neighborIndexes = new NeighborIndex[capacity];
+      numberOfVertices = 0;
+      edgeCount = 0;
+   } // end initializeVertexArrays
+
+   private TraversalContext beginQuery()
+   {
+      TraversalContext context = contexts.get();
+      context.begin(numberOfVertices);
+      return context;
+   } // end beginQuery
+
+   // Fills the context's vertex buffer with the breadth-first traversal from
+   // origin and returns the number of vertices reached
+   private int breadthFirst(int origin, TraversalContext context)
+   {
+      return isVertex(origin) ? IndexedSearches.breadthFirst(indexedEdges, origin, context) : 0;
+   } // end breadthFirst
+
+   private void pushPath(int end, TraversalContext context, IntArrayStack path)
+   {
+      for (int vertex = end; vertex >= 0; vertex = context.getPredecessor(vertex))
+         path.push(vertex);
+   } // end pushPath
+
+   private boolean isVertex(int vertex)
+   {
+      return (vertex >= 0) && (vertex < numberOfVertices);
+   } // end isVertex
+
+   private void checkVertex(int vertex)
+   {
+      if (!isVertex(vertex))
+         throw new IndexOutOfBoundsException("Vertex " + vertex + " is not in the graph.");
+   } // end checkVertex
+
+   private void checkEdge(int vertex, int position)
+   {
+      checkVertex(vertex);
+      if ((position < 0) || (position >= degrees[vertex]))
+         throw new IndexOutOfBoundsException("Vertex " + vertex + " has no edge " + position + ".");
+   } // end checkEdge
+
+   // Returns the position of the edge from begin to end among begin's
+   // edges, or -1 if there is no such edge
+   private int findEdge(int begin, int end)
+   {
+      NeighborIndex index = neighborIndexes[begin];
+      if (index != null)
+         return index.get(end);
+      int[] neighbors = targets[begin];
+      for (int position = 0; position < degrees[begin]; position++)
+      {
+         if (neighbors[position] == end)
+            return position;
+      } // end for
+      return -1;
+   } // end findEdge
+
+   private void buildNeighborIndex(int vertex)
+   {
+      NeighborIndex index = new NeighborIndex(2 * degrees[vertex]);
+      for (int position = 0; position < degrees[vertex]; position++)
+         index.put(targets[vertex][position], position);
+      neighborIndexes[vertex] = index;
+   } // end buildNeighborIndex
+
+   private final class IndexedView implements IndexedEdges<Integer>
+   {
+      public int getNumberOfVertices()
+      {
+         return numberOfVertices;
+      } // end getNumberOfVertices
+
+      public Integer getLabel(int vertex)
+      {
+         return vertex;
+      } // end getLabel
+
+      public IndexedEdges.Cursor newCursor()
+      {
+         return new EdgeCursor();
+      } // end newCursor
+   } // end IndexedView
+
+   // Walks the arrays that hold a vertex's end vertices and weights
+   private final class EdgeCursor implements IndexedEdges.Cursor
+   {
+      private int[] neighbors;
+      private double[] edgeWeights;
+      private int position;
+      private int degree;
+
+      public void moveTo(int vertex)
+      {
+         neighbors = targets[vertex];
+         edgeWeights = weights[vertex];
+         degree = degrees[vertex];
+         position = -1;
+      } // end moveTo
+
+      public boolean next()
+      {
+         return ++position < degree;
+      } // end next
+
+      public int getTarget()
+      {
+         return neighbors[position];
+      } // end getTarget
+
+      public double getWeight()
+      {
+         return edgeWeights[position];
+      } // end getWeight
+   } // end EdgeCursor
+} // end IntGraph
@@ -0,0 +1,714 @@
+package ADTPackage.Graph;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+import java.util.zip.CRC32;
+import ADTPackage.Queue.*;
+import ADTPackage.Stack.*;
+/**
+   An immutable directed graph that is read directly from a memory-mapped
+   file in a compact binary format. Opening the file checks its header and
+   makes one pass over the offsets, targets, label starts and label table,
+   so that no query can index outside them; the weights and label bytes
+   are not read until queries touch them. The graph is thus ready after
+   one sequential read of its index, instead of after it has been rebuilt
+   by addVertex and addEdge. isIntact also checks every byte against the
+   checksum.
+
+   The file, which write creates from a CsrGraph, holds these blocks of
+   little-endian values, each starting at a multiple of 8 bytes:
+
+      header        magic "ADTG", version, number of vertices n, number
+                    of edges m, length of the label bytes (long), size of
+                    the label table, and a CRC32 of everything after the
+                    header; 32 bytes in all
+      label starts  n + 1 longs; label v is label bytes start[v] through
+                    start[v + 1] - 1
+      offsets       n + 1 ints; the edges of vertex v are offsets[v]
+                    through offsets[v + 1] - 1, as in CsrGraph
+      targets       m ints
+      weights       m doubles
+      label table   an open-addressing hash table of vertex + 1, or 0 if
+                    empty, keyed by label bytes
+      label bytes   the UTF-8 text of each label, as given by String.valueOf
+
+   Labels are stored as text and remade by a given parser, so the parser
+   of a label's text must give back an equal label. getIndex looks labels
+   up in the stored hash table. getLabel parses a label the first time it
+   is asked for and then keeps it, in blocks of a cache that are created
+   as they are needed. Because the graph never changes, any number of
+   threads can query it at the same time. The mapping is released when
+   this object is garbage collected.
+*/
+public final class MappedGraph<T>
+{
+   private static final int MAGIC = 'A' | ('D' << 8) | ('T' << 16) | ('G' << 24);
+   private static final int VERSION = 1;
+   private static final int HEADER_SIZE = 32;
+   private static final int PAGE_SHIFT = 30;  // Pages of 1 GB; aligned values never cross one
+   private static final long PAGE_MASK = (1L << PAGE_SHIFT) - 1;
+   private static final int CACHE_BLOCK_SHIFT = 12;  // Labels are cached 4096 to a block
+   private static final int CACHE_BLOCK_SIZE = 1 << CACHE_BLOCK_SHIFT;
+   private static final int CHECK_BLOCK_SIZE = 1 << 13;  // Values open copies at a time
+
+   private final ByteBuffer[] pages;
+   private final Function<String, ? extends T> labelParser;
+   private final int numberOfVertices;
+   private final int numberOfEdges;
+   private final int tableSize;
+   private final int checksum;
+   private final long labelStartsPosition;
+   private final long offsetsPosition;
+   private final long targetsPosition;
+   private final long weightsPosition;
+   private final long tablePosition;
+   private final long labelBytesPosition;
+   private final long fileSize;
+   private final AtomicReferenceArray<AtomicReferenceArray<T>> labelCache; // Blocks of parsed labels
+   private final IndexedEdges<T> indexedEdges = new IndexedView(); // For IndexedSearches
+
+   private MappedGraph(ByteBuffer[] filePages, long size, Function<String, ? extends T> parser) throws IOException
+   {
+      pages = filePages;
+      fileSize = size;
+      labelParser = parser;
+      if ((size < HEADER_SIZE) || (getInt(0) != MAGIC))
+         throw new IOException("The file does not hold a graph.");
+      if (getInt(4) != VERSION)
+         throw new IOException("Graph file version " + getInt(4) + " is not supported.");
+      numberOfVertices = getInt(8);
+      numberOfEdges = getInt(12);
+      long labelBytesLength = getLong(16);
+      tableSize = getInt(24);
+      checksum = getInt(28);
+      if ((numberOfVertices < 0) || (numberOfEdges < 0) || (labelBytesLength < 0) ||
+          (Integer.bitCount(tableSize) != 1))
+         throw new IOException("The graph file's header is corrupt.");
+
+      labelStartsPosition = HEADER_SIZE;
+      offsetsPosition = labelStartsPosition + 8L * (numberOfVertices + 1);
+      targetsPosition = align(offsetsPosition + 4L * (numberOfVertices + 1));
+      weightsPosition = align(targetsPosition + 4L * numberOfEdges);
+      tablePosition = weightsPosition + 8L * numberOfEdges;
+      labelBytesPosition = align(tablePosition + 4L * tableSize);
+      if (labelBytesPosition + labelBytesLength != size)
+         throw new IOException("The graph file is truncated or has extra bytes.");
+      checkStructure(labelBytesLength);
+      labelCache = new AtomicReferenceArray<>((numberOfVertices + CACHE_BLOCK_SIZE - 1) >>> CACHE_BLOCK_SHIFT);
+   } // end constructor
+
+   // Checks that the offsets and label starts rise from 0 to the number of
+   // edges and label bytes, that every target names a vertex, and that the
+   // label table names each vertex once, so that a query never reads
+   // outside its block or searches the table forever. The
+   // blocks are copied into arrays a piece at a time, which is far faster
+   // than reading the values one by one.
+   private void checkStructure(long labelBytesLength) throws IOException
+   {
+      int[] ints = new int[CHECK_BLOCK_SIZE];
+      long[] longs = new long[CHECK_BLOCK_SIZE];
+      int previousOffset = 0;
+      long previousStart = 0;
+      for (int first = 0; first <= numberOfVertices; first += CHECK_BLOCK_SIZE)
+      {
+         int count = Math.min(CHECK_BLOCK_SIZE, numberOfVertices + 1 - first);
+         getInts(offsetsPosition + 4L * first, ints, count);
+         getLongs(labelStartsPosition + 8L * first, longs, count);
+         for (int index = 0; index < count; index++)
+         {
+            int vertex = first + index;
+            if ((ints[index] < previousOffset) || ((vertex == 0) && (ints[index] != 0)))
+               throw new IOException("The graph file's offsets are corrupt at vertex " + vertex + ".");
+            if ((longs[index] < previousStart) || ((vertex == 0) && (longs[index] != 0)) ||
+                (longs[index] - previousStart > Integer.MAX_VALUE))
+               throw new IOException("The graph file's label starts are corrupt at vertex " + vertex + ".");
+            previousOffset = ints[index];
+            previousStart = longs[index];
+         } // end for
+      } // end for
+      if (previousOffset != numberOfEdges)
+         throw new IOException("The graph file's offsets do not end at its number of edges.");
+      if (previousStart != labelBytesLength)
+         throw new IOException("The graph file's label starts do not end at its label bytes.");
+
+      if (!allInRange(targetsPosition, numberOfEdges, ints, 0, numberOfVertices - 1))
+         throw new IOException("The graph file has an edge that ends at a missing vertex.");
+      checkLabelTable(ints);
+   } // end checkStructure
+
+   // Checks that the label table names each vertex exactly once and has an
+   // empty slot, at which every search for a missing label stops
+   private void checkLabelTable(int[] buffer) throws IOException
+   {
+      if (tableSize <= numberOfVertices)
+         throw new IOException("The graph file's label table is too small.");
+      long[] seen = new long[(numberOfVertices + 63) >>> 6];
+      int entryCount = 0;
+      for (int first = 0; first < tableSize; first += buffer.length)
+      {
+         int blockCount = Math.min(buffer.length, tableSize - first);
+         getInts(tablePosition + 4L * first, buffer, blockCount);
+         for (int index = 0; index < blockCount; index++)
+         {
+            int entry = buffer[index];
+            if (entry == 0)
+               continue;
+            int vertex = entry - 1;
+            if ((vertex < 0) || (vertex >= numberOfVertices) || ((seen[vertex >>> 6] & (1L << vertex)) != 0))
+               throw new IOException("The graph file's label table is corrupt at slot " + (first + index) + ".");
+            seen[vertex >>> 6] |= 1L << vertex;
+            entryCount++;
+         } // end for
+      } // end for
+      if (entryCount != numberOfVertices)
+         throw new IOException("The graph file's label table is missing vertices.");
+   } // end checkLabelTable
+
+   // Sees whether count ints from position on all lie in [low, high]
+   private boolean allInRange(long position, int count, int[] buffer, int low, int high)
+   {
+      for (int first = 0; first < count; first += buffer.length)
+      {
+         int blockCount = Math.min(buffer.length, count - first);
+         getInts(position + 4L * first, buffer, blockCount);
+         int smallest = low;
+         int largest = high;
+         for (int index = 0; index < blockCount; index++)
+         {
+            smallest = Math.min(smallest, buffer[index]);
+            largest = Math.max(largest, buffer[index]);
+         } // end for
+         if ((smallest < low) || (largest > high))
+            return false;
+      } // end for
+      return true;
+   } // end allInRange
+
+   /** Writes a graph to a file in the format that open reads.
+       @param graph  The graph to write.
+       @param file  The path of the file, which is replaced if it exists.
+       @throws IOException if the file cannot be written. */
+   public static void write(CsrGraph<?> graph, Path file) throws IOException
+   {
+      int vertexCount = graph.getNumberOfVertices();
+      int[] offsets = graph.getOffsets();
+      int[] targets = graph.getTargets();
+      double[] weights = graph.getWeights();
+
+      byte[][] labelBytes = new byte[vertexCount][];
+      int size = Integer.highestOneBit(Math.max(2 * vertexCount, 1) - 1) << 1;
+      int[] table = new int[Math.max(size, 2)];
+      int mask = table.length - 1;
+      long labelBytesLength = 0;
+      for (int vertex = 0; vertex < vertexCount; vertex++)
+      {
+         labelBytes[vertex] = String.valueOf(graph.getLabel(vertex)).getBytes(StandardCharsets.UTF_8);
+         labelBytesLength += labelBytes[vertex].length;
+         int slot = hash(labelBytes[vertex]) & mask;
+         while (table[slot] != 0)
+            slot = (slot + 1) & mask;
+         table[slot] = vertex + 1;
+      } // end for
+
+      try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                                  StandardOpenOption.TRUNCATE_EXISTING))
+      {
+         BlockWriter out = new BlockWriter(channel);
+         channel.position(HEADER_SIZE);
+         long labelStart = 0;
+         for (int vertex = 0; vertex < vertexCount; vertex++)
+         {
+            out.putLong(labelStart);
+            labelStart += labelBytes[vertex].length;
+         } // end for
+         out.putLong(labelStart);
+         for (int offset : offsets)
+            out.putInt(offset);
+         out.align();
+         for (int target : targets)
+            out.putInt(target);
+         out.align();
+         for (double weight : weights)
+            out.putDouble(weight);
+         for (int entry : table)
+            out.putInt(entry);
+         out.align();
+         for (byte[] label : labelBytes)
+            out.putBytes(label);
+         out.flush();
+
+         ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+         header.putInt(MAGIC).putInt(VERSION).putInt(vertexCount).putInt(targets.length);
+         header.putLong(labelBytesLength).putInt(table.length).putInt((int)out.checksum.getValue());
+         header.flip();
+         while (header.hasRemaining())
+            channel.write(header, header.position());
+      } // end try
+   } // end write
+
+   /** Opens a graph file that write created. The header and the blocks
+       that index the others are checked, but not the checksum.
+       @param file  The path of the file.
+       @param labelParser  A function that remakes a label from its text.
+       @return  The graph in the file.
+       @throws IOException if the file cannot be read, is not a graph file
+               of a supported version, has the wrong size, has offsets,
+               targets or labels that lie outside their blocks, or has a
+               label table that does not name each vertex once. */
+   public static <T> MappedGraph<T> open(Path file, Function<String, ? extends T> labelParser) throws IOException
+   {
+      try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ))
+      {
+         long size = channel.size();
+         int pageCount = (int)Math.max(1, (size + PAGE_MASK) >>> PAGE_SHIFT);
+         ByteBuffer[] pages = new ByteBuffer[pageCount];
+         for (int page = 0; page < pageCount; page++)
+         {
+            long start = (long)page << PAGE_SHIFT;
+            pages[page] = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(size - start, PAGE_MASK + 1))
+                                 .order(ByteOrder.LITTLE_ENDIAN);
+         } // end for
+         return new MappedGraph<>(pages, size, labelParser);
+      } // end try
+   } // end open
+
+   /** Sees whether the file's contents match the checksum in its header.
+       This reads the whole file.
+       @return  True if the checksum matches. */
+   public boolean isIntact()
+   {
+      CRC32 crc = new CRC32();
+      for (int page = 0; page < pages.length; page++)
+      {
+         ByteBuffer contents = pages[page].duplicate();
+         if (page == 0)
+            contents.position(Math.min(HEADER_SIZE, contents.limit()));
+         crc.update(contents);
+      } // end for
+      return (int)crc.getValue() == checksum;
+   } // end isIntact
+
+   /** Gets the number of vertices in this graph.
+       @return  The number of vertices. */
+   public int getNumberOfVertices()
+   {
+      return numberOfVertices;
+   } // end getNumberOfVertices
+
+   /** Gets the number of edges in this graph.
+       @return  The number of edges. */
+   public int getNumberOfEdges()
+   {
+      return numberOfEdges;
+   } // end getNumberOfEdges
+
+   /** Gets the size of the mapped file.
+       @return  The number of bytes in the file. */
+   public long getFileSize()
+   {
+      return fileSize;
+   } // end getFileSize
+
+   /** Gets the index of the vertex with a given label.
+       @param vertexLabel  An object that labels a vertex.
+       @return  The index of the vertex, or -1 if no vertex has the label. */
+   public int getIndex(T vertexLabel)
+   {
+      byte[] key = String.valueOf(vertexLabel).getBytes(StandardCharsets.UTF_8);
+      int mask = tableSize - 1;
+      int slot = hash(key) & mask;
+      int entry;
+      // open ensures an empty slot; the bound is a second line of defense
+      for (int probes = 0; (probes < tableSize) && ((entry = getInt(tablePosition + 4L * slot)) != 0); probes++)
+      {
+         int vertex = entry - 1;
+         long start = getLong(labelStartsPosition + 8L * vertex);
+         long end = getLong(labelStartsPosition + 8L * (vertex + 1));
+         if ((end - start == key.length) && sameBytes(labelBytesPosition + start, key))
+            return vertex;
+         slot = (slot + 1) & mask;
+      } // end for
+      return -1;
+   } // end getIndex
+
+   /** Gets the label of the vertex at a given index. The label is parsed
+       from the file the first time and kept for later calls.
+       @param vertexIndex  The index of a vertex.
+       @return  The label of the vertex. */
+   public T getLabel(int vertexIndex)
+   {
+      if ((vertexIndex < 0) || (vertexIndex >= numberOfVertices))
+         throw new IndexOutOfBoundsException("Vertex index " + vertexIndex + " is out of range.");
+      int blockIndex = vertexIndex >>> CACHE_BLOCK_SHIFT;
+      AtomicReferenceArray<T> block = labelCache.get(blockIndex);
+      if (block == null)
+      {
+         labelCache.compareAndSet(blockIndex, null, new AtomicReferenceArray<>(CACHE_BLOCK_SIZE));
+         block = labelCache.get(blockIndex);
+      } // end if
+
+      // Threads that race to parse a label all return the first one stored
+      int slot = vertexIndex & (CACHE_BLOCK_SIZE - 1);
+      T label = block.get(slot);
+      if (label == null)
+      {
+         label = parseLabel(vertexIndex);
+         if (!block.compareAndSet(slot, null, label))
+            label = block.get(slot);
+      } // end if
+      return label;
+   } // end getLabel
+
+   private T parseLabel(int vertexIndex)
+   {
+      long start = getLong(labelStartsPosition + 8L * vertexIndex);
+      long end = getLong(labelStartsPosition + 8L * (vertexIndex + 1));
+      byte[] text = new byte[(int)(end - start)];
+      for (int index = 0; index < text.length; index++)
+         text[index] = getByte(labelBytesPosition + start + index);
+      return labelParser.apply(new String(text, StandardCharsets.UTF_8));
+   } // end parseLabel
+
+   /** Gets the number of edges that begin at a given vertex.
+       @param vertexIndex  The index of a vertex.
+       @return  The out-degree of the vertex. */
+   public int getOutDegree(int vertexIndex)
+   {
+      return getOffset(vertexIndex + 1) - getOffset(vertexIndex);
+   } // end getOutDegree
+
+   /** Gets the end vertex of an edge.
+       @param edgeIndex  The index of an edge; the edges of vertex v are
+                         numbered from the sum of the out-degrees of the
+                         vertices before v.
+       @return  The index of the edge's end vertex. */
+   public int getTarget(int edgeIndex)
+   {
+      return getInt(targetsPosition + 4L * edgeIndex);
+   } // end getTarget
+
+   /** Gets the weight of an edge.
+       @param edgeIndex  The index of an edge, as for getTarget.
+       @return  The edge's weight. */
+   public double getWeight(int edgeIndex)
+   {
+      return getDouble(weightsPosition + 8L * edgeIndex);
+   } // end getWeight
+
+   /** Copies this graph onto the heap.
+       @return  A CsrGraph with the same vertices, indices and edges. */
+   public CsrGraph<T> toCsrGraph()
+   {
+      // The cast is safe because the new array contains null entries
+      @SuppressWarnings("unchecked")
+      T[] labels = (T[])new Object[numberOfVertices];
+      int[] offsets = new int[numberOfVertices + 1];
+      for (int vertex = 0; vertex < numberOfVertices; vertex++)
+      {
+         labels[vertex] = getLabel(vertex);
+         offsets[vertex] = getOffset(vertex);
+      } // end for
+      offsets[numberOfVertices] = getOffset(numberOfVertices);
+      int[] targets = new int[numberOfEdges];
+      double[] weights = new double[numberOfEdges];
+      for (int edge = 0; edge < numberOfEdges; edge++)
+      {
+         targets[edge] = getTarget(edge);
+         weights[edge] = getWeight(edge);
+      } // end for
+      return new CsrGraph<>(labels, offsets, targets, weights);
+   } // end toCsrGraph
+
+   /** Performs a breadth-first traversal of this graph.
+       @param origin  An object that labels the origin vertex of the traversal.
+       @return  A queue of labels of the vertices in the traversal, with
+                the label of the origin vertex at the queue's front. */
+   public QueueInterface<T> getBreadthFirstTraversal(T origin)
+   {
+      int originIndex = getIndex(origin);
+      if (originIndex < 0)
+         return new ResizableArrayQueue<>();
+
+      TraversalContext context = beginQuery();
+      int count = IndexedSearches.breadthFirst(indexedEdges, originIndex, context);
+      return IndexedSearches.addLabels(indexedEdges, context.getVertexBuffer(), count,
+                                       new ResizableArrayQueue<>(count));
+   } // end getBreadthFirstTraversal
+
+   /** Performs a breadth-first traversal from a vertex index.
+       @param originIndex  The index of the origin vertex.
+       @return  The indices of the vertices in the traversal, beginning
+                with originIndex. */
+   public int[] getBreadthFirstOrder(int originIndex)
+   {
+      TraversalContext context = beginQuery();
+      return Arrays.copyOf(context.getVertexBuffer(), IndexedSearches.breadthFirst(indexedEdges, originIndex, context));
+   } // end getBreadthFirstOrder
+
+   /** Performs a depth-first traversal of this graph.
+       @param origin  An object that labels the origin vertex of the traversal.
+       @return  A queue of labels of the vertices in the traversal, with
+                the label of the origin vertex at the queue's front. */
+   public QueueInterface<T> getDepthFirstTraversal(T origin)
+   {
+      int originIndex = getIndex(origin);
+      if (originIndex < 0)
+         return new ResizableArrayQueue<>();
+
+      TraversalContext context = beginQuery();
+      int count = IndexedSearches.depthFirst(indexedEdges, originIndex, context);
+      return IndexedSearches.addLabels(indexedEdges, context.getVertexBuffer(), count,
+                                       new ResizableArrayQueue<>(count));
+   } // end getDepthFirstTraversal
+
+   /** Performs a depth-first traversal from a vertex index.
+       @param originIndex  The index of the origin vertex.
+       @return  The indices of the vertices in the traversal, beginning
+                with originIndex. */
+   public int[] getDepthFirstOrder(int originIndex)
+   {
+      TraversalContext context = beginQuery();
+      return Arrays.copyOf(context.getVertexBuffer(), IndexedSearches.depthFirst(indexedEdges, originIndex, context));
+   } // end getDepthFirstOrder
+
+   /** Finds the shortest-length path between two given vertices in this graph.
+       @param begin  An object that labels the path's origin vertex.
+       @param end    An object that labels the path's destination vertex.
+       @param path   A stack of labels that is empty initially;
+                     at the completion of the method, this stack contains
+                     the labels of the vertices along the shortest path;
+                     the label of the origin vertex is at the top, and
+                     the label of the destination vertex is at the bottom
+       @return  The length of the shortest path, or -1 if end cannot be
+                reached from begin, in which case path is unchanged. */
+   public int getShortestPath(T begin, T end, StackInterface<T> path)
+   {
+      int beginIndex = getIndex(begin);
+      int endIndex = getIndex(end);
+      if ((beginIndex < 0) || (endIndex < 0))
+         return -1;
+
+      TraversalContext context = beginQuery();
+      int pathLength = IndexedSearches.shortestPath(indexedEdges, beginIndex, endIndex, context);
+      if (pathLength >= 0)
+         IndexedSearches.pushPath(indexedEdges, endIndex, context, path);
+      return pathLength;
+   } // end getShortestPath
+
+   // Starts a query with a context of its own. Unlike Graph, this class
+   // keeps no context between queries, which would hold several arrays
+   // as long as the vertex count on the heap of every querying thread.
+   private TraversalContext beginQuery()
+   {
+      TraversalContext context = new TraversalContext(numberOfVertices);
+      context.begin(numberOfVertices);
+      return context;
+   } // end beginQuery
+
+   private int getOffset(int vertexIndex)
+   {
+      return getInt(offsetsPosition + 4L * vertexIndex);
+   } // end getOffset
+
+   // Reads the file by absolute position; ints, longs and doubles are
+   // aligned, so each lies within one page
+
+   private byte getByte(long position)
+   {
+      return pages[(int)(position >>> PAGE_SHIFT)].get((int)(position & PAGE_MASK));
+   } // end getByte
+
+   private int getInt(long position)
+   {
+      return pages[(int)(position >>> PAGE_SHIFT)].getInt((int)(position & PAGE_MASK));
+   } // end getInt
+
+   private long getLong(long position)
+   {
+      return pages[(int)(position >>> PAGE_SHIFT)].getLong((int)(position & PAGE_MASK));
+   } // end getLong
+
+   private double getDouble(long position)
+   {
+      return pages[(int)(position >>> PAGE_SHIFT)].getDouble((int)(position & PAGE_MASK));
+   } // end getDouble
+
+   // Copies count ints, or longs, that begin at position into destination;
+   // the values may continue onto the next page
+   private void getInts(long position, int[] destination, int count)
+   {
+      int copied = 0;
+      while (copied < count)
+      {
+         ByteBuffer page = pages[(int)(position >>> PAGE_SHIFT)].duplicate().order(ByteOrder.LITTLE_ENDIAN);
+         page.position((int)(position & PAGE_MASK));
+         int pieceCount = Math.min(count - copied, page.remaining() / 4);
+         page.asIntBuffer().get(destination, copied, pieceCount);
+         copied += pieceCount;
+         position += 4L * pieceCount;
+      } // end while
+   } // end getInts
+
+   private void getLongs(long position, long[] destination, int count)
+   {
+      int copied = 0;
+      while (copied < count)
+      {
+         ByteBuffer page = pages[(int)(position >>> PAGE_SHIFT)].duplicate().order(ByteOrder.LITTLE_ENDIAN);
+         page.position((int)(position & PAGE_MASK));
+         int pieceCount = Math.min(count - copied, page.remaining() / 8);
+         page.asLongBuffer().get(destination, copied, pieceCount);
+         copied += pieceCount;
+         position += 8L * pieceCount;
+      } // end while
+   } // end getLongs
+
+   private boolean sameBytes(long position, byte[] key)
+   {
+      for (int index = 0; index < key.length; index++)
+      {
+         if (getByte(position + index) != key[index])
+            return false;
+      } // end for
+      return true;
+   } // end sameBytes
+
+   private static long align(long position)
+   {
+      return (position + 7) & ~7L;
+   } // end align
+
+   private static int hash(byte[] key)
+   {
+      int hash = 0;
+      for (byte character : key)
+         hash = 31 * hash + character;
+      hash *= 0x9E3779B9;
+      return hash ^ (hash >>> 16);
+   } // end hash
+
+   // Writes little-endian values through a buffer, computing the CRC32 of
+   // everything written
+   private static final class BlockWriter
+   {
+      private final FileChannel channel;
+      private final ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 20).order(ByteOrder.LITTLE_ENDIAN);
+      private final CRC32 checksum = new CRC32();
+      private long written;  // Bytes written since the header
+
+      private BlockWriter(FileChannel fileChannel)
+      {
+         channel = fileChannel;
+      } // end constructor
+
+      private void putInt(int value) throws IOException
+      {
+         ensureRoom(4);
+         buffer.putInt(value);
+      } // end putInt
+
+      private void putLong(long value) throws IOException
+      {
+         ensureRoom(8);
+         buffer.putLong(value);
+      } // end putLong
+
+      private void putDouble(double value) throws IOException
+      {
+         ensureRoom(8);
+         buffer.putDouble(value);
+      } // end putDouble
+
+      private void putBytes(byte[] values) throws IOException
+      {
+         int index = 0;
+         while (index < values.length)
+         {
+            ensureRoom(1);
+            int count = Math.min(buffer.remaining(), values.length - index);
+            buffer.put(values, index, count);
+            index += count;
+         } // end while
+      } // end putBytes
+
+      // Pads with zeros to the next multiple of 8 bytes in the file
+      private void align() throws IOException
+      {
+         while (((HEADER_SIZE + written + buffer.position()) & 7) != 0)
+         {
+            ensureRoom(1);
+            buffer.put((byte)0);
+         } // end while
+      } // end align
+
+      private void ensureRoom(int count) throws IOException
+      {
+         if (buffer.remaining() < count)
+            flush();
+      } // end ensureRoom
+
+      private void flush() throws IOException
+      {
+         buffer.flip();
+         checksum.update(buffer.duplicate());
+         written += buffer.remaining();
+         while (buffer.hasRemaining())
+            channel.write(buffer);
+         buffer.clear();
+      } // end flush
+   } // end BlockWriter
+
+   private final class IndexedView implements IndexedEdges<T>
+   {
+      public int getNumberOfVertices()
+      {
+         return numberOfVertices;
+      } // end getNumberOfVertices
+
+      public T getLabel(int vertex)
+      {
+         return MappedGraph.this.getLabel(vertex);
+      } // end getLabel
+
+      public IndexedEdges.Cursor newCursor()
+      {
+         return new EdgeCursor();
+      } // end newCursor
+   } // end IndexedView
+
+   // Walks the range of the targets and weights blocks that holds a
+   // vertex's edges
+   private final class EdgeCursor implements IndexedEdges.Cursor
+   {
+      private int edge;
+      private int end;
+
+      public void moveTo(int vertex)
+      {
+         edge = getOffset(vertex) - 1;
+         end = getOffset(vertex + 1);
+      } // end moveTo
+
+      public boolean next()
+      {
+         return ++edge < end;
+      } // end next
+
+      public int getTarget()
+      {
+         return MappedGraph.this.getTarget(edge);
+      } // end getTarget
+
+      public double getWeight()
+      {
+         return MappedGraph.this.getWeight(edge);
+      } // end getWeight
+   } // end EdgeCursor
+} // end MappedGraph
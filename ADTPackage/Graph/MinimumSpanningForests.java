@@ -0,0 +1,255 @@
+package ADTPackage.Graph;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import ADTPackage.DisjointSet.*;
+import ADTPackage.PriorityQueue.*;
+/**
+   A class that finds minimum spanning forests of CsrGraphs. Each directed
+   edge is treated as an undirected edge between its vertices, and a graph
+   that is not connected gets one tree per component. Weights may be
+   negative.
+
+   Prim's algorithm grows each tree from a vertex by using an indexed
+   heap, in O(E log V) time. Kruskal's algorithm sorts all edges by weight
+   and adds each one that joins two different trees of a union-find
+   structure, in O(E log E) time; its sort can run on the threads of a
+   ForkJoinPool. Kruskal's sort grows faster than Prim's heap work as the
+   graph gets denser; SpanningForestBenchmarks, in the benchmarks
+   directory, compares the two by density.
+*/
+public final class MinimumSpanningForests
+{
+   private final ForkJoinPool pool;
+   private static final int SEQUENTIAL_SORT_SIZE = 1 << 13; // Smallest range a sort task splits
+   private static final int INSERTION_SORT_SIZE = 32;
+
+   /** Creates an instance whose parallel sorts run on the common
+       ForkJoinPool. */
+   public MinimumSpanningForests()
+   {
+      this(ForkJoinPool.commonPool());
+   } // end default constructor
+
+   /** Creates an instance whose parallel sorts run on a given pool.
+       @param forkJoinPool  The pool whose threads sort the edges. */
+   public MinimumSpanningForests(ForkJoinPool forkJoinPool)
+   {
+      pool = forkJoinPool;
+   } // end constructor
+
+   /** Finds a minimum spanning forest by using Prim's algorithm.
+       @param graph  The graph.
+       @return  The forest; each edge begins at the vertex that was already
+                in the tree when the edge was added. */
+   public <T> SpanningForest<T> getPrimForest(CsrGraph<T> graph)
+   {
+      int numberOfVertices = graph.getNumberOfVertices();
+      int[] offsets = graph.getOffsets();
+      int[] targets = graph.getTargets();
+      double[] weights = graph.getWeights();
+
+      // Store every edge in both directions
+      int[] undirectedOffsets = new int[numberOfVertices + 1];
+      for (int vertex = 0; vertex < numberOfVertices; vertex++)
+      {
+         for (int edge = offsets[vertex]; edge < offsets[vertex + 1]; edge++)
+         {
+            undirectedOffsets[vertex + 1]++;
+            undirectedOffsets[targets[edge] + 1]++;
+         } // end for
+      } // end for
+      for (int vertex = 0; vertex < numberOfVertices; vertex++)
+         undirectedOffsets[vertex + 1] += undirectedOffsets[vertex];
+      int[] neighbors = new int[undirectedOffsets[numberOfVertices]];
+      double[] neighborWeights = new double[neighbors.length];
+      int[] nextSlot = new int[numberOfVertices];
+      System.arraycopy(undirectedOffsets, 0, nextSlot, 0, numberOfVertices);
+      for (int vertex = 0; vertex < numberOfVertices; vertex++)
+      {
+         for (int edge = offsets[vertex]; edge < offsets[vertex + 1]; edge++)
+         {
+            int target = targets[edge];
+            neighbors[nextSlot[vertex]] = target;
+            neighborWeights[nextSlot[vertex]++] = weights[edge];
+            neighbors[nextSlot[target]] = vertex;
+            neighborWeights[nextSlot[target]++] = weights[edge];
+         } // end for
+      } // end for
+
+      int[] begins = new int[Math.max(numberOfVertices - 1, 0)];
+      int[] ends = new int[begins.length];
+      double[] forestWeights = new double[begins.length];
+      int forestSize = 0;
+      boolean[] inForest = new boolean[numberOfVertices];
+      int[] bestNeighbors = new int[numberOfVertices]; // Tree vertex of cheapest edge to each vertex
+      IndexedDaryHeap priorityQueue = new IndexedDaryHeap(numberOfVertices);
+      for (int root = 0; root < numberOfVertices; root++)
+      {
+         if (inForest[root])
+            continue;
+         bestNeighbors[root] = -1;
+         priorityQueue.add(root, 0);
+         while (!priorityQueue.isEmpty())
+         {
+            double weight = priorityQueue.getPriority(priorityQueue.peek());
+            int vertex = priorityQueue.remove();
+            inForest[vertex] = true;
+            if (bestNeighbors[vertex] >= 0)
+            {
+               begins[forestSize] = bestNeighbors[vertex];
+               ends[forestSize] = vertex;
+               forestWeights[forestSize++] = weight;
+            } // end if
+            for (int slot = undirectedOffsets[vertex]; slot < undirectedOffsets[vertex + 1]; slot++)
+            {
+               int neighbor = neighbors[slot];
+               if (!inForest[neighbor] && priorityQueue.addOrDecrease(neighbor, neighborWeights[slot]))
+                  bestNeighbors[neighbor] = vertex;
+            } // end for
+         } // end while
+      } // end for
+      return new SpanningForest<>(graph, begins, ends, forestWeights, forestSize);
+   } // end getPrimForest
+
+   /** Finds a minimum spanning forest by using Kruskal's algorithm.
+       @param graph  The graph.
+       @param parallelSort  True to sort the edges on the threads of this
+                            object's pool.
+       @return  The forest, with its edges in order of weight; each edge
+                keeps the direction it had in the graph. */
+   public <T> SpanningForest<T> getKruskalForest(CsrGraph<T> graph, boolean parallelSort)
+   {
+      int numberOfVertices = graph.getNumberOfVertices();
+      int[] offsets = graph.getOffsets();
+      int[] targets = graph.getTargets();
+      int numberOfEdges = graph.getNumberOfEdges();
+
+      // Sort copies of the weights, carrying each edge's number along
+      double[] sortedWeights = graph.getWeights().clone();
+      int[] sortedEdges = new int[numberOfEdges];
+      for (int edge = 0; edge < numberOfEdges; edge++)
+         sortedEdges[edge] = edge;
+      MergeSortAction sort = new MergeSortAction(sortedWeights, sortedEdges, new double[numberOfEdges],
+                                                 new int[numberOfEdges], 0, numberOfEdges, parallelSort);
+      if (parallelSort && (numberOfEdges > SEQUENTIAL_SORT_SIZE))
+         pool.invoke(sort);
+      else
+         sort.compute();
+
+      // Edge numbers are positions in targets; recover each one's begin vertex
+      int[] edgeBegins = new int[numberOfEdges];
+      for (int vertex = 0; vertex < numberOfVertices; vertex++)
+      {
+         for (int edge = offsets[vertex]; edge < offsets[vertex + 1]; edge++)
+            edgeBegins[edge] = vertex;
+      } // end for
+
+      int[] begins = new int[Math.max(numberOfVertices - 1, 0)];
+      int[] ends = new int[begins.length];
+      double[] forestWeights = new double[begins.length];
+      int forestSize = 0;
+      DisjointSets trees = new DisjointSets(numberOfVertices);
+      for (int position = 0; (position < numberOfEdges) && (forestSize < begins.length); position++)
+      {
+         int edge = sortedEdges[position];
+         if (trees.union(edgeBegins[edge], targets[edge]))
+         {
+            begins[forestSize] = edgeBegins[edge];
+            ends[forestSize] = targets[edge];
+            forestWeights[forestSize++] = sortedWeights[position];
+         } // end if
+      } // end for
+      return new SpanningForest<>(graph, begins, ends, forestWeights, forestSize);
+   } // end getKruskalForest
+
+   // Sorts keys[first..last - 1] into increasing order, moving the entries
+   // of values with them. The sort is stable, so edges of equal weight stay
+   // in the order of their numbers. Halves are sorted into the work arrays
+   // and merged back, and large halves are sorted as separate tasks.
+   private static final class MergeSortAction extends RecursiveAction
+   {
+      private static final long serialVersionUID = 1L;
+      private final double[] keys;
+      private final int[] values;
+      private final double[] workKeys;
+      private final int[] workValues;
+      private final int first;
+      private final int last;
+      private final boolean parallel;
+
+      private MergeSortAction(double[] keys, int[] values, double[] workKeys, int[] workValues,
+                              int first, int last, boolean parallel)
+      {
+         this.keys = keys;
+         this.values = values;
+         this.workKeys = workKeys;
+         this.workValues = workValues;
+         this.first = first;
+         this.last = last;
+         this.parallel = parallel;
+      } // end constructor
+
+      protected void compute()
+      {
+         if (last - first <= INSERTION_SORT_SIZE)
+         {
+            insertionSort();
+            return;
+         } // end if
+
+         // Sort each half of the work arrays in place, then merge the halves
+         // back into keys and values
+         int middle = (first + last) >>> 1;
+         System.arraycopy(keys, first, workKeys, first, last - first);
+         System.arraycopy(values, first, workValues, first, last - first);
+         MergeSortAction left = new MergeSortAction(workKeys, workValues, keys, values, first, middle, parallel);
+         MergeSortAction right = new MergeSortAction(workKeys, workValues, keys, values, middle, last, parallel);
+         if (parallel && (last - first > SEQUENTIAL_SORT_SIZE))
+            invokeAll(left, right);
+         else
+         {
+            left.compute();
+            right.compute();
+         } // end if
+         merge(middle);
+      } // end compute
+
+      private void merge(int middle)
+      {
+         int leftIndex = first;
+         int rightIndex = middle;
+         for (int index = first; index < last; index++)
+         {
+            if ((rightIndex >= last) ||
+                ((leftIndex < middle) && (workKeys[leftIndex] <= workKeys[rightIndex])))
+            {
+               keys[index] = workKeys[leftIndex];
+               values[index] = workValues[leftIndex++];
+            }
+            else
+            {
+               keys[index] = workKeys[rightIndex];
+               values[index] = workValues[rightIndex++];
+            } // end if
+         } // end for
+      } // end merge
+
+      private void insertionSort()
+      {
+         for (int unsorted = first + 1; unsorted < last; unsorted++)
+         {
+            double key = keys[unsorted];
+            int value = values[unsorted];
+            int index = unsorted - 1;
+            while ((index >= first) && (keys[index] > key))
+            {
+               keys[index + 1] = keys[index];
+               values[index + 1] = values[index];
+               index--;
+            } // end while
+            keys[index + 1] = key;
+            values[index + 1] = value;
+         } // end for
+      } // end insertionSort
+   } // end MergeSortAction
+} // end MinimumSpanningForests
@@ -0,0 +1,346 @@
+package ADTPackage.Graph;
+import java.util.Arrays;
+import ADTPackage.PriorityQueue.*;
+/**
+   A class that computes distances from many source vertices of a CsrGraph
+   at once, for building tables such as distances from landmark vertices.
+
+   Hop distances come from a bit-parallel breadth-first search that runs
+   64 sources in one sweep: each vertex keeps a 64-bit mask of the sources
+   that have reached it, so an edge is examined once per level for the
+   whole batch instead of once per source. Weighted distances come from
+   one Dijkstra search per source that reuses a single priority queue.
+   For small graphs, a blocked Floyd-Warshall algorithm computes every
+   pair at once.
+
+   Results are either whole matrices stored row by row in one int or float
+   array, or rows handed one at a time to a consumer, which keeps memory
+   proportional to the number of vertices rather than to the number of
+   sources times vertices.
+*/
+public final class MultiSourceShortestPaths
+{
+   /** Receives one row of hop distances. */
+   public interface HopRowConsumer
+   {
+      /** Accepts the distances from one source.
+          @param source  The index of the source vertex.
+          @param distances  An array whose entry v is the number of edges
+                            on a shortest path from source to v, or -1 if v
+                            is unreachable. The array is reused for later
+                            rows, so it must be copied to be kept. */
+      public void acceptRow(int source, int[] distances);
+   } // end HopRowConsumer
+
+   /** Receives one row of path costs. */
+   public interface CostRowConsumer
+   {
+      /** Accepts the costs from one source.
+          @param source  The index of the source vertex.
+          @param costs  An array whose entry v is the cost of a cheapest
+                        path from source to v, or Float.POSITIVE_INFINITY if
+                        v is unreachable. The array is reused for later
+                        rows, so it must be copied to be kept. */
+      public void acceptRow(int source, float[] costs);
+   } // end CostRowConsumer
+
+   private final int numberOfVertices;
+   private final int[] offsets;
+   private final int[] targets;
+   private final double[] weights;
+   private static final int SOURCES_PER_BATCH = Long.SIZE;
+   private static final int DENSE_FRONTIER_DIVISOR = 16;  // A frontier of more than V / 16 sweeps every vertex
+   private static final int BLOCK_SIZE = 64;          // Floyd-Warshall tile width
+   private static final int MAX_ALL_PAIRS_VERTICES = 1 << 13;
+
+   /** Creates an instance that computes distances in a given graph.
+       @param graph  The graph. */
+   public MultiSourceShortestPaths(CsrGraph<?> graph)
+   {
+      numberOfVertices = graph.getNumberOfVertices();
+      offsets = graph.getOffsets();
+      targets = graph.getTargets();
+      weights = graph.getWeights();
+   } // end constructor
+
+   /** Computes the number of edges on a shortest path from each of the
+       given sources to every vertex.
+       @param sources  The indices of the source vertices.
+       @return  A matrix with sources.length rows of getNumberOfVertices()
+                entries, stored row by row: entry
+                i * getNumberOfVertices() + v is the distance from
+                sources[i] to v, or -1 if v is unreachable. */
+   public int[] getHopDistances(int[] sources)
+   {
+      int[] matrix = new int[checkMatrixSize(sources.length)];
+      int[] rowOf = new int[] {0};
+      forEachHopRow(sources, (source, distances) ->
+         System.arraycopy(distances, 0, matrix, numberOfVertices * rowOf[0]++, numberOfVertices));
+      return matrix;
+   } // end getHopDistances
+
+   /** Computes the number of edges on a shortest path from each of the
+       given sources to every vertex and passes the rows, in the order of
+       sources, to a consumer. At most 64 rows are held at a time.
+       @param sources  The indices of the source vertices.
+       @param consumer  The object that receives each row. */
+   public void forEachHopRow(int[] sources, HopRowConsumer consumer)
+   {
+      checkSources(sources);
+      int batchSize = Math.min(SOURCES_PER_BATCH, sources.length);
+      int[][] rows = new int[batchSize][numberOfVertices];
+      long[] seen = new long[numberOfVertices];
+      long[] frontier = new long[numberOfVertices];
+      long[] next = new long[numberOfVertices];
+      int[] frontierVertices = new int[numberOfVertices];
+      int[] reachedVertices = new int[numberOfVertices];
+      for (int first = 0; first < sources.length; first += SOURCES_PER_BATCH)
+      {
+         int count = Math.min(SOURCES_PER_BATCH, sources.length - first);
+         searchBatch(sources, first, count, rows, seen, frontier, next, frontierVertices, reachedVertices);
+         for (int row = 0; row < count; row++)
+            consumer.acceptRow(sources[first + row], rows[row]);
+      } // end for
+   } // end forEachHopRow
+
+   /** Computes the cost of a cheapest path from each of the given sources
+       to every vertex. Costs are rounded to float to halve the size of the
+       matrix. Edge weights must not be negative.
+       @param sources  The indices of the source vertices.
+       @return  A matrix with sources.length rows of getNumberOfVertices()
+                entries, stored row by row: entry
+                i * getNumberOfVertices() + v is the cost from sources[i] to
+                v, or Float.POSITIVE_INFINITY if v is unreachable.
+       @throws  IllegalStateException if an edge has a negative weight. */
+   public float[] getCheapestCosts(int[] sources)
+   {
+      float[] matrix = new float[checkMatrixSize(sources.length)];
+      int[] rowOf = new int[] {0};
+      forEachCostRow(sources, (source, costs) ->
+         System.arraycopy(costs, 0, matrix, numberOfVertices * rowOf[0]++, numberOfVertices));
+      return matrix;
+   } // end getCheapestCosts
+
+   /** Computes the cost of a cheapest path from each of the given sources
+       to every vertex and passes the rows, in the order of sources, to a
+       consumer. Only one row is held at a time. Edge weights must not be
+       negative.
+       @param sources  The indices of the source vertices.
+       @param consumer  The object that receives each row.
+       @throws  IllegalStateException if an edge has a negative weight. */
+   public void forEachCostRow(int[] sources, CostRowConsumer consumer)
+   {
+      checkSources(sources);
+      for (double weight : weights)
+      {
+         if (weight < 0)
+            throw new IllegalStateException("Dijkstra's algorithm requires nonnegative edge weights.");
+      } // end for
+
+      float[] row = new float[numberOfVertices];
+      double[] costs = new double[numberOfVertices];
+      boolean[] settled = new boolean[numberOfVertices];
+      IndexedDaryHeap priorityQueue = new IndexedDaryHeap(numberOfVertices);
+      for (int source : sources)
+      {
+         Arrays.fill(costs, Double.POSITIVE_INFINITY);
+         Arrays.fill(settled, false);
+         costs[source] = 0;
+         priorityQueue.add(source, 0);
+         while (!priorityQueue.isEmpty())
+         {
+            int vertex = priorityQueue.remove();
+            settled[vertex] = true;
+            for (int edge = offsets[vertex]; edge < offsets[vertex + 1]; edge++)
+            {
+               int neighbor = targets[edge];
+               double newCost = costs[vertex] + weights[edge];
+               if (!settled[neighbor] && (newCost < costs[neighbor]))
+               {
+                  costs[neighbor] = newCost;
+                  priorityQueue.addOrDecrease(neighbor, newCost);
+               } // end if
+            } // end for
+         } // end while
+
+         for (int vertex = 0; vertex < numberOfVertices; vertex++)
+            row[vertex] = (float)costs[vertex];
+         consumer.acceptRow(source, row);
+      } // end for
+   } // end forEachCostRow
+
+   /** Computes the cost of a cheapest path between every pair of vertices
+       by using a blocked Floyd-Warshall algorithm. The matrix is processed
+       in 64 x 64 tiles so that each pass over a tile stays in cache. Edge
+       weights may be negative if no cycle has a negative total weight.
+       The method takes O(n^3) time and is meant for graphs of at most a
+       few thousand vertices.
+       @return  A matrix of getNumberOfVertices() rows and columns, stored
+                row by row: entry u * getNumberOfVertices() + v is the cost
+                from u to v, or Float.POSITIVE_INFINITY if v is unreachable
+                from u.
+       @throws  IllegalStateException if the graph has more than 8192
+                vertices or has a cycle of negative weight. */
+   public float[] getAllPairsCosts()
+   {
+      if (numberOfVertices > MAX_ALL_PAIRS_VERTICES)
+         throw new IllegalStateException("All-pairs costs are limited to " + MAX_ALL_PAIRS_VERTICES +
+                                         " vertices; use forEachCostRow instead.");
+      int n = numberOfVertices;
+      float[] costs = new float[n * n];
+      Arrays.fill(costs, Float.POSITIVE_INFINITY);
+      for (int vertex = 0; vertex < n; vertex++)
+      {
+         costs[vertex * n + vertex] = 0;
+         for (int edge = offsets[vertex]; edge < offsets[vertex + 1]; edge++)
+         {
+            int entry = vertex * n + targets[edge];
+            costs[entry] = Math.min(costs[entry], (float)weights[edge]);
+         } // end for
+      } // end for
+
+      // For each diagonal tile, finish it first, then its row and column
+      // of tiles, which depend only on it, then every other tile
+      for (int kBlock = 0; kBlock < n; kBlock += BLOCK_SIZE)
+      {
+         relaxTile(costs, kBlock, kBlock, kBlock);
+         for (int block = 0; block < n; block += BLOCK_SIZE)
+         {
+            if (block != kBlock)
+            {
+               relaxTile(costs, kBlock, block, kBlock);
+               relaxTile(costs, block, kBlock, kBlock);
+            } // end if
+         } // end for
+         for (int iBlock = 0; iBlock < n; iBlock += BLOCK_SIZE)
+         {
+            for (int jBlock = 0; (iBlock != kBlock) && (jBlock < n); jBlock += BLOCK_SIZE)
+            {
+               if (jBlock != kBlock)
+                  relaxTile(costs, iBlock, jBlock, kBlock);
+            } // end for
+         } // end for
+      } // end for
+
+      for (int vertex = 0; vertex < n; vertex++)
+      {
+         if (costs[vertex * n + vertex] < 0)
+            throw new IllegalStateException("The graph has a cycle of negative weight.");
+      } // end for
+      return costs;
+   } // end getAllPairsCosts
+
+   // Runs the breadth-first searches from sources[first] through
+   // sources[first + count - 1] together; bit i of a mask stands for the
+   // search from sources[first + i]. A level with a small frontier visits
+   // only the vertices in frontierVertices and those their edges reach,
+   // listed in reachedVertices, so long thin searches such as those of a
+   // path do not sweep every vertex at every level. A level with a large
+   // frontier sweeps all vertices in order instead, which writes the rows
+   // sequentially. frontier and next are all 0 between calls.
+   private void searchBatch(int[] sources, int first, int count, int[][] rows,
+                            long[] seen, long[] frontier, long[] next,
+                            int[] frontierVertices, int[] reachedVertices)
+   {
+      for (int row = 0; row < count; row++)
+         Arrays.fill(rows[row], -1);
+      Arrays.fill(seen, 0);
+      int frontierCount = 0;
+      for (int row = 0; row < count; row++)
+      {
+         int source = sources[first + row];
+         if (frontier[source] == 0)
+            frontierVertices[frontierCount++] = source;
+         seen[source] |= 1L << row;
+         frontier[source] |= 1L << row;
+         rows[row][source] = 0;
+      } // end for
+
+      for (int level = 1; frontierCount > 0; level++)
+      {
+         boolean dense = frontierCount > numberOfVertices / DENSE_FRONTIER_DIVISOR;
+
+         // Push each frontier vertex's mask along its edges
+         int reachedCount = 0;
+         for (int index = 0; index < (dense ? numberOfVertices : frontierCount); index++)
+         {
+            int vertex = dense ? index : frontierVertices[index];
+            long mask = frontier[vertex];
+            if (mask != 0)
+            {
+               frontier[vertex] = 0;
+               for (int edge = offsets[vertex]; edge < offsets[vertex + 1]; edge++)
+               {
+                  int neighbor = targets[edge];
+                  if (!dense && (next[neighbor] == 0))
+                     reachedVertices[reachedCount++] = neighbor;
+                  next[neighbor] |= mask;
+               } // end for
+            } // end if
+         } // end for
+
+         // Keep only the searches that reach a vertex for the first time
+         frontierCount = 0;
+         for (int index = 0; index < (dense ? numberOfVertices : reachedCount); index++)
+         {
+            int vertex = dense ? index : reachedVertices[index];
+            long newMask = next[vertex] & ~seen[vertex];
+            next[vertex] = 0;
+            if (newMask != 0)
+            {
+               frontier[vertex] = newMask;
+               frontierVertices[frontierCount++] = vertex;
+               seen[vertex] |= newMask;
+               for (long bits = newMask; bits != 0; bits &= bits - 1)
+                  rows[Long.numberOfTrailingZeros(bits)][vertex] = level;
+            } // end if
+         } // end for
+      } // end for
+   } // end searchBatch
+
+   // Relaxes the tile of rows iBlock.. and columns jBlock.. through the
+   // intermediate vertices kBlock..
+   private void relaxTile(float[] costs, int iBlock, int jBlock, int kBlock)
+   {
+      int n = numberOfVertices;
+      int iEnd = Math.min(iBlock + BLOCK_SIZE, n);
+      int jEnd = Math.min(jBlock + BLOCK_SIZE, n);
+      int kEnd = Math.min(kBlock + BLOCK_SIZE, n);
+      for (int k = kBlock; k < kEnd; k++)
+      {
+         int kRow = k * n;
+         for (int i = iBlock; i < iEnd; i++)
+         {
+            float throughK = costs[i * n + k];
+            if (throughK != Float.POSITIVE_INFINITY)
+            {
+               int iRow = i * n;
+               for (int j = jBlock; j < jEnd; j++)
+               {
+                  float candidate = throughK + costs[kRow + j];
+                  if (candidate < costs[iRow + j])
+                     costs[iRow + j] = candidate;
+               } // end for
+            } // end if
+         } // end for
+      } // end for
+   } // end relaxTile
+
+   private void checkSources(int[] sources)
+   {
+      for (int source : sources)
+      {
+         if ((source < 0) || (source >= numberOfVertices))
+            throw new IllegalArgumentException("No vertex has index " + source + ".");
+      } // end for
+   } // end checkSources
+
+   private int checkMatrixSize(int rows)
+   {
+      long size = (long)rows * numberOfVertices;
+      if (size > Integer.MAX_VALUE - 8)
+         throw new IllegalStateException("A matrix of " + rows + " rows is too large; " +
+                                         "use a forEach method to receive it row by row.");
+      return (int)size;
+   } // end checkMatrixSize
+} // end MultiSourceShortestPaths
@@ -0,0 +1,132 @@
+package ADTPackage.Graph;
+/**
+   A hash index from the neighbors of one vertex to the positions of the
+   edges that reach them, for graphs that keep a vertex's edges in an
+   array or an off-heap block. Finding, adding and removing a neighbor
+   take O(1) expected time. The index uses open addressing with linear
+   probing; each slot holds a neighbor + 1, or 0 if the slot is empty,
+   beside the position of the neighbor's edge, and the table doubles when
+   it becomes half full.
+*/
+final class NeighborIndex
+{
+   private int[] slots; // Neighbor + 1 and position, in pairs
+   private int size;
+
+   /** Creates an empty index sized for a given number of neighbors.
+       @param expectedSize  The number of neighbors expected. */
+   NeighborIndex(int expectedSize)
+   {
+      slots = new int[2 * tableLengthFor(expectedSize)];
+   } // end constructor
+
+   /** Gets the position of the edge to a neighbor.
+       @param neighbor  A vertex.
+       @return  The position, or -1 if neighbor is not in the index. */
+   int get(int neighbor)
+   {
+      int slot = locate(slots, neighbor);
+      return (slots[slot] == 0) ? -1 : slots[slot + 1];
+   } // end get
+
+   /** Records the position of the edge to a neighbor, replacing any
+       position the neighbor already had.
+       @param neighbor  A vertex.
+       @param position  The position of the edge that reaches it. */
+   void put(int neighbor, int position)
+   {
+      int slot = locate(slots, neighbor);
+      if (slots[slot] == 0)
+      {
+         if (2 * (size + 1) > slots.length / 2)
+         {
+            resize(tableLengthFor(size + 1));
+            slot = locate(slots, neighbor);
+         } // end if
+         slots[slot] = neighbor + 1;
+         size++;
+      } // end if
+      slots[slot + 1] = position;
+   } // end put
+
+   /** Deletes a neighbor from the index, shifting later entries of its
+       probe sequence back so that no search stops early at the hole.
+       @param neighbor  A vertex.
+       @return  The position the neighbor had, or -1 if it was not in the
+                index. */
+   int remove(int neighbor)
+   {
+      int hole = locate(slots, neighbor);
+      if (slots[hole] == 0)
+         return -1;
+      int position = slots[hole + 1];
+      int mask = slots.length - 1;
+      int slot = hole;
+      while (slots[slot = (slot + 2) & mask] != 0)
+      {
+         // An entry stays if its home slot lies cyclically after the hole
+         // and at or before the entry's slot
+         int home = home(slots[slot] - 1, mask);
+         boolean stays = (hole <= slot) ? ((hole < home) && (home <= slot))
+                                        : ((hole < home) || (home <= slot));
+         if (!stays)
+         {
+            slots[hole] = slots[slot];
+            slots[hole + 1] = slots[slot + 1];
+            hole = slot;
+         } // end if
+      } // end while
+      slots[hole] = 0;
+      size--;
+      return position;
+   } // end remove
+
+   /** Changes a neighbor in the index to another vertex whose edge has
+       the same position, as when a graph renumbers a vertex.
+       @param neighbor  A vertex in the index.
+       @param newNeighbor  A vertex not in the index. */
+   void rename(int neighbor, int newNeighbor)
+   {
+      int position = remove(neighbor);
+      if (position >= 0)
+         put(newNeighbor, position);
+   } // end rename
+
+   private void resize(int tableLength)
+   {
+      int[] oldSlots = slots;
+      slots = new int[2 * tableLength];
+      for (int slot = 0; slot < oldSlots.length; slot += 2)
+      {
+         if (oldSlots[slot] != 0)
+         {
+            int newSlot = locate(slots, oldSlots[slot] - 1);
+            slots[newSlot] = oldSlots[slot];
+            slots[newSlot + 1] = oldSlots[slot + 1];
+         } // end if
+      } // end for
+   } // end resize
+
+   // Returns the slot of a neighbor, or the empty slot where it would go
+   private static int locate(int[] slots, int neighbor)
+   {
+      int mask = slots.length - 1;
+      int slot = home(neighbor, mask);
+      while ((slots[slot] != 0) && (slots[slot] != neighbor + 1))
+         slot = (slot + 2) & mask;
+      return slot;
+   } // end locate
+
+   private static int home(int neighbor, int mask)
+   {
+      int hash = neighbor * 0x9E3779B9;
+      return ((hash ^ (hash >>> 16)) << 1) & mask;
+   } // end home
+
+   // Returns the number of pairs in a table that holds a given number of
+   // neighbors at most half full: a power of 2 of at least 4
+   private static int tableLengthFor(int neighbors)
+   {
+      return Math.max(4, Integer.highestOneBit(Math.max(1, 4 * neighbors - 1)));
+   } // end tableLengthFor
+} // end NeighborIndex
@@ -0,0 +1,150 @@
+package ADTPackage.Graph;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+/**
+   A store of edge blocks outside the Java heap, for OffHeapGraph. Memory
+   comes from the operating system in direct buffers, called slabs, of
+   64 MB; a block that is too large to share a slab gets a buffer of its
+   own. A block of class c holds up to getCapacity(c) edges: first their
+   weights as doubles, then their end vertices as ints, in the platform's
+   byte order. A block is named by a long address whose high half is the
+   slab number and whose low half is the block's offset in the slab.
+
+   Freed blocks of each class form a list, threaded through the blocks
+   themselves, and are reused before any new memory is taken.
+*/
+final class OffHeapEdgeArena
+{
+   static final int MIN_CAPACITY = 4;
+   static final int MAX_CLASS = 25;                      // Capacity 2^27 edges, about 1.5 GB
+   static final long NO_BLOCK = -1;
+   private static final int SLAB_SIZE = 1 << 26;         // 64 MB
+   private static final int DEDICATED_SIZE = SLAB_SIZE / 8; // Larger blocks get their own buffer
+   private static final int BYTES_PER_EDGE = 12;
+
+   private ByteBuffer[] slabs;
+   private int slabCount;
+   private int currentSlab;    // The slab that new small blocks come from, or -1
+   private int currentOffset;  // First free byte in it
+   private final long[] freeLists = new long[MAX_CLASS + 1];
+   private long allocatedBytes;
+
+   OffHeapEdgeArena()
+   {
+      slabs = new ByteBuffer[4];
+      clear();
+   } // end constructor
+
+   /** Gets the number of edges a block of a given class holds. */
+   static int getCapacity(int blockClass)
+   {
+      return MIN_CAPACITY << blockClass;
+   } // end getCapacity
+
+   /** Gets a block of a given class, whose contents are undefined. */
+   long allocate(int blockClass)
+   {
+      long block = freeLists[blockClass];
+      if (block != NO_BLOCK)
+      {
+         freeLists[blockClass] = getSlab(block).getLong(getOffset(block));
+         return block;
+      } // end if
+
+      int size = getCapacity(blockClass) * BYTES_PER_EDGE;
+      if (size > DEDICATED_SIZE)
+         return address(addSlab(size), 0);
+      if ((currentSlab < 0) || (currentOffset + size > SLAB_SIZE))
+      {
+         currentSlab = addSlab(SLAB_SIZE);
+         currentOffset = 0;
+      } // end if
+      block = address(currentSlab, currentOffset);
+      currentOffset += size;
+      return block;
+   } // end allocate
+
+   /** Returns a block to the arena. A block with its own buffer releases
+       the buffer, whose memory the garbage collector gives back. */
+   void free(long block, int blockClass)
+   {
+      if (getCapacity(blockClass) * BYTES_PER_EDGE > DEDICATED_SIZE)
+      {
+         int slab = (int)(block >>> 32);
+         allocatedBytes -= slabs[slab].capacity();
+         slabs[slab] = null;
+      }
+      else
+      {
+         getSlab(block).putLong(getOffset(block), freeLists[blockClass]);
+         freeLists[blockClass] = block;
+      } // end if
+   } // end free
+
+   /** Gets the buffer that holds a block. */
+   ByteBuffer getSlab(long block)
+   {
+      return slabs[(int)(block >>> 32)];
+   } // end getSlab
+
+   /** Gets the offset of a block's first weight in its buffer. */
+   static int getOffset(long block)
+   {
+      return (int)block;
+   } // end getOffset
+
+   /** Gets the offset of a block's first end vertex in its buffer. */
+   static int getTargetsOffset(long block, int blockClass)
+   {
+      return (int)block + 8 * getCapacity(blockClass);
+   } // end getTargetsOffset
+
+   /** Copies the first count edges of one block to another. */
+   void copy(long from, int fromClass, long to, int toClass, int count)
+   {
+      ByteBuffer source = getSlab(from);
+      ByteBuffer destination = getSlab(to);
+      destination.put(getOffset(to), source, getOffset(from), 8 * count);
+      destination.put(getTargetsOffset(to, toClass), source, getTargetsOffset(from, fromClass), 4 * count);
+   } // end copy
+
+   /** Gets the number of bytes this arena has taken from outside the heap. */
+   long getAllocatedBytes()
+   {
+      return allocatedBytes;
+   } // end getAllocatedBytes
+
+   /** Releases every block. */
+   void clear()
+   {
+      Arrays.fill(slabs, null);
+      slabCount = 0;
+      currentSlab = -1;
+      currentOffset = 0;
+      Arrays.fill(freeLists, NO_BLOCK);
+      allocatedBytes = 0;
+   } // end clear
+
+   private int addSlab(int size)
+   {
+      // Reuse the number of a released dedicated buffer, if any
+      int slab = 0;
+      while ((slab < slabCount) && (slabs[slab] != null))
+         slab++;
+      if (slab == slabCount)
+      {
+         if (slabCount == slabs.length)
+            slabs = Arrays.copyOf(slabs, 2 * slabCount);
+         slabCount++;
+      } // end if
+      slabs[slab] = ByteBuffer.allocateDirect(size).order(ByteOrder.nativeOrder());
+      allocatedBytes += size;
+      return slab;
+   } // end addSlab
+
+   private static long address(int slab, int offset)
+   {
+      return ((long)slab << 32) | offset;
+   } // end address
+} // end OffHeapEdgeArena
@@ -0,0 +1,703 @@
+package ADTPackage.Graph;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import ADTPackage.Dictionary.*;
+import ADTPackage.Queue.*;
+import ADTPackage.Stack.*;
+/**
+   A directed graph whose edges are stored outside the Java heap, for
+   graphs with more edges than the heap can hold. In a Graph each edge is
+   an object, with a twin for the reverse direction, costing several dozen
+   bytes of heap; here an edge costs 12 bytes of off-heap memory, 4 for
+   its end vertex and 8 for its weight. The edges of a vertex lie together
+   in one block that doubles in size as it fills. The blocks come from
+   64 MB direct buffers, so the graph's edges count against the JVM's
+   -XX:MaxDirectMemorySize limit rather than its heap size;
+   getOffHeapBytes reports how much memory they take. Labels and a few
+   numbers per vertex stay on the heap.
+
+   The class implements GraphInterface, and getVertex gives views of its
+   vertices that implement VertexInterface, so code written against
+   either interface works unchanged. A vertex with more than a few edges
+   gets a hash index of its neighbors on the heap, as in IntGraph, so
+   adding, testing for and removing an edge take O(1) expected time.
+   Removing a vertex looks for an edge to it from every other vertex,
+   since no edge lists are kept for the reverse direction; as in Graph,
+   the vertex with the largest index then takes the removed vertex's
+   index.
+
+   Like Graph, this class is not safe for use by several threads at once.
+*/
+public final class OffHeapGraph<T> implements GraphInterface<T>
+{
+   private final DictionaryInterface<T, Integer> indices;
+   private final OffHeapEdgeArena arena;
+   private T[] labels;         // Vertex labels by index
+   private long[] blocks;      // Edge block of each vertex, or NO_BLOCK
+   private byte[] blockClasses;
+   private int[] degrees;
+   private NeighborIndex[] neighborIndexes; // Null until a vertex has enough edges
+   private int numberOfVertices;
+   private long edgeCount;
+   private VertexState state;  // Marks made through vertex views; null until needed
+   private final IndexedEdges<T> indexedEdges = new IndexedView(); // For IndexedSearches
+   private static final int DEFAULT_CAPACITY = 16;
+   private static final int NEIGHBOR_INDEX_THRESHOLD = 8;
+
+   public OffHeapGraph()
+   {
+      indices = new HashedDictionary<>();
+      arena = new OffHeapEdgeArena();
+      initializeVertexArrays();
+   } // end default constructor
+
+   public boolean addVertex(T vertexLabel)
+   {
+      if (indices.contains(vertexLabel))
+         return false;
+      int index = numberOfVertices++;
+      if (index == labels.length)
+      {
+         int newLength = 2 * index;
+         labels = Arrays.copyOf(labels, newLength);
+         blocks = Arrays.copyOf(blocks, newLength);
+         blockClasses = Arrays.copyOf(blockClasses, newLength);
+         degrees = Arrays.copyOf(degrees, newLength);
+         neighborIndexes = Arrays.copyOf(neighborIndexes, newLength);
+      } // end if
+      labels[index] = vertexLabel;
+      blocks[index] = OffHeapEdgeArena.NO_BLOCK;
+      degrees[index] = 0;
+      indices.add(vertexLabel, index);
+      if (state != null)
+         state.ensureCapacity(labels.length);
+      return true;
+   } // end addVertex
+
+   public boolean addEdge(T begin, T end, double edgeWeight)
+   {
+      int beginIndex = getIndex(begin);
+      int endIndex = getIndex(end);
+      if ((beginIndex < 0) || (endIndex < 0) || (beginIndex == endIndex) ||
+          (findEdge(beginIndex, endIndex) >= 0))
+         return false;
+
+      int degree = degrees[beginIndex];
+      int blockClass = blockClasses[beginIndex];
+      long block = blocks[beginIndex];
+      if (block == OffHeapEdgeArena.NO_BLOCK)
+      {
+         blockClass = 0;
+         block = arena.allocate(blockClass);
+      }
+      else if (degree == OffHeapEdgeArena.getCapacity(blockClass))
+      {
+         if (blockClass == OffHeapEdgeArena.MAX_CLASS)
+            throw new IllegalStateException("Vertex " + begin + " cannot have more edges.");
+         long newBlock = arena.allocate(blockClass + 1);
+         arena.copy(block, blockClass, newBlock, blockClass + 1, degree);
+         arena.free(block, blockClass);
+         block = newBlock;
+         blockClass++;
+      } // end if
+      blocks[beginIndex] = block;
+      blockClasses[beginIndex] = (byte)blockClass;
+      ByteBuffer slab = arena.getSlab(block);
+      slab.putDouble(OffHeapEdgeArena.getOffset(block) + 8 * degree, edgeWeight);
+      slab.putInt(OffHeapEdgeArena.getTargetsOffset(block, blockClass) + 4 * degree, endIndex);
+      degrees[beginIndex] = degree + 1;
+      if (neighborIndexes[beginIndex] != null)
+         neighborIndexes[beginIndex].put(endIndex, degree);
+      else if (degree + 1 > NEIGHBOR_INDEX_THRESHOLD)
+         buildNeighborIndex(beginIndex);
+      edgeCount++;
+      return true;
+   } // end addEdge
+
+   public boolean addEdge(T begin, T end)
+   {
+      return addEdge(begin, end, 0);
+   } // end addEdge
+
+   public boolean removeEdge(T begin, T end)
+   {
+      int beginIndex = getIndex(begin);
+      int endIndex = getIndex(end);
+      if ((beginIndex < 0) || (endIndex < 0))
+         return false;
+      int position = findEdge(beginIndex, endIndex);
+      if (position < 0)
+         return false;
+      removeEdgeAt(beginIndex, position);
+      edgeCount--;
+      return true;
+   } // end removeEdge
+
+   /** Removes a given vertex and every edge that begins or ends at it, in
+       time proportional to the number of vertices. To keep
+       vertex indices dense, the vertex with the largest index takes the
+       removed vertex's index.
+       @param vertexLabel  An object that labels the vertex.
+       @return  True if the vertex is removed, or false if there was no
+                such vertex. */
+   public boolean removeVertex(T vertexLabel)
+   {
+      Integer removed = indices.remove(vertexLabel);
+      if (removed == null)
+         return false;
+      int hole = removed;
+      int lastIndex = numberOfVertices - 1;
+
+      // Drop edges into the removed vertex, then renumber edges into the
+      // last. When hole is the last index, the second search finds nothing.
+      for (int vertex = 0; vertex < numberOfVertices; vertex++)
+      {
+         if ((vertex == hole) || (degrees[vertex] == 0))
+            continue;
+         int position = findEdge(vertex, hole);
+         if (position >= 0)
+         {
+            removeEdgeAt(vertex, position);
+            edgeCount--;
+         } // end if
+         position = findEdge(vertex, lastIndex);
+         if (position >= 0)
+         {
+            long block = blocks[vertex];
+            arena.getSlab(block).putInt(OffHeapEdgeArena.getTargetsOffset(block, blockClasses[vertex]) + 4 * position, hole);
+            if (neighborIndexes[vertex] != null)
+               neighborIndexes[vertex].rename(lastIndex, hole);
+         } // end if
+      } // end for
+
+      edgeCount -= degrees[hole];
+      if (blocks[hole] != OffHeapEdgeArena.NO_BLOCK)
+         arena.free(blocks[hole], blockClasses[hole]);
+      if (hole != lastIndex)
+      {
+         labels[hole] = labels[lastIndex];
+         blocks[hole] = blocks[lastIndex];
+         blockClasses[hole] = blockClasses[lastIndex];
+         degrees[hole] = degrees[lastIndex];
+         neighborIndexes[hole] = neighborIndexes[lastIndex];
+         indices.add(labels[hole], hole);
+         if (state != null)
+            state.move(lastIndex, hole);
+      } // end if
+      labels[lastIndex] = null;
+      blocks[lastIndex] = OffHeapEdgeArena.NO_BLOCK;
+      degrees[lastIndex] = 0;
+      neighborIndexes[lastIndex] = null;
+      numberOfVertices--;
+      return true;
+   } // end removeVertex
+
+   public boolean hasEdge(T begin, T end)
+   {
+      int beginIndex = getIndex(begin);
+      int endIndex = getIndex(end);
+      return (beginIndex >= 0) && (endIndex >= 0) && (findEdge(beginIndex, endIndex) >= 0);
+   } // end hasEdge
+
+   public boolean isEmpty()
+   {
+      return numberOfVertices == 0;
+   } // end isEmpty
+
+   public int getNumberOfVertices()
+   {
+      return numberOfVertices;
+   } // end getNumberOfVertices
+
+   /** Gets the number of edges in this graph.
+       @return  The number of edges, or Integer.MAX_VALUE if there are
+                more; getEdgeCount gives the exact number. */
+   public int getNumberOfEdges()
+   {
+      return (int)Math.min(edgeCount, Integer.MAX_VALUE);
+   } // end getNumberOfEdges
+
+   /** Gets the number of edges in this graph, which may exceed the
+       largest int.
+       @return  The number of edges. */
+   public long getEdgeCount()
+   {
+      return edgeCount;
+   } // end getEdgeCount
+
+   public void clear()
+   {
+      indices.clear();
+      arena.clear();
+      initializeVertexArrays();
+   } // end clear
+
+   /** Gets the number of bytes of memory outside the Java heap that this
+       graph's edges take, including unused room in their blocks and
+       buffers.
+       @return  The off-heap footprint in bytes. */
+   public long getOffHeapBytes()
+   {
+      return arena.getAllocatedBytes();
+   } // end getOffHeapBytes
+
+   /** Gets a view of a vertex of this graph. Its neighbor and weight
+       iterators read this graph's edges, connect and disconnect add and
+       remove them, and its visit marks, predecessor and cost are kept by
+       this graph until clear is called.
+       @param vertexLabel  An object that labels a vertex.
+       @return  The vertex, or null if no vertex has the label. */
+   public VertexInterface<T> getVertex(T vertexLabel)
+   {
+      if (!indices.contains(vertexLabel))
+         return null;
+      if (state == null)
+         state = new VertexState(labels.length);
+      return new VertexView(vertexLabel);
+   } // end getVertex
+
+   public QueueInterface<T> getBreadthFirstTraversal(T origin)
+   {
+      int originIndex = getIndex(origin);
+      if (originIndex < 0)
+         return new ResizableArrayQueue<>();
+
+      TraversalContext context = beginQuery();
+      int count = IndexedSearches.breadthFirst(indexedEdges, originIndex, context);
+      return IndexedSearches.addLabels(indexedEdges, context.getVertexBuffer(), count,
+                                       new ResizableArrayQueue<>(count));
+   } // end getBreadthFirstTraversal
+
+   /** Performs a breadth-first traversal from a vertex index.
+       @param originIndex  The index of the origin vertex.
+       @return  The indices of the vertices in the traversal, beginning
+                with originIndex. */
+   public int[] getBreadthFirstOrder(int originIndex)
+   {
+      TraversalContext context = beginQuery();
+      return Arrays.copyOf(context.getVertexBuffer(), IndexedSearches.breadthFirst(indexedEdges, originIndex, context));
+   } // end getBreadthFirstOrder
+
+   public QueueInterface<T> getDepthFirstTraversal(T origin)
+   {
+      int originIndex = getIndex(origin);
+      if (originIndex < 0)
+         return new ResizableArrayQueue<>();
+
+      TraversalContext context = beginQuery();
+      int count = IndexedSearches.depthFirst(indexedEdges, originIndex, context);
+      return IndexedSearches.addLabels(indexedEdges, context.getVertexBuffer(), count,
+                                       new ResizableArrayQueue<>(count));
+   } // end getDepthFirstTraversal
+
+   /** Performs a depth-first traversal from a vertex index.
+       @param originIndex  The index of the origin vertex.
+       @return  The indices of the vertices in the traversal, beginning
+                with originIndex. */
+   public int[] getDepthFirstOrder(int originIndex)
+   {
+      TraversalContext context = beginQuery();
+      return Arrays.copyOf(context.getVertexBuffer(), IndexedSearches.depthFirst(indexedEdges, originIndex, context));
+   } // end getDepthFirstOrder
+
+   public StackInterface<T> getTopologicalOrder()
+   {
+      int[] order = IndexedSearches.topologicalOrder(indexedEdges, beginQuery());
+      StackInterface<T> topologicalOrder = new ResizableArrayStack<>(Math.max(order.length, 1));
+      for (int position = order.length - 1; position >= 0; position--)
+         topologicalOrder.push(labels[order[position]]);
+      return topologicalOrder;
+   } // end getTopologicalOrder
+
+   public int getShortestPath(T begin, T end, StackInterface<T> path)
+   {
+      int beginIndex = getIndex(begin);
+      int endIndex = getIndex(end);
+      if ((beginIndex < 0) || (endIndex < 0))
+         return -1;
+
+      TraversalContext context = beginQuery();
+      int pathLength = IndexedSearches.shortestPath(indexedEdges, beginIndex, endIndex, context);
+      if (pathLength >= 0)
+         IndexedSearches.pushPath(indexedEdges, endIndex, context, path);
+      return pathLength;
+   } // end getShortestPath
+
+   /** Finds the least-cost path between two given vertices by using
+       Dijkstra's algorithm. Edge weights must not be negative.
+       @param begin  An object that labels the path's origin vertex.
+       @param end    An object that labels the path's destination vertex.
+       @param path   A stack of labels that is empty initially; at the
+                     completion of the method, this stack contains the labels
+                     of the vertices along the cheapest path, with the label
+                     of the origin vertex at the top.
+       @return  The cost of the cheapest path, or Double.POSITIVE_INFINITY if
+                end cannot be reached from begin, in which case path is
+                unchanged. */
+   public double getCheapestPath(T begin, T end, StackInterface<T> path)
+   {
+      int beginIndex = getIndex(begin);
+      int endIndex = getIndex(end);
+      if ((beginIndex < 0) || (endIndex < 0))
+         return Double.POSITIVE_INFINITY;
+
+      TraversalContext context = beginQuery();
+      double cost = IndexedSearches.cheapestPath(indexedEdges, beginIndex, endIndex, null, context);
+      if (context.isSettled(endIndex))
+         IndexedSearches.pushPath(indexedEdges, endIndex, context, path);
+      return cost;
+   } // end getCheapestPath
+
+   private void initializeVertexArrays()
+   {
+      // The cast is safe because the new array contains null entries
+      @SuppressWarnings("unchecked")
+      T[] tempLabels = (T[])new Object[DEFAULT_CAPACITY];
+      labels = tempLabels;
+      blocks = new long[DEFAULT_CAPACITY];
+      blockClasses = new byte[DEFAULT_CAPACITY];
+      degrees = new int[DEFAULT_CAPACITY];
+      neighborIndexes = new NeighborIndex[DEFAULT_CAPACITY];
+      numberOfVertices = 0;
+      edgeCount = 0;
+      state = null;
+   } // end initializeVertexArrays
+
+   // Starts a query with a context of its own. Unlike Graph, this class
+   // keeps no context between queries, which would hold several arrays
+   // as long as the vertex count on the heap of every querying thread.
+   private TraversalContext beginQuery()
+   {
+      TraversalContext context = new TraversalContext(numberOfVertices);
+      context.begin(numberOfVertices);
+      return context;
+   } // end beginQuery
+
+   private int getIndex(T vertexLabel)
+   {
+      Integer index = indices.getValue(vertexLabel);
+      return (index == null) ? -1 : index;
+   } // end getIndex
+
+   private int getTarget(int vertex, int position)
+   {
+      long block = blocks[vertex];
+      return arena.getSlab(block).getInt(OffHeapEdgeArena.getTargetsOffset(block, blockClasses[vertex]) + 4 * position);
+   } // end getTarget
+
+   private double getWeight(int vertex, int position)
+   {
+      long block = blocks[vertex];
+      return arena.getSlab(block).getDouble(OffHeapEdgeArena.getOffset(block) + 8 * position);
+   } // end getWeight
+
+   // Returns the position of the edge from begin to end among begin's
+   // edges, or -1 if there is no such edge
+   private int findEdge(int begin, int end)
+   {
+      NeighborIndex index = neighborIndexes[begin];
+      if (index != null)
+         return index.get(end);
+      int degree = degrees[begin];
+      if (degree == 0)
+         return -1;
+      long block = blocks[begin];
+      ByteBuffer slab = arena.getSlab(block);
+      int targetsOffset = OffHeapEdgeArena.getTargetsOffset(block, blockClasses[begin]);
+      for (int position = 0; position < degree; position++)
+      {
+         if (slab.getInt(targetsOffset + 4 * position) == end)
+            return position;
+      } // end for
+      return -1;
+   } // end findEdge
+
+   // Removes an edge of a vertex by moving the vertex's last edge into its place
+   private void removeEdgeAt(int vertex, int position)
+   {
+      int last = --degrees[vertex];
+      long block = blocks[vertex];
+      ByteBuffer slab = arena.getSlab(block);
+      int weightsOffset = OffHeapEdgeArena.getOffset(block);
+      int targetsOffset = OffHeapEdgeArena.getTargetsOffset(block, blockClasses[vertex]);
+      NeighborIndex index = neighborIndexes[vertex];
+      if (index != null)
+         index.remove(slab.getInt(targetsOffset + 4 * position));
+      if (position != last)
+      {
+         int movedTarget = slab.getInt(targetsOffset + 4 * last);
+         slab.putDouble(weightsOffset + 8 * position, slab.getDouble(weightsOffset + 8 * last));
+         slab.putInt(targetsOffset + 4 * position, movedTarget);
+         if (index != null)
+            index.put(movedTarget, position);
+      } // end if
+   } // end removeEdgeAt
+
+   private void buildNeighborIndex(int vertex)
+   {
+      NeighborIndex index = new NeighborIndex(2 * degrees[vertex]);
+      for (int position = 0; position < degrees[vertex]; position++)
+         index.put(getTarget(vertex, position), position);
+      neighborIndexes[vertex] = index;
+   } // end buildNeighborIndex
+
+   private final class IndexedView implements IndexedEdges<T>
+   {
+      public int getNumberOfVertices()
+      {
+         return numberOfVertices;
+      } // end getNumberOfVertices
+
+      public T getLabel(int vertex)
+      {
+         return labels[vertex];
+      } // end getLabel
+
+      public IndexedEdges.Cursor newCursor()
+      {
+         return new EdgeCursor();
+      } // end newCursor
+   } // end IndexedView
+
+   // Walks the weights and end vertices in a vertex's block
+   private final class EdgeCursor implements IndexedEdges.Cursor
+   {
+      private ByteBuffer slab;
+      private int weightsOffset;
+      private int targetsOffset;
+      private int position;
+      private int degree;
+
+      public void moveTo(int vertex)
+      {
+         position = -1;
+         degree = degrees[vertex];
+         if (degree > 0)
+         {
+            long block = blocks[vertex];
+            slab = arena.getSlab(block);
+            weightsOffset = OffHeapEdgeArena.getOffset(block);
+            targetsOffset = OffHeapEdgeArena.getTargetsOffset(block, blockClasses[vertex]);
+         } // end if
+      } // end moveTo
+
+      public boolean next()
+      {
+         return ++position < degree;
+      } // end next
+
+      public int getTarget()
+      {
+         return slab.getInt(targetsOffset + 4 * position);
+      } // end getTarget
+
+      public double getWeight()
+      {
+         return slab.getDouble(weightsOffset + 8 * position);
+      } // end getWeight
+   } // end EdgeCursor
+
+   // The visit marks, predecessors and costs that vertex views record, by
+   // vertex index
+   private final class VertexState
+   {
+      private boolean[] visited;
+      private Object[] predecessors;  // Labels, or null
+      private double[] costs;
+
+      private VertexState(int capacity)
+      {
+         visited = new boolean[capacity];
+         predecessors = new Object[capacity];
+         costs = new double[capacity];
+      } // end constructor
+
+      private void ensureCapacity(int capacity)
+      {
+         if (capacity > visited.length)
+         {
+            visited = Arrays.copyOf(visited, capacity);
+            predecessors = Arrays.copyOf(predecessors, capacity);
+            costs = Arrays.copyOf(costs, capacity);
+         } // end if
+      } // end ensureCapacity
+
+      private void move(int from, int to)
+      {
+         visited[to] = visited[from];
+         predecessors[to] = predecessors[from];
+         costs[to] = costs[from];
+         visited[from] = false;
+         predecessors[from] = null;
+         costs[from] = 0;
+      } // end move
+   } // end VertexState
+
+   // A vertex of this graph, named by its label so that it survives the
+   // renumbering that removeVertex causes
+   private final class VertexView implements VertexInterface<T>
+   {
+      private final T label;
+
+      private VertexView(T vertexLabel)
+      {
+         label = vertexLabel;
+      } // end constructor
+
+      public T getLabel()
+      {
+         return label;
+      } // end getLabel
+
+      public void visit()
+      {
+         state.visited[index()] = true;
+      } // end visit
+
+      public void unvisit()
+      {
+         state.visited[index()] = false;
+      } // end unvisit
+
+      public boolean isVisited()
+      {
+         return state.visited[index()];
+      } // end isVisited
+
+      public boolean connect(VertexInterface<T> endVertex, double edgeWeight)
+      {
+         return addEdge(label, endVertex.getLabel(), edgeWeight);
+      } // end connect
+
+      public boolean connect(VertexInterface<T> endVertex)
+      {
+         return connect(endVertex, 0);
+      } // end connect
+
+      public boolean disconnect(VertexInterface<T> endVertex)
+      {
+         return removeEdge(label, endVertex.getLabel());
+      } // end disconnect
+
+      public Iterator<VertexInterface<T>> getNeighborIterator()
+      {
+         return new Iterator<VertexInterface<T>>()
+         {
+            private final int vertex = index();
+            private int position = 0;
+
+            public boolean hasNext()
+            {
+               return position < degrees[vertex];
+            } // end hasNext
+
+            public VertexInterface<T> next()
+            {
+               if (!hasNext())
+                  throw new NoSuchElementException();
+               return new VertexView(labels[getTarget(vertex, position++)]);
+            } // end next
+         }; // end Iterator
+      } // end getNeighborIterator
+
+      public Iterator<Double> getWeightIterator()
+      {
+         return new Iterator<Double>()
+         {
+            private final int vertex = index();
+            private int position = 0;
+
+            public boolean hasNext()
+            {
+               return position < degrees[vertex];
+            } // end hasNext
+
+            public Double next()
+            {
+               if (!hasNext())
+                  throw new NoSuchElementException();
+               return getWeight(vertex, position++);
+            } // end next
+         }; // end Iterator
+      } // end getWeightIterator
+
+      public boolean hasNeighbor()
+      {
+         return degrees[index()] > 0;
+      } // end hasNeighbor
+
+      public boolean hasNeighbor(VertexInterface<T> otherVertex)
+      {
+         return hasEdge(label, otherVertex.getLabel());
+      } // end hasNeighbor
+
+      public VertexInterface<T> getUnvisitedNeighbor()
+      {
+         int vertex = index();
+         for (int position = 0; position < degrees[vertex]; position++)
+         {
+            int neighbor = getTarget(vertex, position);
+            if (!state.visited[neighbor])
+               return new VertexView(labels[neighbor]);
+         } // end for
+         return null;
+      } // end getUnvisitedNeighbor
+
+      public void setPredecessor(VertexInterface<T> predecessor)
+      {
+         state.predecessors[index()] = (predecessor == null) ? null : predecessor.getLabel();
+      } // end setPredecessor
+
+      public VertexInterface<T> getPredecessor()
+      {
+         @SuppressWarnings("unchecked")
+         T predecessor = (T)state.predecessors[index()];
+         return ((predecessor == null) || !indices.contains(predecessor)) ? null : new VertexView(predecessor);
+      } // end getPredecessor
+
+      public boolean hasPredecessor()
+      {
+         return getPredecessor() != null;
+      } // end hasPredecessor
+
+      public void setCost(double newCost)
+      {
+         state.costs[index()] = newCost;
+      } // end setCost
+
+      public double getCost()
+      {
+         return state.costs[index()];
+      } // end getCost
+
+      public boolean equals(Object other)
+      {
+         if (!(other instanceof OffHeapGraph<?>.VertexView))
+            return false;
+         OffHeapGraph<?>.VertexView otherView = (OffHeapGraph<?>.VertexView)other;
+         return (otherView.getGraph() == OffHeapGraph.this) && label.equals(otherView.label);
+      } // end equals
+
+      public int hashCode()
+      {
+         return label.hashCode();
+      } // end hashCode
+
+      private OffHeapGraph<T> getGraph()
+      {
+         return OffHeapGraph.this;
+      } // end getGraph
+
+      private int index()
+      {
+         int index = getIndex(label);
+         if (index < 0)
+            throw new IllegalStateException("Vertex " + label + " has been removed.");
+         if (state == null)
+            state = new VertexState(labels.length);
+         return index;
+      } // end index
+   } // end VertexView
+} // end OffHeapGraph
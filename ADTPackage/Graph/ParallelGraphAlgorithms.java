@@ -0,0 +1,288 @@
+package ADTPackage.Graph;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+/**
+   A class of graph algorithms that spread their work over the threads of
+   a ForkJoinPool. They run on a CsrGraph, which never changes and so can
+   be read by many threads at once.
+*/
+public final class ParallelGraphAlgorithms
+{
+   private final ForkJoinPool pool;
+   private static final int VERTICES_PER_CHUNK = 256; // Smallest unit of work
+
+   /** Creates an instance that runs on the common ForkJoinPool. */
+   public ParallelGraphAlgorithms()
+   {
+      this(ForkJoinPool.commonPool());
+   } // end default constructor
+
+   /** Creates an instance that runs on a given pool.
+       @param forkJoinPool  The pool whose threads do the work. */
+   public ParallelGraphAlgorithms(ForkJoinPool forkJoinPool)
+   {
+      pool = forkJoinPool;
+   } // end constructor
+
+   /** Performs a level-synchronous breadth-first search of a graph.
+       @param graph  The graph to search.
+       @param origin  An object that labels the origin vertex.
+       @param deterministic  True to reach vertices in exactly the order of
+                             CsrGraph.getBreadthFirstOrder.
+       @return  The order and levels of the reached vertices, or null if no
+                vertex has the label origin. */
+   public <T> BreadthFirstResult breadthFirstSearch(CsrGraph<T> graph, T origin, boolean deterministic)
+   {
+      int originIndex = graph.getIndex(origin);
+      return (originIndex < 0) ? null : breadthFirstSearch(graph, originIndex, deterministic);
+   } // end breadthFirstSearch
+
+   /** Performs a level-synchronous breadth-first search of a graph. Each
+       level's frontier is split into chunks that threads expand at the same
+       time.
+
+       Normally a thread claims a vertex by atomically setting its bit in a
+       visited bitmap, so which parent reaches a vertex first depends on
+       timing. The result is still a valid breadth-first order with correct
+       levels. In deterministic mode each vertex is instead given to the
+       earliest frontier vertex that has an edge to it, which is the parent
+       the sequential search would choose. The vertices then come out in the
+       same order as the sequential search, at the cost of a second pass
+       over the frontier's edges.
+       @param graph  The graph to search.
+       @param originIndex  The index of the origin vertex.
+       @param deterministic  True to reach vertices in exactly the order of
+                             CsrGraph.getBreadthFirstOrder.
+       @return  The order and levels of the reached vertices. */
+   public BreadthFirstResult breadthFirstSearch(CsrGraph<?> graph, int originIndex, boolean deterministic)
+   {
+      int numberOfVertices = graph.getNumberOfVertices();
+      if ((originIndex < 0) || (originIndex >= numberOfVertices))
+         throw new IllegalArgumentException("No vertex has index " + originIndex + ".");
+
+      LevelSearch search = new LevelSearch(graph, deterministic);
+      int[] order = search.order;
+      int[] levels = search.levels;
+      search.claim(originIndex);
+      levels[originIndex] = 0;
+      order[0] = originIndex;
+
+      int levelStart = 0;
+      int levelEnd = 1;
+      int level = 0;
+      while (levelStart < levelEnd)
+      {
+         int tail = search.expand(levelStart, levelEnd, level);
+         levelStart = levelEnd;
+         levelEnd = tail;
+         level++;
+      } // end while
+
+      return new BreadthFirstResult(Arrays.copyOf(order, levelEnd), levels, level);
+   } // end breadthFirstSearch
+
+   // The state of one breadth-first search. order holds the reached
+   // vertices level by level, and each level is expanded by chunk tasks
+   // that write into chunk-local buffers.
+   private final class LevelSearch
+   {
+      private final int[] offsets;
+      private final int[] targets;
+      private final boolean deterministic;
+      private final int[] order;
+      private final int[] levels;
+      private final AtomicLongArray visited;       // One bit per vertex
+      private final AtomicIntegerArray discoverer; // Earliest frontier position
+                                                   // with an edge to each vertex
+      private int[][] chunkBuffers;
+      private int[] chunkSizes;
+
+      private LevelSearch(CsrGraph<?> graph, boolean deterministicOrder)
+      {
+         offsets = graph.getOffsets();
+         targets = graph.getTargets();
+         deterministic = deterministicOrder;
+         int numberOfVertices = graph.getNumberOfVertices();
+         order = new int[numberOfVertices];
+         levels = new int[numberOfVertices];
+         Arrays.fill(levels, -1);
+         visited = new AtomicLongArray((numberOfVertices + 63) >>> 6);
+         if (deterministic)
+         {
+            int[] noParent = new int[numberOfVertices];
+            Arrays.fill(noParent, Integer.MAX_VALUE);
+            discoverer = new AtomicIntegerArray(noParent);
+         }
+         else
+            discoverer = null;
+      } // end constructor
+
+      // Expands the frontier order[levelStart..frontierEnd - 1], appends
+      // the next level to order, and returns the new end of order
+      private int expand(int levelStart, int frontierEnd, int level)
+      {
+         int frontierSize = frontierEnd - levelStart;
+         int numberOfChunks = (frontierSize + VERTICES_PER_CHUNK - 1) / VERTICES_PER_CHUNK;
+         chunkBuffers = new int[numberOfChunks][];
+         chunkSizes = new int[numberOfChunks];
+
+         if (deterministic)
+         {
+            // Phase 1 records each candidate's earliest parent; phase 2 emits
+            // a candidate only from that parent, in edge order
+            run(new ChunkAction(levelStart, frontierEnd, 0, numberOfChunks, level, true));
+            run(new ChunkAction(levelStart, frontierEnd, 0, numberOfChunks, level, false));
+         }
+         else
+            run(new ChunkAction(levelStart, frontierEnd, 0, numberOfChunks, level, false));
+
+         // Concatenate the chunks in frontier order
+         int tail = frontierEnd;
+         for (int chunk = 0; chunk < numberOfChunks; chunk++)
+         {
+            System.arraycopy(chunkBuffers[chunk], 0, order, tail, chunkSizes[chunk]);
+            tail += chunkSizes[chunk];
+         } // end for
+         chunkBuffers = null;
+         if (deterministic)
+            markLevel(frontierEnd, tail);
+         return tail;
+      } // end expand
+
+      private void run(ChunkAction action)
+      {
+         if (action.lastChunk - action.firstChunk == 1)
+            action.compute(); // Too little work to hand to the pool
+         else
+            pool.invoke(action);
+      } // end run
+
+      // Atomically sets the visited bit of vertex; returns true if this
+      // call set it
+      private boolean claim(int vertex)
+      {
+         int word = vertex >>> 6;
+         long bit = 1L << vertex;
+         long current = visited.get(word);
+         while ((current & bit) == 0)
+         {
+            if (visited.compareAndSet(word, current, current | bit))
+               return true;
+            current = visited.get(word);
+         } // end while
+         return false;
+      } // end claim
+
+      private boolean isVisited(int vertex)
+      {
+         return (visited.get(vertex >>> 6) & (1L << vertex)) != 0;
+      } // end isVisited
+
+      // Lowers discoverer[vertex] to position if position is smaller
+      private void offerParent(int vertex, int position)
+      {
+         int current = discoverer.get(vertex);
+         while (position < current)
+         {
+            if (discoverer.compareAndSet(vertex, current, position))
+               return;
+            current = discoverer.get(vertex);
+         } // end while
+      } // end offerParent
+
+      // Processes one chunk of the frontier: frontier positions
+      // first through last - 1, which form chunk number chunk
+      private void expandChunk(int chunk, int first, int last, int level, boolean findParents)
+      {
+         if (findParents)
+         {
+            for (int position = first; position < last; position++)
+            {
+               int frontVertex = order[position];
+               for (int edge = offsets[frontVertex]; edge < offsets[frontVertex + 1]; edge++)
+               {
+                  int neighbor = targets[edge];
+                  if (!isVisited(neighbor))
+                     offerParent(neighbor, position);
+               } // end for
+            } // end for
+            return;
+         } // end if
+
+         int[] buffer = new int[Math.min(64, order.length)];
+         int size = 0;
+         for (int position = first; position < last; position++)
+         {
+            int frontVertex = order[position];
+            for (int edge = offsets[frontVertex]; edge < offsets[frontVertex + 1]; edge++)
+            {
+               int neighbor = targets[edge];
+               boolean reached = deterministic
+                               ? !isVisited(neighbor) && (discoverer.get(neighbor) == position)
+                               : claim(neighbor);
+               if (reached)
+               {
+                  levels[neighbor] = level + 1;
+                  if (size == buffer.length)
+                     buffer = Arrays.copyOf(buffer, 2 * size);
+                  buffer[size++] = neighbor;
+               } // end if
+            } // end for
+         } // end for
+         chunkBuffers[chunk] = buffer;
+         chunkSizes[chunk] = size;
+      } // end expandChunk
+
+      // In deterministic mode, marks the vertices emitted in phase 2 as
+      // visited; they are the new entries of order, so this runs after the
+      // chunks are joined. Phase 2 must not mark them itself, since another
+      // chunk may still be testing the same vertex.
+      private void markLevel(int from, int to)
+      {
+         for (int position = from; position < to; position++)
+            claim(order[position]);
+      } // end markLevel
+
+      // Splits a range of chunks in half until one chunk remains
+      private final class ChunkAction extends RecursiveAction
+      {
+         private static final long serialVersionUID = 1L;
+         private final int levelStart;
+         private final int frontierEnd;
+         private final int firstChunk;
+         private final int lastChunk;
+         private final int level;
+         private final boolean findParents;
+
+         private ChunkAction(int levelStart, int frontierEnd, int firstChunk, int lastChunk,
+                             int level, boolean findParents)
+         {
+            this.levelStart = levelStart;
+            this.frontierEnd = frontierEnd;
+            this.firstChunk = firstChunk;
+            this.lastChunk = lastChunk;
+            this.level = level;
+            this.findParents = findParents;
+         } // end constructor
+
+         protected void compute()
+         {
+            if (lastChunk - firstChunk == 1)
+            {
+               int first = levelStart + firstChunk * VERTICES_PER_CHUNK;
+               int last = Math.min(first + VERTICES_PER_CHUNK, frontierEnd);
+               expandChunk(firstChunk, first, last, level, findParents);
+            }
+            else
+            {
+               int middleChunk = (firstChunk + lastChunk) >>> 1;
+               invokeAll(new ChunkAction(levelStart, frontierEnd, firstChunk, middleChunk, level, findParents),
+                         new ChunkAction(levelStart, frontierEnd, middleChunk, lastChunk, level, findParents));
+            } // end if
+         } // end compute
+      } // end ChunkAction
+   } // end LevelSearch
+} // end ParallelGraphAlgorithms
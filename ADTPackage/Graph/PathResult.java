@@ -0,0 +1,59 @@
+package ADTPackage.Graph;
+import ADTPackage.Stack.*;
+/**
+   The answer to one shortest-path query: the two labels, the length of
+   the path, and the path itself as a stack of labels with the origin on
+   top, as filled in by GraphAlgorithmsInterface.getShortestPath.
+*/
+public final class PathResult<T>
+{
+   private final T begin;
+   private final T end;
+   private final int length;
+   private final StackInterface<T> path;
+
+   PathResult(T beginLabel, T endLabel, int pathLength, StackInterface<T> pathLabels)
+   {
+      begin = beginLabel;
+      end = endLabel;
+      length = pathLength;
+      path = pathLabels;
+   } // end constructor
+
+   /** Gets the label of the path's origin vertex.
+       @return  The begin label of the query. */
+   public T getBegin()
+   {
+      return begin;
+   } // end getBegin
+
+   /** Gets the label of the path's destination vertex.
+       @return  The end label of the query. */
+   public T getEnd()
+   {
+      return end;
+   } // end getEnd
+
+   /** Gets the number of edges on the shortest path.
+       @return  The length of the path, or -1 if there is no path. */
+   public int getLength()
+   {
+      return length;
+   } // end getLength
+
+   /** Sees whether the destination can be reached from the origin.
+       @return  True if a path exists. */
+   public boolean hasPath()
+   {
+      return length >= 0;
+   } // end hasPath
+
+   /** Gets the labels along the path, with the origin's label on top and
+       the destination's label at the bottom. The stack is empty if there
+       is no path.
+       @return  The stack of labels along the path. */
+   public StackInterface<T> getPath()
+   {
+      return path;
+   } // end getPath
+} // end PathResult
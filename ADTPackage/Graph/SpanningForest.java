@@ -0,0 +1,96 @@
+package ADTPackage.Graph;
+/**
+   A minimum spanning forest of a CsrGraph, stored as a compact list of
+   edges in three parallel arrays. Edge i joins the vertices with indices
+   getBegin(i) and getEnd(i) of the graph the forest was computed from.
+*/
+public final class SpanningForest<T>
+{
+   private final CsrGraph<T> graph;
+   private final int[] begins;
+   private final int[] ends;
+   private final double[] weights;
+   private final int numberOfEdges;
+   private final double totalWeight;
+
+   SpanningForest(CsrGraph<T> sourceGraph, int[] edgeBegins, int[] edgeEnds, double[] edgeWeights,
+                  int edgeCount)
+   {
+      graph = sourceGraph;
+      begins = edgeBegins;
+      ends = edgeEnds;
+      weights = edgeWeights;
+      numberOfEdges = edgeCount;
+      double sum = 0;
+      for (int edge = 0; edge < edgeCount; edge++)
+         sum += edgeWeights[edge];
+      totalWeight = sum;
+   } // end constructor
+
+   /** Gets the number of edges in this forest, which is the number of
+       vertices minus the number of trees.
+       @return  The number of edges. */
+   public int getNumberOfEdges()
+   {
+      return numberOfEdges;
+   } // end getNumberOfEdges
+
+   /** Gets the sum of the weights of the edges in this forest.
+       @return  The total weight. */
+   public double getTotalWeight()
+   {
+      return totalWeight;
+   } // end getTotalWeight
+
+   /** Gets the index of the vertex where an edge of the graph began.
+       @param edge  A number from 0 through getNumberOfEdges() - 1.
+       @return  The index of the edge's first vertex. */
+   public int getBegin(int edge)
+   {
+      checkEdge(edge);
+      return begins[edge];
+   } // end getBegin
+
+   /** Gets the index of the vertex where an edge of the graph ended.
+       @param edge  A number from 0 through getNumberOfEdges() - 1.
+       @return  The index of the edge's second vertex. */
+   public int getEnd(int edge)
+   {
+      checkEdge(edge);
+      return ends[edge];
+   } // end getEnd
+
+   /** Gets the weight of an edge.
+       @param edge  A number from 0 through getNumberOfEdges() - 1.
+       @return  The weight of the edge. */
+   public double getWeight(int edge)
+   {
+      checkEdge(edge);
+      return weights[edge];
+   } // end getWeight
+
+   /** Creates a Graph with every vertex of the original graph and the
+       edges of this forest. Since a spanning forest is undirected, each
+       edge is added in both directions.
+       @return  A new graph that holds this forest. */
+   public Graph<T> toGraph()
+   {
+      Graph<T> forest = new Graph<>();
+      for (int vertex = 0; vertex < graph.getNumberOfVertices(); vertex++)
+         forest.addVertex(graph.getLabel(vertex));
+      for (int edge = 0; edge < numberOfEdges; edge++)
+      {
+         T begin = graph.getLabel(begins[edge]);
+         T end = graph.getLabel(ends[edge]);
+         forest.addEdge(begin, end, weights[edge]);
+         forest.addEdge(end, begin, weights[edge]);
+      } // end for
+      return forest;
+   } // end toGraph
+
+   private void checkEdge(int edge)
+   {
+      if ((edge < 0) || (edge >= numberOfEdges))
+         throw new IndexOutOfBoundsException("Edge " + edge + " is outside 0 to " + (numberOfEdges - 1) + ".");
+   } // end checkEdge
+} // end SpanningForest
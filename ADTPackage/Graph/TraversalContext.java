@@ -0,0 +1,215 @@
+package ADTPackage.Graph;
+import java.util.Arrays;
+import ADTPackage.PriorityQueue.*;
+/**
+   The working state of one graph query, kept in arrays indexed by vertex
+   index instead of in the vertices themselves.
+
+   Instead of clearing its arrays before each query, a context starts a new
+   generation: a vertex counts as reached only if its stamp equals the
+   current generation. Starting a query is therefore O(1) rather than O(V),
+   and a query that touches k vertices does O(k) work. Each thread uses its
+   own context, so several threads can query one unchanging graph at once.
+
+   Only the stamps of reached vertices and the vertex buffer are made up
+   front. The other arrays are made the first time a query needs them, so
+   a context made for a single traversal of a large graph stays small.
+*/
+final class TraversalContext
+{
+   private int generation;
+   private int[] reachedStamps;  // generation in which each vertex was reached
+   private int[] settledStamps;  // generation in which each vertex was finalized
+   private int[] predecessors;   // Previous vertex on a path, or -1
+   private double[] costs;       // Cost or length of the path to each vertex
+   private int[] vertexBuffer;   // Frontier queue or depth-first path
+   private int[] backwardStamps; // generation in which a backward search reached each vertex
+   private int[] successors;     // Next vertex on a path to the target, or -1
+   private double[] backwardCosts;
+   private int[] backwardBuffer; // Frontier queue of a backward search
+   private IndexedDaryHeap priorityQueue;
+   private IndexedEdges.Cursor[] cursors; // Edge cursors of a depth-first path
+   private IndexedEdges<?> cursorSource; // The graph that made the cursors
+   private int expandedCount;    // Vertices removed from the frontier
+   private static final int DEFAULT_CAPACITY = 16;
+
+   TraversalContext()
+   {
+      this(DEFAULT_CAPACITY);
+   } // end default constructor
+
+   /** Creates a context for a graph whose vertex indices are all less
+       than capacity. */
+   TraversalContext(int capacity)
+   {
+      generation = 0;
+      allocate(Math.max(capacity, 1));
+   } // end constructor
+
+   /** Starts a new query on a graph whose vertex indices are all less
+       than capacity. Every vertex becomes unreached. */
+   void begin(int capacity)
+   {
+      if (capacity > reachedStamps.length)
+         allocate(Math.max(capacity, 2 * reachedStamps.length));
+      if (generation == Integer.MAX_VALUE)
+      {
+         // Stamps from 2^31 queries ago would look current; start over
+         Arrays.fill(reachedStamps, 0);
+         if (settledStamps != null)
+            Arrays.fill(settledStamps, 0);
+         if (backwardStamps != null)
+            Arrays.fill(backwardStamps, 0);
+         generation = 0;
+      } // end if
+      generation++;
+      expandedCount = 0;
+   } // end begin
+
+   boolean isReached(int vertex)
+   {
+      return reachedStamps[vertex] == generation;
+   } // end isReached
+
+   /** Marks a vertex as reached without recording a path to it. */
+   void visit(int vertex)
+   {
+      reachedStamps[vertex] = generation;
+   } // end visit
+
+   /** Marks a vertex as reached and records how it was reached. */
+   void reach(int vertex, double cost, int predecessor)
+   {
+      if (costs == null)
+      {
+         costs = new double[reachedStamps.length];
+         predecessors = new int[reachedStamps.length];
+      } // end if
+      reachedStamps[vertex] = generation;
+      costs[vertex] = cost;
+      predecessors[vertex] = predecessor;
+   } // end reach
+
+   boolean isSettled(int vertex)
+   {
+      return (settledStamps != null) && (settledStamps[vertex] == generation);
+   } // end isSettled
+
+   void settle(int vertex)
+   {
+      if (settledStamps == null)
+         settledStamps = new int[reachedStamps.length];
+      settledStamps[vertex] = generation;
+      expandedCount++;
+   } // end settle
+
+   double getCost(int vertex)
+   {
+      return costs[vertex];
+   } // end getCost
+
+   int getPredecessor(int vertex)
+   {
+      return predecessors[vertex];
+   } // end getPredecessor
+
+   /** Tells whether a search that runs along incoming edges toward a
+       target has reached a vertex during the current query. */
+   boolean isReachedBackward(int vertex)
+   {
+      return (backwardStamps != null) && (backwardStamps[vertex] == generation);
+   } // end isReachedBackward
+
+   /** Marks a vertex as reached by a backward search and records the
+       next vertex on its path to the target. */
+   void reachBackward(int vertex, double cost, int successor)
+   {
+      if (backwardStamps == null)
+      {
+         backwardStamps = new int[reachedStamps.length];
+         backwardCosts = new double[reachedStamps.length];
+         successors = new int[reachedStamps.length];
+      } // end if
+      backwardStamps[vertex] = generation;
+      backwardCosts[vertex] = cost;
+      successors[vertex] = successor;
+   } // end reachBackward
+
+   double getBackwardCost(int vertex)
+   {
+      return backwardCosts[vertex];
+   } // end getBackwardCost
+
+   int getSuccessor(int vertex)
+   {
+      return successors[vertex];
+   } // end getSuccessor
+
+   /** Gets the number of vertices settled during the current query. */
+   int getExpandedCount()
+   {
+      return expandedCount;
+   } // end getExpandedCount
+
+   /** Gets an array with room for every vertex index, for use as a
+       breadth-first queue or a depth-first stack. */
+   int[] getVertexBuffer()
+   {
+      return vertexBuffer;
+   } // end getVertexBuffer
+
+   /** Gets a second array with room for every vertex index, for use as
+       the queue of a backward search. */
+   int[] getBackwardBuffer()
+   {
+      if (backwardBuffer == null)
+         backwardBuffer = new int[reachedStamps.length];
+      return backwardBuffer;
+   } // end getBackwardBuffer
+
+   /** Gets an empty priority queue that accepts every vertex index. */
+   IndexedDaryHeap getPriorityQueue()
+   {
+      if (priorityQueue == null)
+         priorityQueue = new IndexedDaryHeap(reachedStamps.length);
+      priorityQueue.ensureCapacity(reachedStamps.length);
+      priorityQueue.clear();
+      return priorityQueue;
+   } // end getPriorityQueue
+
+   /** Gets the edge cursor of one level of a search, made by a given graph
+       the first time the level is used and reused after that. A context
+       serves one graph at a time; cursors of another graph are dropped. */
+   IndexedEdges.Cursor getCursor(int level, IndexedEdges<?> graph)
+   {
+      if (cursorSource != graph)
+      {
+         cursors = new IndexedEdges.Cursor[reachedStamps.length];
+         cursorSource = graph;
+      } // end if
+      IndexedEdges.Cursor cursor = cursors[level];
+      if (cursor == null)
+      {
+         cursor = graph.newCursor();
+         cursors[level] = cursor;
+      } // end if
+      return cursor;
+   } // end getCursor
+
+   // Makes the arrays every query uses and drops the others, which are
+   // made again at the new capacity when a query needs them
+   private void allocate(int capacity)
+   {
+      reachedStamps = new int[capacity];
+      vertexBuffer = new int[capacity];
+      settledStamps = null;
+      predecessors = null;
+      costs = null;
+      backwardStamps = null;
+      successors = null;
+      backwardCosts = null;
+      backwardBuffer = null;
+      cursors = null;
+      cursorSource = null;
+   } // end allocate
+} // end TraversalContext
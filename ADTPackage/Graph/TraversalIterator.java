@@ -0,0 +1,17 @@
+package ADTPackage.Graph;
+import java.util.Iterator;
+/**
+   An iterator over the labels of a graph traversal that finds vertices
+   only as they are requested, so a caller that stops early does not pay
+   for the rest of the traversal. It also reports how far each returned
+   vertex is from the origin.
+*/
+public interface TraversalIterator<T> extends Iterator<T>
+{
+   /** Gets the depth of the vertex most recently returned by next(). In a
+       breadth-first traversal this is the vertex's distance in edges from
+       the origin; in a depth-first traversal it is its depth in the
+       depth-first search tree.
+       @return  The depth, or -1 if next() has not been called. */
+   public int getDepth();
+} // end TraversalIterator
@@ -1,7 +1,7 @@
 package ADTPackage.Graph;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
-import ADTPackage.List.*; // Classes that implement various ADTs
+import ADTPackage.Dictionary.*;
 /**
  A class of vertices for a graph.
  @author Frank M. Carrano
@@ -11,20 +11,85 @@ import ADTPackage.List.*; // Classes that implement various ADTs
 class Vertex<T> implements VertexInterface<T>
 {
    private T label;
-   private ListWithIteratorInterface<Edge> edgeList; // Edges to neighbors
+   private EdgeList edgeList;                        // Edges to neighbors
+   private EdgeList inEdgeList;                      // Edges from vertices that
+                                                     // have this one as a neighbor
    private boolean visited;                          // True if visited
    private VertexInterface<T> previousVertex;        // On path to this vertex
    private double cost;                              // Of path to this vertex
+   private int index;                                // Position in the owning graph
+   private DictionaryInterface<VertexInterface<T>, Edge> neighborEdges; // Null until
+                                                     // the vertex has many edges
+   private static final int NEIGHBOR_INDEX_THRESHOLD = 8;
    
    public Vertex(T vertexLabel)
+   {
+      this(vertexLabel, -1);
+   } // end constructor
+
+   Vertex(T vertexLabel, int vertexIndex)
    {
       label = vertexLabel;
-      edgeList = new LinkedListWithIterator<>();
+      edgeList = new EdgeList();
+      inEdgeList = new EdgeList();
       visited = false;
       previousVertex = null;
       cost = 0;
+      index = vertexIndex;
+      neighborEdges = null;
    } // end constructor
 
+   /** Gets the dense index the owning graph assigned to this vertex.
+       @return  The index, or -1 if the vertex does not belong to a graph. */
+   int getIndex() {
+      return index;
+   } //end getIndex
+
+   /** Changes the index of this vertex, when the owning graph moves it. */
+   void setIndex(int vertexIndex) {
+      index = vertexIndex;
+   } //end setIndex
+
+   /** Gets the number of edges that begin at this vertex.
+       @return  The out-degree of the vertex. */
+   int getOutDegree() {
+      return edgeList.getLength();
+   } //end getOutDegree
+
+   /** Creates an iterator of the edges that begin at this vertex.
+       @return  An iterator of this vertex's edges, in the order added. */
+   Iterator<Edge> getEdgeIterator() {
+      return edgeList.getIterator();
+   } //end getEdgeIterator
+
+   /** Gets the first edge that begins at this vertex, for walking the
+       edges without an iterator; Edge.getNextEdge gives the rest.
+       @return  The edge added first, or null if there are no edges. */
+   Edge getFirstEdge() {
+      return edgeList.firstEdge;
+   } //end getFirstEdge
+
+   /** Gets the number of edges that end at this vertex.
+       @return  The in-degree of the vertex. */
+   int getInDegree() {
+      return inEdgeList.getLength();
+   } //end getInDegree
+
+   // Records the reverse of an edge that beginVertex just added and
+   // returns the record
+   private Edge addIncomingEdge(VertexInterface<T> beginVertex, double edgeWeight) {
+      Edge incomingEdge = new Edge(beginVertex, edgeWeight);
+      inEdgeList.add(incomingEdge);
+      return incomingEdge;
+   } //end addIncomingEdge
+
+   /** Creates an iterator of the edges that end at this vertex. The
+       "end vertex" of each such edge is the vertex where it begins.
+       @return  An iterator of this vertex's incoming edges. */
+   Iterator<Edge> getIncomingEdgeIterator() {
+      return inEdgeList.getIterator();
+   } //end getIncomingEdgeIterator
+
    public T getLabel() {
       return label;
    } //end getLabel
@@ -46,19 +111,19 @@ class Vertex<T> implements VertexInterface<T>
 
       if (!this.equals(endVertex))
        {  // Vertices are distinct
-          Iterator<VertexInterface<T>> neighbors = getNeighborIterator();
-          boolean duplicateEdge = false;
-    
-          while (!duplicateEdge && neighbors.hasNext())
+          if (!hasNeighbor(endVertex))
           {
-             VertexInterface<T> nextNeighbor = neighbors.next();
-             if (endVertex.equals(nextNeighbor))
-                duplicateEdge = true;
-          } // end while
-    
-          if (!duplicateEdge)
-          {
-             edgeList.add(new Edge(endVertex, edgeWeight));
+             Edge newEdge = new Edge(endVertex, edgeWeight);
+             edgeList.add(newEdge);
+             if (endVertex instanceof Vertex)
+             {
+                newEdge.twin = ((Vertex<T>)endVertex).addIncomingEdge(this, edgeWeight);
+                newEdge.twin.twin = newEdge;
+             } // end if
+             if (neighborEdges != null)
+                neighborEdges.add(endVertex, newEdge);
+             else if (edgeList.getLength() > NEIGHBOR_INDEX_THRESHOLD)
+                buildNeighborIndex();
              result = true;
           } // end if
        } // end if
@@ -71,16 +136,95 @@ class Vertex<T> implements VertexInterface<T>
        return connect(endVertex, 0);
     } // end connect
 
+    public boolean disconnect(VertexInterface<T> endVertex)
+    {
+       Edge edge = (neighborEdges != null) ? neighborEdges.remove(endVertex) : findEdge(endVertex);
+       if (edge == null)
+          return false;
+       edgeList.remove(edge);
+       if (edge.twin != null)
+          ((Vertex<T>)endVertex).inEdgeList.remove(edge.twin);
+       return true;
+    } // end disconnect
+
+    /** Removes every edge that begins or ends at this vertex. Each edge is
+        unlinked from the other vertex's list through its twin record, so
+        the cost is proportional to this vertex's degree.
+        @return  The number of edges removed. */
+    int disconnectAll()
+    {
+       int removedCount = edgeList.getLength() + inEdgeList.getLength();
+       Iterator<Edge> edges = edgeList.getIterator();
+       while (edges.hasNext())
+       {
+          Edge edge = edges.next();
+          if (edge.twin != null)
+             ((Vertex<T>)edge.getEndVertex()).inEdgeList.remove(edge.twin);
+       } // end while
+
+       Iterator<Edge> incomingEdges = inEdgeList.getIterator();
+       while (incomingEdges.hasNext())
+       {
+          // The "end vertex" of an incoming record is where the edge begins
+          Vertex<T> beginVertex = (Vertex<T>)incomingEdges.next().getEndVertex();
+          beginVertex.disconnect(this);
+       } // end while
+
+       edgeList = new EdgeList();
+       inEdgeList = new EdgeList();
+       neighborEdges = null;
+       return removedCount;
+    } // end disconnectAll
+
     public Iterator<VertexInterface<T>> getNeighborIterator()
     {
         return new NeighborIterator();
     } // end getNeighborIterator
 
+    public Iterator<Double> getWeightIterator()
+    {
+        return new WeightIterator();
+    } // end getWeightIterator
+
     public boolean hasNeighbor()
     {
        return !edgeList.isEmpty();
     } // end hasNeighbor
  
+    public boolean hasNeighbor(VertexInterface<T> otherVertex)
+    {
+       if (neighborEdges != null)
+          return neighborEdges.contains(otherVertex);
+       return findEdge(otherVertex) != null;
+    } // end hasNeighbor
+
+    // Finds the edge to endVertex by a scan, which is cheaper than keeping
+    // an index while there are few edges
+    private Edge findEdge(VertexInterface<T> endVertex)
+    {
+       Iterator<Edge> edges = edgeList.getIterator();
+       while (edges.hasNext())
+       {
+          Edge nextEdge = edges.next();
+          if (endVertex.equals(nextEdge.getEndVertex()))
+             return nextEdge;
+       } // end while
+       return null;
+    } // end findEdge
+
+    // Indexes the edges by end vertex once the edge list is long enough
+    // that scanning it for duplicates would dominate connect
+    private void buildNeighborIndex()
+    {
+       neighborEdges = new HashedDictionary<>(2 * edgeList.getLength());
+       Iterator<Edge> edges = edgeList.getIterator();
+       while (edges.hasNext())
+       {
+          Edge nextEdge = edges.next();
+          neighborEdges.add(nextEdge.getEndVertex(), nextEdge);
+       } // end while
+    } // end buildNeighborIndex
+ 
     public VertexInterface<T> getUnvisitedNeighbor()
     {
        VertexInterface<T> result = null;
@@ -98,7 +242,7 @@ class Vertex<T> implements VertexInterface<T>
  
     public void setPredecessor(VertexInterface<T> predecessor)
     {
-
+        previousVertex = predecessor;
     } // end setPredecessor
  
     public VertexInterface<T> getPredecessor()
@@ -123,6 +267,11 @@ class Vertex<T> implements VertexInterface<T>
         }
         return result;
     } // end equals
+
+    public int hashCode()
+    {
+        return label.hashCode();
+    } // end hashCode
  
     public void setCost(double newCost)
     {
@@ -163,10 +312,105 @@ class Vertex<T> implements VertexInterface<T>
         }
     }
 
+    private class WeightIterator implements Iterator<Double>
+    {
+        private Iterator<Edge> edges;
+        private WeightIterator()
+        {
+            edges = edgeList.getIterator();
+        } // end default constructor
+        public boolean hasNext()
+        {
+            return edges.hasNext();
+        } // end hasNext
+        public Double next()
+        {
+            if (edges.hasNext())
+                return edges.next().getWeight();
+            else
+                throw new NoSuchElementException();
+        } // end next
+        public void remove()
+        {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+   // A doubly linked list of edges whose links are fields of the edges
+   // themselves, so an edge that is already in hand is removed in O(1)
+   private final class EdgeList
+   {
+      private Edge firstEdge;
+      private Edge lastEdge;
+      private int length;
+
+      private void add(Edge newEdge)
+      {
+         newEdge.previous = lastEdge;
+         newEdge.next = null;
+         if (lastEdge == null)
+            firstEdge = newEdge;
+         else
+            lastEdge.next = newEdge;
+         lastEdge = newEdge;
+         length++;
+      } // end add
+
+      private void remove(Edge edge)
+      {
+         if (edge.previous == null)
+            firstEdge = edge.next;
+         else
+            edge.previous.next = edge.next;
+         if (edge.next == null)
+            lastEdge = edge.previous;
+         else
+            edge.next.previous = edge.previous;
+         edge.previous = null;
+         edge.next = null;
+         length--;
+      } // end remove
+
+      private int getLength()
+      {
+         return length;
+      } // end getLength
+
+      private boolean isEmpty()
+      {
+         return length == 0;
+      } // end isEmpty
+
+      private Iterator<Edge> getIterator()
+      {
+         return new Iterator<Edge>()
+         {
+            private Edge nextEdge = firstEdge;
+
+            public boolean hasNext()
+            {
+               return nextEdge != null;
+            } // end hasNext
+
+            public Edge next()
+            {
+               if (nextEdge == null)
+                  throw new NoSuchElementException("Illegal call to next(); iterator is after end of list.");
+               Edge result = nextEdge;
+               nextEdge = nextEdge.next;
+               return result;
+            } // end next
+         }; // end Iterator
+      } // end getIterator
+   } // end EdgeList
+
    protected class Edge
    {
       private VertexInterface<T> vertex; // Vertex at end of edge
       private double weight;
+      private Edge previous;             // Links within the owning EdgeList
+      private Edge next;
+      private Edge twin;                 // Matching record in the other vertex's list
       
       protected Edge(VertexInterface<T> endVertex, double edgeWeight)
       {
@@ -189,5 +433,11 @@ class Vertex<T> implements VertexInterface<T>
       {
          return weight; 
       } // end getWeight
+
+      /** Gets the edge after this one in its vertex's list, or null. */
+      Edge getNextEdge()
+      {
+         return next;
+      } // end getNextEdge
    } // end Edge
 } // end Vertex
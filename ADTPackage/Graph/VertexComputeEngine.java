@@ -0,0 +1,132 @@
+package ADTPackage.Graph;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+/**
+   A class that runs iterative vertex-centric computations, such as
+   PageRank, over a CsrGraph. Values live in two double arrays, one for
+   the previous iteration and one for the next. Each iteration is a pull
+   sweep: every vertex reads the old values of its predecessors through
+   the graph's transpose and writes only its own new value, so the sweep
+   needs no locks or atomic operations. The vertices are split into
+   ranges that the threads of a ForkJoinPool sweep at the same time.
+
+   Iteration stops when the total change of all values in an iteration is
+   at most a given tolerance, or after a given number of iterations.
+*/
+public final class VertexComputeEngine
+{
+   private final ForkJoinPool pool;
+   private static final int VERTICES_PER_TASK = 1024; // Smallest range a task sweeps
+
+   /** Creates an engine that runs on the common ForkJoinPool. */
+   public VertexComputeEngine()
+   {
+      this(ForkJoinPool.commonPool());
+   } // end default constructor
+
+   /** Creates an engine that runs on a given pool.
+       @param forkJoinPool  The pool whose threads do the work. */
+   public VertexComputeEngine(ForkJoinPool forkJoinPool)
+   {
+      pool = forkJoinPool;
+   } // end constructor
+
+   /** Runs a vertex program until it converges or reaches an iteration
+       limit.
+       @param graph  The graph to compute over.
+       @param program  The update rule.
+       @param maxIterations  The largest number of iterations to run.
+       @param tolerance  The total change of all values at or below which
+                         the computation has converged.
+       @return  The final values and how the computation ended. */
+   public VertexComputeResult run(CsrGraph<?> graph, VertexProgram program, int maxIterations,
+                                  double tolerance)
+   {
+      if (maxIterations < 0)
+         throw new IllegalArgumentException("The iteration limit cannot be negative.");
+      int numberOfVertices = graph.getNumberOfVertices();
+      CsrGraph<?> transpose = graph.getTranspose();
+      int[] outOffsets = graph.getOffsets();
+      double[] values = new double[numberOfVertices];
+      double[] newValues = new double[numberOfVertices];
+      for (int vertex = 0; vertex < numberOfVertices; vertex++)
+         values[vertex] = program.getInitialValue(vertex, numberOfVertices);
+
+      int iterations = 0;
+      double change = 0;
+      boolean converged = false;
+      while (!converged && (iterations < maxIterations))
+      {
+         program.beginIteration(values, graph);
+         SweepTask sweep = new SweepTask(program, transpose, outOffsets, values, newValues,
+                                         0, numberOfVertices);
+         change = (numberOfVertices <= VERTICES_PER_TASK) ? sweep.compute() : pool.invoke(sweep);
+         double[] swap = values;
+         values = newValues;
+         newValues = swap;
+         iterations++;
+         converged = change <= tolerance;
+      } // end while
+      return new VertexComputeResult(values, iterations, change, converged);
+   } // end run
+
+   // Computes the new values of vertices first through last - 1 and
+   // returns their total change
+   private static final class SweepTask extends RecursiveTask<Double>
+   {
+      private static final long serialVersionUID = 1L;
+      private final VertexProgram program;
+      private final CsrGraph<?> transpose;
+      private final int[] outOffsets;
+      private final double[] values;
+      private final double[] newValues;
+      private final int first;
+      private final int last;
+
+      private SweepTask(VertexProgram program, CsrGraph<?> transpose, int[] outOffsets,
+                        double[] values, double[] newValues, int first, int last)
+      {
+         this.program = program;
+         this.transpose = transpose;
+         this.outOffsets = outOffsets;
+         this.values = values;
+         this.newValues = newValues;
+         this.first = first;
+         this.last = last;
+      } // end constructor
+
+      protected Double compute()
+      {
+         if (last - first > VERTICES_PER_TASK)
+         {
+            int middle = (first + last) >>> 1;
+            SweepTask left = new SweepTask(program, transpose, outOffsets, values, newValues, first, middle);
+            SweepTask right = new SweepTask(program, transpose, outOffsets, values, newValues, middle, last);
+            left.fork();
+            double rightChange = right.compute();
+            return left.join() + rightChange;
+         } // end if
+
+         int[] inOffsets = transpose.getOffsets();
+         int[] sources = transpose.getTargets();
+         double[] weights = transpose.getWeights();
+         double change = 0;
+         for (int vertex = first; vertex < last; vertex++)
+         {
+            double gathered = program.getIdentity();
+            for (int edge = inOffsets[vertex]; edge < inOffsets[vertex + 1]; edge++)
+            {
+               int source = sources[edge];
+               gathered = program.gather(gathered, values[source],
+                                         outOffsets[source + 1] - outOffsets[source], weights[edge]);
+            } // end for
+            double oldValue = values[vertex];
+            double newValue = program.apply(vertex, oldValue, gathered);
+            newValues[vertex] = newValue;
+            if (newValue != oldValue)
+               change += Math.abs(newValue - oldValue);
+         } // end for
+         return change;
+      } // end compute
+   } // end SweepTask
+} // end VertexComputeEngine
@@ -0,0 +1,50 @@
+package ADTPackage.Graph;
+/**
+   The outcome of a VertexComputeEngine run: the final value of each
+   vertex and how the iterations ended.
+*/
+public final class VertexComputeResult
+{
+   private final double[] values;
+   private final int iterations;
+   private final double lastChange;
+   private final boolean converged;
+
+   VertexComputeResult(double[] vertexValues, int iterationCount, double change, boolean hasConverged)
+   {
+      values = vertexValues;
+      iterations = iterationCount;
+      lastChange = change;
+      converged = hasConverged;
+   } // end constructor
+
+   /** Gets the final values.
+       @return  An array whose entry v is the value of vertex v. */
+   public double[] getValues()
+   {
+      return values;
+   } // end getValues
+
+   /** Gets the number of iterations performed.
+       @return  The number of iterations. */
+   public int getIterations()
+   {
+      return iterations;
+   } // end getIterations
+
+   /** Gets the sum, over all vertices, of how much each value changed in
+       the last iteration.
+       @return  The total change, or 0 if no iteration was performed. */
+   public double getLastChange()
+   {
+      return lastChange;
+   } // end getLastChange
+
+   /** Sees whether the values stopped changing by more than the tolerance
+       before the iteration limit was reached.
+       @return  True if the computation converged. */
+   public boolean hasConverged()
+   {
+      return converged;
+   } // end hasConverged
+} // end VertexComputeResult
@@ -40,6 +40,12 @@ public interface VertexInterface<T>
        @return  True if the edge is added, or false if not. */
    public boolean connect(VertexInterface<T> endVertex);
 
+   /** Removes the edge from this vertex to a given vertex.
+       @param endVertex   A vertex in the graph that ends the edge.
+       @return  True if the edge is removed, or false if there was no
+                such edge. */
+   public boolean disconnect(VertexInterface<T> endVertex);
+
    /** Creates an iterator of this vertex's neighbors by following 
        all edges that begin at this vertex.
        @return  An iterator of the neighboring vertices of this vertex. */
@@ -55,6 +61,12 @@ public interface VertexInterface<T>
        @return  True if the vertex has a neighbor. */
    public boolean hasNeighbor();
 
+   /** Sees whether a given vertex is a neighbor of this vertex, that is,
+       whether an edge begins at this vertex and ends at the given one.
+       @param otherVertex  A vertex in the graph.
+       @return  True if otherVertex is a neighbor of this vertex. */
+   public boolean hasNeighbor(VertexInterface<T> otherVertex);
+
    /** Gets an unvisited neighbor, if any, of this vertex.
        @return  Either a vertex that is an unvisited neighbor or null
                 if no such neighbor exists. */
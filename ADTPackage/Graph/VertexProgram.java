@@ -0,0 +1,50 @@
+package ADTPackage.Graph;
+/**
+   An interface for the update rule of an iterative vertex-centric
+   computation run by VertexComputeEngine. Each vertex holds a double
+   value. In each iteration every vertex gathers the values of the
+   vertices with edges into it, then applies the gathered result to
+   compute its new value. All new values are computed from the values of
+   the previous iteration, so the vertices can be updated in any order
+   and by many threads at once.
+
+   gather and apply may be called by several threads at once and must not
+   change shared state; beginIteration is called by one thread between
+   iterations.
+*/
+public interface VertexProgram
+{
+   /** Gets the value of a vertex before the first iteration.
+       @param vertex  The index of the vertex.
+       @param numberOfVertices  The number of vertices in the graph.
+       @return  The initial value. */
+   public double getInitialValue(int vertex, int numberOfVertices);
+
+   /** Gets the result of gathering from no vertices, such as 0 for a sum
+       or Double.POSITIVE_INFINITY for a minimum.
+       @return  The starting value for gather. */
+   public double getIdentity();
+
+   /** Combines the contribution of one edge into a running result.
+       @param gathered  The result so far.
+       @param neighborValue  The previous value of the edge's origin.
+       @param neighborOutDegree  The number of edges leaving the origin.
+       @param edgeWeight  The weight of the edge.
+       @return  The new result. */
+   public double gather(double gathered, double neighborValue, int neighborOutDegree, double edgeWeight);
+
+   /** Computes the new value of a vertex.
+       @param vertex  The index of the vertex.
+       @param oldValue  The value of the vertex in the previous iteration.
+       @param gathered  The result of gathering over its incoming edges.
+       @return  The new value. */
+   public double apply(int vertex, double oldValue, double gathered);
+
+   /** Prepares for an iteration, for example by computing a total that
+       apply needs. The default does nothing.
+       @param values  The values from the previous iteration, by vertex.
+       @param graph  The graph being computed over. */
+   public default void beginIteration(double[] values, CsrGraph<?> graph)
+   {
+   } // end beginIteration
+} // end VertexProgram
@@ -0,0 +1,137 @@
+package ADTPackage.Graph;
+import java.util.Arrays;
+/**
+   A class of common programs for VertexComputeEngine. Each method returns
+   a new program, since some programs keep per-iteration state.
+*/
+public final class VertexPrograms
+{
+   private VertexPrograms()
+   {
+   } // end constructor
+
+   /** Creates a PageRank program. A vertex's rank is the chance that a
+       random surfer is there: with probability damping the surfer follows
+       a random edge out of the current vertex, and otherwise jumps to a
+       random vertex. Vertices without edges spread their rank over every
+       vertex, so the ranks always add up to 1.
+       @param damping  The probability of following an edge, often 0.85.
+       @return  A PageRank program. */
+   public static VertexProgram pageRank(double damping)
+   {
+      return new PageRank(damping, null);
+   } // end pageRank
+
+   /** Creates a personalized PageRank program, in which the surfer jumps
+       only to the given seed vertices. The ranks then measure closeness
+       to the seeds.
+       @param damping  The probability of following an edge.
+       @param seeds  The indices of the vertices the surfer may jump to.
+       @return  A personalized PageRank program. */
+   public static VertexProgram personalizedPageRank(double damping, int[] seeds)
+   {
+      if (seeds.length == 0)
+         throw new IllegalArgumentException("Personalized PageRank needs at least one seed.");
+      return new PageRank(damping, seeds.clone());
+   } // end personalizedPageRank
+
+   /** Creates a label propagation program. Each vertex starts with its
+       own index as its label and repeatedly takes the smallest label of
+       itself and its predecessors. When the values stop changing, a
+       vertex's label is the smallest index that can reach it; on a graph
+       that holds every edge in both directions, vertices share a label
+       exactly when they are in the same connected component.
+       @return  A label propagation program. */
+   public static VertexProgram minimumLabelPropagation()
+   {
+      return new VertexProgram()
+      {
+         public double getInitialValue(int vertex, int numberOfVertices)
+         {
+            return vertex;
+         } // end getInitialValue
+
+         public double getIdentity()
+         {
+            return Double.POSITIVE_INFINITY;
+         } // end getIdentity
+
+         public double gather(double gathered, double neighborValue, int neighborOutDegree, double edgeWeight)
+         {
+            return Math.min(gathered, neighborValue);
+         } // end gather
+
+         public double apply(int vertex, double oldValue, double gathered)
+         {
+            return Math.min(oldValue, gathered);
+         } // end apply
+      }; // end VertexProgram
+   } // end minimumLabelPropagation
+
+   // PageRank that jumps to every vertex when seeds is null, or to the
+   // seeds with equal probability
+   private static final class PageRank implements VertexProgram
+   {
+      private final double damping;
+      private final int[] seeds;
+      private double[] jumpProbabilities; // Chance that a jump lands on each vertex
+      private double danglingRank;        // Rank held by vertices without edges
+
+      private PageRank(double damping, int[] seeds)
+      {
+         if ((damping < 0) || (damping > 1))
+            throw new IllegalArgumentException("Damping must be from 0 to 1.");
+         this.damping = damping;
+         this.seeds = seeds;
+      } // end constructor
+
+      public double getInitialValue(int vertex, int numberOfVertices)
+      {
+         return getJumpProbabilities(numberOfVertices)[vertex];
+      } // end getInitialValue
+
+      public double getIdentity()
+      {
+         return 0;
+      } // end getIdentity
+
+      public double gather(double gathered, double neighborValue, int neighborOutDegree, double edgeWeight)
+      {
+         return gathered + neighborValue / neighborOutDegree;
+      } // end gather
+
+      public double apply(int vertex, double oldValue, double gathered)
+      {
+         double jump = jumpProbabilities[vertex];
+         return (1 - damping) * jump + damping * (gathered + danglingRank * jump);
+      } // end apply
+
+      public void beginIteration(double[] values, CsrGraph<?> graph)
+      {
+         int numberOfVertices = graph.getNumberOfVertices();
+         getJumpProbabilities(numberOfVertices);
+         danglingRank = 0;
+         for (int vertex = 0; vertex < numberOfVertices; vertex++)
+         {
+            if (graph.getOutDegree(vertex) == 0)
+               danglingRank += values[vertex];
+         } // end for
+      } // end beginIteration
+
+      private double[] getJumpProbabilities(int numberOfVertices)
+      {
+         if ((jumpProbabilities == null) || (jumpProbabilities.length != numberOfVertices))
+         {
+            jumpProbabilities = new double[numberOfVertices];
+            if (seeds == null)
+               Arrays.fill(jumpProbabilities, 1.0 / numberOfVertices);
+            else
+            {
+               for (int seed : seeds)
+                  jumpProbabilities[seed] += 1.0 / seeds.length;
+            } // end if
+         } // end if
+         return jumpProbabilities;
+      } // end getJumpProbabilities
+   } // end PageRank
+} // end VertexPrograms
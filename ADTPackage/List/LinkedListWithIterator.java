@@ -12,6 +12,7 @@ import java.util.NoSuchElementException;
 public class LinkedListWithIterator<T> implements ListWithIteratorInterface<T>
 {
    private Node firstNode;
+   private Node lastNode; // Tail of the chain, so add(newEntry) is O(1)
    private int  numberOfEntries;;
 
    public LinkedListWithIterator()
@@ -21,6 +22,7 @@ public class LinkedListWithIterator<T> implements ListWithIteratorInterface<T>
 
    private void initializeDataFields() {
       firstNode = null;
+      lastNode = null;
       numberOfEntries = 0;
    } //end initalizeDataFields
 
@@ -40,11 +42,9 @@ public class LinkedListWithIterator<T> implements ListWithIteratorInterface<T>
       Node newNode = new Node(newEntry);
       if(isEmpty()) // add to empty list
          firstNode = newNode;
-      else
-      { // add to non empty list
-         Node lastNode = getNodeAt(numberOfEntries);
+      else // add to non empty list
          lastNode.setNextNode(newNode);
-      }
+      lastNode = newNode;
       numberOfEntries++;
    } // end add
 
@@ -54,6 +54,12 @@ public class LinkedListWithIterator<T> implements ListWithIteratorInterface<T>
          if(newPosition == 1){
             newNode.setNextNode(firstNode);
             firstNode = newNode;
+            if(lastNode == null)
+               lastNode = newNode;
+         } // end if
+         else if(newPosition == numberOfEntries + 1){
+            lastNode.setNextNode(newNode);
+            lastNode = newNode;
          } // end if
          else{
             Node nodeBefore = getNodeAt(newPosition - 1);
@@ -76,6 +82,8 @@ public class LinkedListWithIterator<T> implements ListWithIteratorInterface<T>
          {
             result = firstNode.getData();        // Save entry to be removed
             firstNode = firstNode.getNextNode(); // Remove entry
+            if (firstNode == null)
+               lastNode = null;
          }
          else                                    // Case 2: Not first entry
          {
@@ -84,6 +92,8 @@ public class LinkedListWithIterator<T> implements ListWithIteratorInterface<T>
             result = nodeToRemove.getData();    // Save entry to be removed
             Node nodeAfter = nodeToRemove.getNextNode();
             nodeBefore.setNextNode(nodeAfter);  // Remove entry
+            if (nodeAfter == null)
+               lastNode = nodeBefore;
          } // end if
          numberOfEntries--;                     // Update count
          return result;                         // Return removed entry
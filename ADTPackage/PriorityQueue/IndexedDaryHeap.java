@@ -0,0 +1,207 @@
+package ADTPackage.PriorityQueue;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+/**
+   A class that implements an indexed priority queue by using a d-ary
+   min-heap stored in primitive arrays. Each index remembers its position
+   in the heap, so decreasePriority finds an entry in O(1) and restores the
+   heap in O(log n). No operation allocates an object, and clear() costs
+   time proportional to the number of entries, not to the capacity, so a
+   heap can be reused across many searches.
+
+   A larger arity makes the heap shallower, which speeds up add and
+   decreasePriority at some cost to remove. Graph searches usually lower
+   priorities far more often than they remove entries, so the default
+   arity is 4.
+*/
+public final class IndexedDaryHeap implements IndexedPriorityQueueInterface
+{
+   private int[] heap;          // Indices in heap order
+   private int[] positions;     // Position of each index in heap, or -1
+   private double[] priorities; // Priority of each index
+   private int size;
+   private final int arity;
+   private static final int DEFAULT_ARITY = 4;
+
+   /** Creates an empty heap for indices 0 through capacity - 1.
+       @param capacity  One more than the largest index to be added. */
+   public IndexedDaryHeap(int capacity)
+   {
+      this(capacity, DEFAULT_ARITY);
+   } // end constructor
+
+   /** Creates an empty heap with a given number of children per node.
+       @param capacity  One more than the largest index to be added.
+       @param heapArity  The number of children per node, at least 2. */
+   public IndexedDaryHeap(int capacity, int heapArity)
+   {
+      if (capacity < 0)
+         throw new IllegalArgumentException("Capacity cannot be negative.");
+      if (heapArity < 2)
+         throw new IllegalArgumentException("A heap needs at least 2 children per node.");
+      arity = heapArity;
+      heap = new int[capacity];
+      positions = new int[capacity];
+      Arrays.fill(positions, -1);
+      priorities = new double[capacity];
+      size = 0;
+   } // end constructor
+
+   public void add(int index, double priority)
+   {
+      checkIndex(index);
+      if (positions[index] >= 0)
+         throw new IllegalArgumentException("Index " + index + " is already in the priority queue.");
+      priorities[index] = priority;
+      siftUp(size++, index);
+   } // end add
+
+   public int remove()
+   {
+      int top = peek();
+      positions[top] = -1;
+      size--;
+      if (size > 0)
+         siftDown(0, heap[size]);
+      return top;
+   } // end remove
+
+   public int peek()
+   {
+      if (size == 0)
+         throw new NoSuchElementException("The priority queue is empty.");
+      return heap[0];
+   } // end peek
+
+   public void decreasePriority(int index, double newPriority)
+   {
+      if (!contains(index))
+         throw new IllegalArgumentException("Index " + index + " is not in the priority queue.");
+      if (newPriority > priorities[index])
+         throw new IllegalArgumentException("New priority " + newPriority +
+                                            " is larger than current priority " + priorities[index]);
+      priorities[index] = newPriority;
+      siftUp(positions[index], index);
+   } // end decreasePriority
+
+   public boolean addOrDecrease(int index, double priority)
+   {
+      checkIndex(index);
+      boolean changed = false;
+      if (positions[index] < 0)
+      {
+         priorities[index] = priority;
+         siftUp(size++, index);
+         changed = true;
+      }
+      else if (priority < priorities[index])
+      {
+         priorities[index] = priority;
+         siftUp(positions[index], index);
+         changed = true;
+      } // end if
+      return changed;
+   } // end addOrDecrease
+
+   public boolean contains(int index)
+   {
+      return (index >= 0) && (index < positions.length) && (positions[index] >= 0);
+   } // end contains
+
+   public double getPriority(int index)
+   {
+      if (!contains(index))
+         throw new IllegalArgumentException("Index " + index + " is not in the priority queue.");
+      return priorities[index];
+   } // end getPriority
+
+   public boolean isEmpty()
+   {
+      return size == 0;
+   } // end isEmpty
+
+   public int getSize()
+   {
+      return size;
+   } // end getSize
+
+   public int getCapacity()
+   {
+      return positions.length;
+   } // end getCapacity
+
+   public void clear()
+   {
+      for (int position = 0; position < size; position++)
+         positions[heap[position]] = -1;
+      size = 0;
+   } // end clear
+
+   /** Enlarges this heap so that it accepts indices up to newCapacity - 1.
+       @param newCapacity  The desired capacity. */
+   public void ensureCapacity(int newCapacity)
+   {
+      int oldCapacity = positions.length;
+      if (newCapacity > oldCapacity)
+      {
+         heap = Arrays.copyOf(heap, newCapacity);
+         positions = Arrays.copyOf(positions, newCapacity);
+         Arrays.fill(positions, oldCapacity, newCapacity, -1);
+         priorities = Arrays.copyOf(priorities, newCapacity);
+      } // end if
+   } // end ensureCapacity
+
+   // Places index at position or above it, moving larger parents down
+   // into the hole rather than swapping at every level.
+   private void siftUp(int position, int index)
+   {
+      double priority = priorities[index];
+      while (position > 0)
+      {
+         int parentPosition = (position - 1) / arity;
+         int parent = heap[parentPosition];
+         if (priorities[parent] <= priority)
+            break;
+         heap[position] = parent;
+         positions[parent] = position;
+         position = parentPosition;
+      } // end while
+      heap[position] = index;
+      positions[index] = position;
+   } // end siftUp
+
+   // Places index at position or below it, moving the smallest child up
+   // into the hole at each level.
+   private void siftDown(int position, int index)
+   {
+      double priority = priorities[index];
+      int firstChild = arity * position + 1;
+      while (firstChild < size)
+      {
+         int smallestChild = firstChild;
+         int lastChild = Math.min(firstChild + arity, size);
+         for (int child = firstChild + 1; child < lastChild; child++)
+         {
+            if (priorities[heap[child]] < priorities[heap[smallestChild]])
+               smallestChild = child;
+         } // end for
+
+         int smallest = heap[smallestChild];
+         if (priority <= priorities[smallest])
+            break;
+         heap[position] = smallest;
+         positions[smallest] = position;
+         position = smallestChild;
+         firstChild = arity * position + 1;
+      } // end while
+      heap[position] = index;
+      positions[index] = position;
+   } // end siftDown
+
+   private void checkIndex(int index)
+   {
+      if ((index < 0) || (index >= positions.length))
+         throw new IllegalArgumentException("Index " + index + " is outside 0 to " +
+                                            (positions.length - 1) + ".");
+   } // end checkIndex
+} // end IndexedDaryHeap
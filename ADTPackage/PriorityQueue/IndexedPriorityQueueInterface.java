@@ -0,0 +1,66 @@
+package ADTPackage.PriorityQueue;
+/**
+   An interface for a priority queue of integer indices, each with a
+   real-valued priority. Indices range from 0 to getCapacity() - 1 and each
+   can be in the queue at most once. A smaller value means a higher priority.
+   Because an entry is found by its index, its priority can be lowered in
+   place, which algorithms such as Dijkstra's and Prim's rely on.
+*/
+public interface IndexedPriorityQueueInterface
+{
+   /** Adds an index to this priority queue.
+       @param index     An index that is not currently in the queue.
+       @param priority  The priority of the index.
+       @throws  IllegalArgumentException if index is out of range or is
+                already in the queue. */
+   public void add(int index, double priority);
+
+   /** Removes and returns the index with the highest priority.
+       @return  The index with the smallest priority value.
+       @throws  java.util.NoSuchElementException if the queue is empty. */
+   public int remove();
+
+   /** Retrieves the index with the highest priority without removing it.
+       @return  The index with the smallest priority value.
+       @throws  java.util.NoSuchElementException if the queue is empty. */
+   public int peek();
+
+   /** Lowers the priority value of an index already in this queue.
+       @param index        An index in the queue.
+       @param newPriority  A priority no larger than the current one.
+       @throws  IllegalArgumentException if index is not in the queue or
+                newPriority is larger than its current priority. */
+   public void decreasePriority(int index, double newPriority);
+
+   /** Adds an index if it is absent, or lowers its priority if the given
+       priority is smaller than its current one.
+       @param index     An index in range.
+       @param priority  The desired priority of the index.
+       @return  True if the queue changed. */
+   public boolean addOrDecrease(int index, double priority);
+
+   /** Sees whether an index is in this priority queue.
+       @param index  An index in range.
+       @return  True if the index is in the queue. */
+   public boolean contains(int index);
+
+   /** Gets the priority of an index in this priority queue.
+       @param index  An index in the queue.
+       @return  The priority of the index. */
+   public double getPriority(int index);
+
+   /** Detects whether this priority queue is empty.
+       @return  True if the queue is empty, or false otherwise. */
+   public boolean isEmpty();
+
+   /** Gets the number of indices in this priority queue.
+       @return  The number of entries currently in the queue. */
+   public int getSize();
+
+   /** Gets one more than the largest index this priority queue accepts.
+       @return  The capacity of the queue. */
+   public int getCapacity();
+
+   /** Removes all entries from this priority queue. */
+   public void clear();
+} // end IndexedPriorityQueueInterface
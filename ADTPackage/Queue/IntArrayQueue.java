@@ -0,0 +1,118 @@
+package ADTPackage.Queue;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+/**
+   A queue of int values stored in a circular int array. It provides the
+   operations of QueueInterface for primitive values, so index-based graph
+   algorithms can report vertex indices without boxing them. As in
+   ResizableArrayQueue, the array's length is a power of 2 and doubles
+   when the queue is full; clearing the queue keeps the array, so a queue
+   that is reused allocates nothing once it is large enough.
+*/
+public final class IntArrayQueue
+{
+   private int[] queue;        // Circular array of queue entries
+   private int frontIndex;     // Index of front entry
+   private int numberOfEntries;
+   private int mask;           // queue.length - 1
+   private static final int DEFAULT_CAPACITY = 16;
+   private static final int MAX_CAPACITY = 1 << 30;
+
+   public IntArrayQueue()
+   {
+      this(DEFAULT_CAPACITY);
+   } // end default constructor
+
+   /** Creates a queue that can hold the given number of entries before
+       it needs to resize.
+       @param initialCapacity  The expected number of entries. */
+   public IntArrayQueue(int initialCapacity)
+   {
+      if ((initialCapacity < 0) || (initialCapacity > MAX_CAPACITY))
+         throw new IllegalArgumentException("Illegal initial capacity: " + initialCapacity);
+      int capacity = DEFAULT_CAPACITY;
+      while (capacity < initialCapacity)
+         capacity = 2 * capacity;
+      queue = new int[capacity];
+      mask = capacity - 1;
+      frontIndex = 0;
+      numberOfEntries = 0;
+   } // end constructor
+
+   /** Adds a new entry to the back of this queue.
+       @param newEntry  The entry to be added. */
+   public void enqueue(int newEntry)
+   {
+      if (numberOfEntries == queue.length)
+         doubleCapacity();
+      queue[(frontIndex + numberOfEntries) & mask] = newEntry;
+      numberOfEntries++;
+   } // end enqueue
+
+   /** Removes and returns the entry at the front of this queue.
+       @return  The entry at the queue's front.
+       @throws NoSuchElementException if the queue is empty. */
+   public int dequeue()
+   {
+      int front = getFront();
+      frontIndex = (frontIndex + 1) & mask;
+      numberOfEntries--;
+      return front;
+   } // end dequeue
+
+   /** Retrieves the entry at the front of this queue.
+       @return  The entry at the queue's front.
+       @throws NoSuchElementException if the queue is empty. */
+   public int getFront()
+   {
+      if (isEmpty())
+         throw new NoSuchElementException("The queue is empty.");
+      return queue[frontIndex];
+   } // end getFront
+
+   /** Detects whether this queue is empty.
+       @return  True if the queue is empty, or false otherwise. */
+   public boolean isEmpty()
+   {
+      return numberOfEntries == 0;
+   } // end isEmpty
+
+   /** Removes all entries from this queue. No entries need to be cleared,
+       since int values hold no references. */
+   public void clear()
+   {
+      frontIndex = 0;
+      numberOfEntries = 0;
+   } // end clear
+
+   /** Gets the number of entries in this queue.
+       @return  The number of entries currently in the queue. */
+   public int getSize()
+   {
+      return numberOfEntries;
+   } // end getSize
+
+   /** Retrieves all entries in this queue, from front to back, without
+       removing them.
+       @return  A newly allocated array of the entries in the queue. */
+   public int[] toArray()
+   {
+      int[] result = new int[numberOfEntries];
+      int firstPart = Math.min(numberOfEntries, queue.length - frontIndex);
+      System.arraycopy(queue, frontIndex, result, 0, firstPart);
+      System.arraycopy(queue, 0, result, firstPart, numberOfEntries - firstPart);
+      return result;
+   } // end toArray
+
+   private void doubleCapacity()
+   {
+      if (queue.length >= MAX_CAPACITY)
+         throw new IllegalStateException("Attempt to create a queue whose " +
+                                         "capacity exceeds allowed maximum of " + MAX_CAPACITY);
+      int[] oldQueue = queue;
+      queue = Arrays.copyOf(queue, 2 * oldQueue.length);
+      // Unwrap: entries before frontIndex follow the old end of the array
+      System.arraycopy(oldQueue, 0, queue, oldQueue.length, frontIndex);
+      mask = queue.length - 1;
+   } // end doubleCapacity
+} // end IntArrayQueue
@@ -0,0 +1,141 @@
+package ADTPackage.Queue;
+import java.util.Arrays;
+/**
+   A class that implements a queue of objects by using a circular array.
+   The array's length is always a power of 2, so an index wraps around by
+   masking instead of by a remainder operation. The array doubles in size
+   when it becomes full.
+*/
+public final class ResizableArrayQueue<T> implements QueueInterface<T>
+{
+   private T[] queue;          // Circular array of queue entries
+   private int frontIndex;     // Index of front entry
+   private int numberOfEntries;
+   private int mask;           // queue.length - 1
+   private static final int DEFAULT_CAPACITY = 16;
+   private static final int MAX_CAPACITY = 1 << 30;
+
+   public ResizableArrayQueue()
+   {
+      this(DEFAULT_CAPACITY);
+   } // end default constructor
+
+   /** Creates a queue that can hold the given number of entries before
+       it needs to resize.
+       @param initialCapacity  The expected number of entries. */
+   public ResizableArrayQueue(int initialCapacity)
+   {
+      if ((initialCapacity < 0) || (initialCapacity > MAX_CAPACITY))
+         throw new IllegalArgumentException("Illegal initial capacity: " + initialCapacity);
+      int capacity = DEFAULT_CAPACITY;
+      while (capacity < initialCapacity)
+         capacity = 2 * capacity;
+
+      // The cast is safe because the new array contains null entries
+      @SuppressWarnings("unchecked")
+      T[] tempQueue = (T[])new Object[capacity];
+      queue = tempQueue;
+      mask = capacity - 1;
+      frontIndex = 0;
+      numberOfEntries = 0;
+   } // end constructor
+
+   public void enqueue(T newEntry)
+   {
+      if (numberOfEntries == queue.length)
+         doubleCapacity();
+      queue[(frontIndex + numberOfEntries) & mask] = newEntry;
+      numberOfEntries++;
+   } // end enqueue
+
+   public T dequeue()
+   {
+      T front = null;
+      if (!isEmpty())
+      {
+         front = queue[frontIndex];
+         queue[frontIndex] = null;
+         frontIndex = (frontIndex + 1) & mask;
+         numberOfEntries--;
+      } // end if
+      return front;
+   } // end dequeue
+
+   public T getFront()
+   {
+      T front = null;
+      if (!isEmpty())
+         front = queue[frontIndex];
+      return front;
+   } // end getFront
+
+   public boolean isEmpty()
+   {
+      return numberOfEntries == 0;
+   } // end isEmpty
+
+   public void clear()
+   {
+      for (int count = 0; count < numberOfEntries; count++)
+         queue[(frontIndex + count) & mask] = null;
+      frontIndex = 0;
+      numberOfEntries = 0;
+   } // end clear
+
+   /** Gets the number of entries in this queue.
+       @return  The number of entries currently in the queue. */
+   public int getSize()
+   {
+      return numberOfEntries;
+   } // end getSize
+
+   /** Retrieves all entries in this queue, from front to back, without
+       removing them.
+       @return  A newly allocated array of the entries in the queue. */
+   public T[] toArray()
+   {
+      // The cast is safe because the new array contains null entries
+      @SuppressWarnings("unchecked")
+      T[] result = (T[])new Object[numberOfEntries];
+      copyFront(result, numberOfEntries);
+      return result;
+   } // end toArray
+
+   /** Removes entries from the front of this queue and copies them, in
+       order, into a given array, until either the queue is empty or the
+       array is full.
+       @param destination  An array to receive the entries.
+       @return  The number of entries removed from the queue. */
+   public int drainTo(T[] destination)
+   {
+      int count = Math.min(destination.length, numberOfEntries);
+      copyFront(destination, count);
+      for (int position = 0; position < count; position++)
+         queue[(frontIndex + position) & mask] = null;
+      frontIndex = (frontIndex + count) & mask;
+      numberOfEntries -= count;
+      return count;
+   } // end drainTo
+
+   // Copies the first count entries into destination with at most two
+   // array copies: one up to the end of the array and one after wrapping.
+   private void copyFront(T[] destination, int count)
+   {
+      int firstPart = Math.min(count, queue.length - frontIndex);
+      System.arraycopy(queue, frontIndex, destination, 0, firstPart);
+      System.arraycopy(queue, 0, destination, firstPart, count - firstPart);
+   } // end copyFront
+
+   private void doubleCapacity()
+   {
+      if (queue.length >= MAX_CAPACITY)
+         throw new IllegalStateException("Attempt to create a queue whose " +
+                                         "capacity exceeds allowed maximum of " + MAX_CAPACITY);
+      T[] oldQueue = queue;
+      queue = Arrays.copyOf(queue, 2 * oldQueue.length);
+      // Unwrap: entries before frontIndex follow the old end of the array
+      System.arraycopy(oldQueue, 0, queue, oldQueue.length, frontIndex);
+      Arrays.fill(queue, 0, frontIndex, null);
+      mask = queue.length - 1;
+   } // end doubleCapacity
+} // end ResizableArrayQueue
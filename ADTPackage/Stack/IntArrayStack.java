@@ -0,0 +1,115 @@
+package ADTPackage.Stack;
+import java.util.EmptyStackException;
+import java.util.Arrays;
+
+/**
+ * A stack of int values stored in a resizable int array. It provides the
+ * operations of StackInterface for primitive values, so index-based graph
+ * algorithms can keep vertex indices on a stack without boxing them.
+ */
+public final class IntArrayStack {
+    private int[] stack; // Array of stack entries
+    private int topIndex; // Index of top entry
+    private final int maxCapacity; // Largest array this stack may allocate
+    private static final int DEFAULT_CAPACITY = 50;
+
+    /**
+     * Default constructor that initializes the stack with a default capacity.
+     */
+    public IntArrayStack() {
+        this(DEFAULT_CAPACITY);
+    } // end default constructor
+
+    /**
+     * Constructor that initializes the stack with a specified initial capacity.
+     * @param initialCapacity The initial capacity of the stack
+     */
+    public IntArrayStack(int initialCapacity) {
+        this(initialCapacity, ResizableArrayStack.MAX_ARRAY_CAPACITY);
+    } // end constructor
+
+    /**
+     * Constructor that initializes the stack with a specified initial capacity
+     * and an upper bound on how far it may grow.
+     * @param initialCapacity The initial capacity of the stack
+     * @param maxCapacity The largest number of entries the stack may hold
+     * @throws IllegalArgumentException if initialCapacity is negative, or
+     *         maxCapacity is not positive or exceeds the largest array the
+     *         JVM can allocate
+     * @throws IllegalStateException if initialCapacity exceeds maxCapacity
+     */
+    public IntArrayStack(int initialCapacity, int maxCapacity) {
+        ResizableArrayStack.checkCapacities(initialCapacity, maxCapacity);
+        this.maxCapacity = maxCapacity;
+        stack = new int[initialCapacity];
+        topIndex = -1;
+    } // end constructor
+
+    /**
+     * Adds a new entry to the top of the stack.
+     * @param newEntry The entry to be added to the stack
+     */
+    public void push(int newEntry) {
+        ensureCapacity();
+        stack[topIndex + 1] = newEntry;
+        topIndex++;
+    }// end push
+
+    /**
+     * Removes and returns the top entry of the stack.
+     * @return The top entry of the stack
+     * @throws EmptyStackException if the stack is empty
+     */
+    public int pop() {
+        if (isEmpty()) {
+            throw new EmptyStackException();
+        }
+        return stack[topIndex--];
+    }//end pop
+
+    /**
+     * Retrieves the top entry of the stack without removing it.
+     * @return The top entry of the stack
+     * @throws EmptyStackException if the stack is empty
+     */
+    public int peek() {
+        if (isEmpty()) {
+            throw new EmptyStackException();
+        }
+        return stack[topIndex];
+    }//end peek
+
+    /**
+     * Checks whether the stack is empty.
+     * @return True if the stack is empty, false otherwise
+     */
+    public boolean isEmpty() {
+        return topIndex < 0;
+    }//end isEmpty
+
+    /**
+     * Gets the number of entries in the stack.
+     * @return The number of entries currently on the stack
+     */
+    public int getSize() {
+        return topIndex + 1;
+    }//end getSize
+
+    /**
+     * Removes all entries from the stack. No entries need to be cleared,
+     * since int values hold no references.
+     */
+    public void clear() {
+        topIndex = -1;
+    }//end clear
+
+    /**
+     * Ensures the stack has enough capacity to accommodate additional
+     * entries, growing as ResizableArrayStack does.
+     */
+    private void ensureCapacity() {
+        if (topIndex >= stack.length - 1) {
+            stack = Arrays.copyOf(stack, ResizableArrayStack.getGrownLength(stack.length, maxCapacity));
+        }
+    }// end ensureCapacity
+} // end IntArrayStack
@@ -11,8 +11,10 @@ public final class ResizableArrayStack<T> implements StackInterface<T> {
     private T[] stack; // Array of stack entries
     private int topIndex; // Index of top entry
     private boolean integrityOK = false;
+    private final int maxCapacity; // Largest array this stack may allocate
     private static final int DEFAULT_CAPACITY = 50;
-    private static final int MAX_CAPACITY = 10000;
+    // Some JVMs reserve header words in an array, so stay a little below Integer.MAX_VALUE
+    static final int MAX_ARRAY_CAPACITY = Integer.MAX_VALUE - 8;
 
     /**
      * Default constructor that initializes the stack with a default capacity.
@@ -26,8 +28,23 @@ public final class ResizableArrayStack<T> implements StackInterface<T> {
      * @param initialCapacity The initial capacity of the stack
      */
     public ResizableArrayStack(int initialCapacity) {
+        this(initialCapacity, MAX_ARRAY_CAPACITY);
+    } // end constructor
+
+    /**
+     * Constructor that initializes the stack with a specified initial capacity
+     * and an upper bound on how far it may grow.
+     * @param initialCapacity The initial capacity of the stack
+     * @param maxCapacity The largest number of entries the stack may hold
+     * @throws IllegalArgumentException if initialCapacity is negative, or
+     *         maxCapacity is not positive or exceeds the largest array the
+     *         JVM can allocate
+     * @throws IllegalStateException if initialCapacity exceeds maxCapacity
+     */
+    public ResizableArrayStack(int initialCapacity, int maxCapacity) {
         integrityOK = false;
-        checkCapacity(initialCapacity);
+        checkCapacities(initialCapacity, maxCapacity);
+        this.maxCapacity = maxCapacity;
 
         // The cast is safe because the new array contains null entries
         @SuppressWarnings("unchecked")
@@ -103,9 +120,7 @@ public final class ResizableArrayStack<T> implements StackInterface<T> {
      */
     private void ensureCapacity() {
         if (topIndex >= stack.length - 1) {
-            int newLength = 2 * stack.length;
-            checkCapacity(newLength);
-            stack = Arrays.copyOf(stack, newLength);
+            stack = Arrays.copyOf(stack, getGrownLength(stack.length, maxCapacity));
         }
     }// end ensureCapacity
 
@@ -119,15 +134,49 @@ public final class ResizableArrayStack<T> implements StackInterface<T> {
         }
     } //end checkIntegrity
 
+    /**
+     * Checks the capacities given to a stack's constructor. IntArrayStack
+     * shares this check and getGrownLength, so both stacks have the same limits.
+     * @param initialCapacity The initial capacity of the stack
+     * @param maxCapacity The largest number of entries the stack may hold
+     * @throws IllegalArgumentException if initialCapacity is negative, or
+     *         maxCapacity is not positive or exceeds MAX_ARRAY_CAPACITY
+     * @throws IllegalStateException if initialCapacity exceeds maxCapacity
+     */
+    static void checkCapacities(int initialCapacity, int maxCapacity) {
+        if (maxCapacity < 1 || maxCapacity > MAX_ARRAY_CAPACITY) {
+            throw new IllegalArgumentException("Illegal maximum capacity: " + maxCapacity);
+        }
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Illegal initial capacity: " + initialCapacity);
+        }
+        checkCapacity(initialCapacity, maxCapacity);
+    }//end checkCapacities
+
+    /**
+     * Gets the length that a full stack array grows to. The array doubles,
+     * so n pushes copy O(n) entries in total; the last step is clamped to
+     * the maximum capacity instead of failing early.
+     * @param currentLength The length of the full array
+     * @param maxCapacity The largest number of entries the stack may hold
+     * @return The new length of the array
+     * @throws IllegalStateException if the array already has maxCapacity entries
+     */
+    static int getGrownLength(int currentLength, int maxCapacity) {
+        checkCapacity(currentLength + 1L, maxCapacity);
+        return (int) Math.min(2L * Math.max(currentLength, 1), maxCapacity);
+    }//end getGrownLength
+
     /**
      * Checks if the specified capacity exceeds the maximum allowed capacity.
      * @param capacity The capacity to be checked
+     * @param maxCapacity The maximum allowed capacity
      * @throws IllegalStateException if the capacity exceeds the maximum allowed
      */
-    private void checkCapacity(int capacity) {
-        if (capacity > MAX_CAPACITY) {
+    private static void checkCapacity(long capacity, int maxCapacity) {
+        if (capacity > maxCapacity) {
             throw new IllegalStateException("Attempt to create a stack whose " +
-                                            "capacity exceeds allowed maximum of " + MAX_CAPACITY);
+                                            "capacity exceeds allowed maximum of " + maxCapacity);
         }
     }//end checkCapacity
 } // end ArrayStack
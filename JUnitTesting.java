@@ -1,8 +1,19 @@
 import static org.junit.Assert.*;
+import java.util.concurrent.Executors;
 import org.junit.Before;
 import org.junit.Test;
+import ADTPackage.Dictionary.HashedDictionary;
+import ADTPackage.Dictionary.UnsortedLinkedDictionary;
 import ADTPackage.Graph.*;
+import ADTPackage.List.LinkedListWithIterator;
+import ADTPackage.PriorityQueue.IndexedDaryHeap;
+import ADTPackage.Queue.IntArrayQueue;
 import ADTPackage.Queue.LinkedQueue;
+import ADTPackage.Queue.QueueInterface;
+import ADTPackage.Queue.ResizableArrayQueue;
+import ADTPackage.Stack.IntArrayStack;
+import ADTPackage.Stack.ResizableArrayStack;
+import ADTPackage.Stack.StackInterface;
 
 public class JUnitTesting {
 
@@ -74,5 +85,1370 @@ public class JUnitTesting {
             assertEquals(expected, bfsResult.dequeue());
         }
     }
+
+    @Test
+    public void testLinkedDictionaryBackend() {
+        Graph<String> linkedGraph = new Graph<>(new UnsortedLinkedDictionary<>());
+        assertTrue(linkedGraph.addVertex("A"));
+        assertTrue(linkedGraph.addVertex("B"));
+        assertFalse(linkedGraph.addVertex("A"));
+        assertTrue(linkedGraph.addEdge("A", "B"));
+        assertTrue(linkedGraph.hasEdge("A", "B"));
+        assertEquals(2, linkedGraph.getNumberOfVertices());
+    }
     
+    @Test
+    public void testFreezeMatchesGraph() {
+        CsrGraph<String> frozen = graph.freeze();
+        assertEquals(5, frozen.getNumberOfVertices());
+        assertEquals(5, frozen.getNumberOfEdges());
+
+        QueueInterface<String> expected = graph.getDepthFirstTraversal("A");
+        QueueInterface<String> actual = frozen.getDepthFirstTraversal("A");
+        while (!expected.isEmpty()) {
+            assertEquals(expected.dequeue(), actual.dequeue());
+        }
+        assertTrue(actual.isEmpty());
+    }
+
+    @Test
+    public void testCheapestPath() {
+        graph.addEdge("A", "E", 10);
+        graph.addEdge("B", "C", 1);
+        ResizableArrayStack<String> path = new ResizableArrayStack<>();
+
+        // A->C->E has cost 0, since addEdge(T, T) adds zero-weight edges
+        assertEquals(0.0, graph.getCheapestPath("A", "E", path), 0.0);
+        assertEquals("A", path.pop());
+        assertEquals("C", path.pop());
+        assertEquals("E", path.pop());
+        assertTrue(path.isEmpty());
+
+        assertEquals(Double.POSITIVE_INFINITY, graph.getCheapestPath("E", "A", path), 0.0);
+        assertTrue(path.isEmpty());
+    }
+
+    @Test
+    public void testTopologicalOrder() {
+        StackInterface<String> order = graph.getTopologicalOrder();
+        String[] expectedOrder = {"A", "B", "C", "D", "E"};
+        for (String expected : expectedOrder) {
+            assertEquals(expected, order.pop());
+        }
+        assertTrue(order.isEmpty());
+    }
+
+    @Test(expected = GraphCycleException.class)
+    public void testTopologicalOrderRejectsCycle() {
+        graph.addEdge("E", "A");
+        graph.getTopologicalOrder();
+    }
+
+    @Test
+    public void testShortestPath() {
+        ResizableArrayStack<String> path = new ResizableArrayStack<>();
+        assertEquals(2, graph.getShortestPath("A", "E", path));
+        assertEquals("A", path.pop());
+        assertEquals("C", path.pop());
+        assertEquals("E", path.pop());
+        assertTrue(path.isEmpty());
+
+        // Repeated queries must not see state left by earlier ones
+        assertEquals(-1, graph.getShortestPath("E", "A", path));
+        assertTrue(path.isEmpty());
+        assertEquals(1, graph.getShortestPath("B", "D", path));
+    }
+
+    @Test
+    public void testConcurrentQueryEngine() {
+        String[] begins = {"A", "A", "E", "B"};
+        String[] ends = {"E", "D", "A", "B"};
+        try (ConcurrentGraphQueryEngine<String> engine =
+                 new ConcurrentGraphQueryEngine<>(graph, 2, Executors.defaultThreadFactory())) {
+            PathResult<String>[] results = engine.getShortestPaths(begins, ends);
+            assertEquals(2, results[0].getLength());
+            assertEquals(2, results[1].getLength());
+            assertFalse(results[2].hasPath());
+            assertEquals(0, results[3].getLength());
+            assertEquals("A", results[1].getPath().peek());
+        }
+    }
+
+    @Test
+    public void testLazyTraversal() {
+        TraversalIterator<String> bfs = graph.getBreadthFirstIterator("A");
+        String[] expectedOrder = {"A", "B", "C", "D", "E"};
+        int[] expectedDepths = {0, 1, 1, 2, 2};
+        for (int i = 0; i < expectedOrder.length; i++) {
+            assertEquals(expectedOrder[i], bfs.next());
+            assertEquals(expectedDepths[i], bfs.getDepth());
+        }
+        assertFalse(bfs.hasNext());
+
+        TraversalIterator<String> dfs = graph.getDepthFirstIterator("A");
+        assertEquals("A", dfs.next());
+        assertEquals("B", dfs.next());
+        assertEquals("D", dfs.next());
+        assertEquals(2, dfs.getDepth());
+
+        assertEquals("C", graph.streamBreadthFirst("A").filter(v -> !v.equals("A")).skip(1).findFirst().get());
+        assertEquals(0, graph.streamDepthFirst("Z").count());
+    }
+
+    @Test
+    public void testBidirectionalShortestPath() {
+        ResizableArrayStack<String> path = new ResizableArrayStack<>();
+        assertEquals(2, graph.getShortestPath("A", "E", path, true));
+        assertEquals("A", path.pop());
+        assertEquals("C", path.pop());
+        assertEquals("E", path.pop());
+        assertTrue(path.isEmpty());
+
+        assertEquals(-1, graph.getShortestPath("E", "A", path, true));
+        assertTrue(path.isEmpty());
+        assertEquals(0, graph.getShortestPath("D", "D", path, true));
+        assertEquals("D", path.pop());
+    }
+
+    @Test
+    public void testAStarSearch() {
+        // Vertices on a line at x = 0, 1, 2, ...; the weights equal the distances
+        Graph<Integer> line = new Graph<>();
+        for (int x = 0; x < 6; x++) {
+            line.addVertex(x);
+        }
+        for (int x = 0; x < 5; x++) {
+            line.addEdge(x, x + 1, 1);
+            line.addEdge(x + 1, x, 1);
+        }
+        ResizableArrayStack<Integer> path = new ResizableArrayStack<>();
+
+        assertEquals(3.0, line.getCheapestPath(2, 5, path), 0.0);
+        int dijkstraExpanded = line.getLastExpandedCount();
+        path.clear();
+        assertEquals(3.0, line.getCheapestPath(2, 5, path, (x, goal) -> Math.abs(goal - x)), 0.0);
+        assertEquals(Integer.valueOf(2), path.peek());
+        assertTrue(line.getLastExpandedCount() < dijkstraExpanded);
+    }
+
+    @Test
+    public void testMultiSourceDistances() {
+        graph.addEdge("A", "E", 5);
+        CsrGraph<String> frozen = graph.freeze();
+        MultiSourceShortestPaths distances = new MultiSourceShortestPaths(frozen);
+        int n = frozen.getNumberOfVertices();
+        int a = frozen.getIndex("A");
+        int e = frozen.getIndex("E");
+        int[] sources = {a, e};
+
+        int[] hops = distances.getHopDistances(sources);
+        assertEquals(1, hops[e]);
+        assertEquals(-1, hops[n + a]);
+        assertEquals(0, hops[n + e]);
+
+        float[] costs = distances.getCheapestCosts(sources);
+        float[] allPairs = distances.getAllPairsCosts();
+        assertEquals(0.0f, costs[e], 0.0f);
+        assertEquals(Float.POSITIVE_INFINITY, costs[n + a], 0.0f);
+        assertEquals(costs[e], allPairs[a * n + e], 0.0f);
+    }
+
+    @Test
+    public void testDynamicShortestPaths() {
+        try (DynamicShortestPaths<String> paths = new DynamicShortestPaths<>(graph)) {
+            assertTrue(paths.addSource("A"));
+            assertEquals(2, paths.getDistance("A", "E"));
+
+            // The new edge shortens the path to E and nothing else
+            graph.addVertex("F");
+            graph.addEdge("A", "F");
+            graph.addEdge("F", "E");
+            assertEquals(1, paths.getDistance("A", "F"));
+            assertEquals(2, paths.getDistance("A", "E"));
+            graph.addEdge("A", "E");
+
+            ResizableArrayStack<String> path = new ResizableArrayStack<>();
+            assertEquals(1, paths.getShortestPath("A", "E", path));
+            assertEquals("A", path.pop());
+            assertEquals("E", path.pop());
+            assertEquals(-1, paths.getDistance("A", "Z"));
+        }
+    }
+
+    @Test
+    public void testComponents() {
+        graph.addEdge("E", "C");
+        graph.addVertex("F");
+        CsrGraph<String> frozen = graph.freeze();
+        int a = frozen.getIndex("A");
+        int c = frozen.getIndex("C");
+        int e = frozen.getIndex("E");
+        int f = frozen.getIndex("F");
+
+        int[] weak = GraphComponents.getWeaklyConnectedComponents(frozen);
+        assertEquals(weak[a], weak[e]);
+        assertNotEquals(weak[a], weak[f]);
+
+        // C and E form a cycle; every other vertex is alone
+        int[] strong = GraphComponents.getStronglyConnectedComponents(frozen);
+        assertEquals(strong[c], strong[e]);
+        assertNotEquals(strong[a], strong[c]);
+        assertTrue(strong[a] > strong[c]);
+    }
+
+    @Test
+    public void testMinimumSpanningForest() {
+        graph.addEdge("A", "E", -1);
+        graph.addEdge("B", "C", 2);
+        graph.addVertex("F");
+        CsrGraph<String> frozen = graph.freeze();
+        MinimumSpanningForests algorithms = new MinimumSpanningForests();
+
+        // Five vertices in one tree plus F alone need four edges
+        SpanningForest<String> prim = algorithms.getPrimForest(frozen);
+        SpanningForest<String> kruskal = algorithms.getKruskalForest(frozen, true);
+        assertEquals(4, prim.getNumberOfEdges());
+        assertEquals(4, kruskal.getNumberOfEdges());
+        assertEquals(-1.0, prim.getTotalWeight(), 0.0);
+        assertEquals(-1.0, kruskal.getTotalWeight(), 0.0);
+        assertEquals(-1.0, kruskal.getWeight(0), 0.0);
+
+        Graph<String> forest = kruskal.toGraph();
+        assertEquals(6, forest.getNumberOfVertices());
+        assertEquals(8, forest.getNumberOfEdges());
+    }
+
+    @Test
+    public void testPageRank() {
+        graph.addEdge("E", "A");
+        CsrGraph<String> frozen = graph.freeze();
+        VertexComputeResult result = new VertexComputeEngine().run(frozen, VertexPrograms.pageRank(0.85), 100, 1e-10);
+        double[] ranks = result.getValues();
+        assertTrue(result.hasConverged());
+
+        double total = 0;
+        for (double rank : ranks) {
+            total += rank;
+        }
+        assertEquals(1.0, total, 1e-9);
+        // Every path back to A passes through E, which has two in-edges
+        assertTrue(ranks[frozen.getIndex("E")] > ranks[frozen.getIndex("B")]);
+    }
+
+    @Test
+    public void testRemoveEdge() {
+        assertTrue(graph.removeEdge("A", "C"));
+        assertFalse(graph.removeEdge("A", "C"));
+        assertFalse(graph.removeEdge("C", "A"));
+        assertFalse(graph.hasEdge("A", "C"));
+        assertEquals(4, graph.getNumberOfEdges());
+        assertEquals(3, graph.getShortestPath("A", "E", new ResizableArrayStack<>()));
+    }
+
+    @Test
+    public void testRemoveVertex() {
+        assertTrue(graph.removeVertex("B"));
+        assertFalse(graph.removeVertex("B"));
+        assertEquals(4, graph.getNumberOfVertices());
+        assertEquals(3, graph.getNumberOfEdges());
+        assertFalse(graph.hasEdge("A", "B"));
+        assertEquals(-1, graph.getShortestPath("A", "D", new ResizableArrayStack<>()));
+
+        // The remaining vertices are still fully usable
+        graph.addEdge("A", "D");
+        assertEquals(4, graph.freeze().getNumberOfEdges());
+        assertEquals(1, graph.getShortestPath("A", "D", new ResizableArrayStack<>()));
+    }
+
+    @Test
+    public void testLinkedDictionaryRemove() {
+        UnsortedLinkedDictionary<String, Integer> dictionary = new UnsortedLinkedDictionary<>();
+        dictionary.add("a", 1);
+        dictionary.add("b", 2);
+        dictionary.add("c", 3);
+        assertEquals(Integer.valueOf(2), dictionary.remove("b"));
+        assertNull(dictionary.remove("b"));
+        assertFalse(dictionary.contains("b"));
+        assertEquals(2, dictionary.getSize());
+        assertEquals(Integer.valueOf(3), dictionary.remove("c"));
+        assertEquals(Integer.valueOf(1), dictionary.getValue("a"));
+    }
+
+    @Test
+    public void testGraphLoader() throws java.io.IOException {
+        java.nio.file.Path file = java.nio.file.Files.createTempFile("edges", ".txt");
+        try {
+            java.nio.file.Files.writeString(file,
+                "# origin end weight\n1 2 1.5\n1\t3\r\n\n2 3 2e1\n3 3 9\n1 2 7\n");
+            CsrGraph<Integer> loaded = new GraphLoader<Integer>(Integer::valueOf).loadCsrGraph(file);
+            assertEquals(3, loaded.getNumberOfVertices());
+            assertEquals(3, loaded.getNumberOfEdges());   // The self-loop and repeated edge are dropped
+            assertEquals(Integer.valueOf(3), loaded.getLabel(2));
+
+            java.nio.file.Files.writeString(file, "A,B,1\nB , C,2\nA,C,5\n");
+            Graph<String> csvGraph = new GraphLoader<String>(label -> label, ',',
+                java.util.concurrent.ForkJoinPool.commonPool()).loadGraph(file);
+            assertEquals(3.0, csvGraph.getCheapestPath("A", "C", new ResizableArrayStack<>()), 0.0);
+
+            java.nio.file.Files.writeString(file, "A\n");
+            try {
+                new GraphLoader<String>(label -> label).loadGraph(file);
+                fail("A line with one field was accepted");
+            } catch (java.io.IOException expected) {
+            }
+        } finally {
+            java.nio.file.Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testMappedGraph() throws java.io.IOException {
+        java.nio.file.Path file = java.nio.file.Files.createTempFile("graph", ".bin");
+        try {
+            CsrGraph<String> snapshot = graph.freeze();
+            MappedGraph.write(snapshot, file);
+            MappedGraph<String> mapped = MappedGraph.open(file, label -> label);
+            assertTrue(mapped.isIntact());
+            assertEquals(snapshot.getNumberOfEdges(), mapped.getNumberOfEdges());
+            assertEquals(snapshot.getIndex("D"), mapped.getIndex("D"));
+            assertEquals(-1, mapped.getIndex("Z"));
+            QueueInterface<String> bfsResult = mapped.getBreadthFirstTraversal("A");
+            for (String expected : new String[] {"A", "B", "C", "D", "E"}) {
+                assertEquals(expected, bfsResult.dequeue());
+            }
+            QueueInterface<String> dfsResult = mapped.getDepthFirstTraversal("A");
+            QueueInterface<String> expectedDfs = graph.getDepthFirstTraversal("A");
+            while (!expectedDfs.isEmpty()) {
+                assertEquals(expectedDfs.dequeue(), dfsResult.dequeue());
+            }
+            assertTrue(dfsResult.isEmpty());
+            assertEquals(graph.getShortestPath("A", "E", new ResizableArrayStack<>()),
+                         mapped.getShortestPath("A", "E", new ResizableArrayStack<>()));
+
+            // A changed byte no longer matches the checksum
+            byte[] bytes = java.nio.file.Files.readAllBytes(file);
+            bytes[bytes.length - 1] ^= 1;
+            java.nio.file.Files.write(file, bytes);
+            assertFalse(MappedGraph.open(file, label -> label).isIntact());
+        } finally {
+            java.nio.file.Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testOffHeapGraph() {
+        OffHeapGraph<String> offHeap = new OffHeapGraph<>();
+        for (String label : new String[] {"A", "B", "C", "D", "E"}) {
+            offHeap.addVertex(label);
+        }
+        offHeap.addEdge("A", "B", 2);
+        offHeap.addEdge("A", "C", 1);
+        offHeap.addEdge("B", "D", 1);
+        offHeap.addEdge("C", "E", 5);
+        offHeap.addEdge("D", "E", 1);
+        assertFalse(offHeap.addEdge("A", "B"));
+        assertTrue(offHeap.getOffHeapBytes() > 0);
+
+        QueueInterface<String> bfsResult = offHeap.getBreadthFirstTraversal("A");
+        QueueInterface<String> expected = graph.getBreadthFirstTraversal("A");
+        while (!expected.isEmpty()) {
+            assertEquals(expected.dequeue(), bfsResult.dequeue());
+        }
+        assertEquals(4.0, offHeap.getCheapestPath("A", "E", new ResizableArrayStack<>()), 0.0);
+        assertEquals("A", offHeap.getTopologicalOrder().peek());
+
+        // Vertex views follow the same edges
+        java.util.Iterator<VertexInterface<String>> neighbors = offHeap.getVertex("A").getNeighborIterator();
+        assertEquals("B", neighbors.next().getLabel());
+        assertEquals("C", neighbors.next().getLabel());
+        assertFalse(neighbors.hasNext());
+
+        assertTrue(offHeap.removeVertex("D"));
+        assertEquals(3, offHeap.getNumberOfEdges());
+        assertEquals(2, offHeap.getShortestPath("A", "E", new ResizableArrayStack<>()));
+    }
+
+    @Test
+    public void testIntGraph() {
+        // The same graph as setUp, with A through E numbered 0 through 4
+        IntGraph intGraph = new IntGraph(5);
+        intGraph.addEdge(0, 1);
+        intGraph.addEdge(0, 2);
+        intGraph.addEdge(1, 3);
+        intGraph.addEdge(2, 4);
+        intGraph.addEdge(3, 4);
+        assertFalse(intGraph.addEdge(0, 1));
+        assertFalse(intGraph.addEdge(0, 5));
+        assertEquals(5, intGraph.getNumberOfEdges());
+
+        assertArrayEquals(new int[] {0, 1, 2, 3, 4}, intGraph.getBreadthFirstOrder(0));
+        IntArrayQueue dfsResult = new IntArrayQueue();
+        intGraph.getDepthFirstTraversal(0, dfsResult);
+        assertArrayEquals(new int[] {0, 1, 3, 4, 2}, dfsResult.toArray());
+
+        IntArrayStack path = new IntArrayStack();
+        assertEquals(2, intGraph.getShortestPath(0, 4, path));
+        assertEquals(0, path.pop());
+        assertEquals(2, path.pop());
+        assertEquals(4, path.pop());
+
+        assertTrue(intGraph.removeEdge(0, 2));
+        assertFalse(intGraph.hasEdge(0, 2));
+        assertEquals(3, intGraph.getShortestPath(0, 4, new IntArrayStack()));
+        assertEquals(-1, intGraph.getShortestPath(4, 0, new IntArrayStack()));
+    }
+
+    // A key whose hash code is chosen by the test, so keys can be made to collide
+    private static final class CollidingKey {
+        private final int hash;
+        private final int id;
+
+        CollidingKey(int hash, int id) {
+            this.hash = hash;
+            this.id = id;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return (other instanceof CollidingKey)
+                && (((CollidingKey) other).hash == hash) && (((CollidingKey) other).id == id);
+        }
+    }
+
+    @Test
+    public void testHashedDictionaryRemoveInCollisionRun() {
+        // Eight keys with one hash code fill a run of eight slots of the
+        // 16-slot table. Find a hash code whose run wraps past the table's
+        // end: then the key iterator, which walks the slots in order, does
+        // not return the first key added first.
+        HashedDictionary<CollidingKey, Integer> dictionary = null;
+        CollidingKey[] keys = new CollidingKey[8];
+        for (int hash = 0; (dictionary == null) && (hash < 1000); hash++) {
+            HashedDictionary<CollidingKey, Integer> candidate = new HashedDictionary<>();
+            for (int id = 0; id < keys.length; id++) {
+                keys[id] = new CollidingKey(hash, id);
+                candidate.add(keys[id], id);
+            }
+            if (!candidate.getKeyIterator().next().equals(keys[0])) {
+                dictionary = candidate;
+            }
+        }
+        assertNotNull(dictionary);
+
+        // Remove from the middle of the run, then from its start; every
+        // later key must still be found after being shifted back
+        int[] removalOrder = {3, 0, 7, 5};
+        boolean[] removed = new boolean[keys.length];
+        for (int id : removalOrder) {
+            assertEquals(Integer.valueOf(id), dictionary.remove(keys[id]));
+            removed[id] = true;
+            for (int other = 0; other < keys.length; other++) {
+                assertEquals(!removed[other], dictionary.contains(keys[other]));
+                assertEquals(removed[other] ? null : Integer.valueOf(other), dictionary.getValue(keys[other]));
+            }
+        }
+        assertEquals(4, dictionary.getSize());
+        assertNull(dictionary.remove(keys[3]));
+        assertNull(dictionary.add(keys[3], 33));
+        assertEquals(Integer.valueOf(33), dictionary.getValue(keys[3]));
+
+        // Mixed runs: keys of three hash codes against java.util.HashMap
+        java.util.Random random = new java.util.Random(11);
+        HashedDictionary<CollidingKey, Integer> mixed = new HashedDictionary<>();
+        java.util.Map<CollidingKey, Integer> expected = new java.util.HashMap<>();
+        for (int step = 0; step < 5000; step++) {
+            int id = random.nextInt(40);
+            CollidingKey key = new CollidingKey(id % 3, id);
+            if (random.nextBoolean()) {
+                assertEquals(expected.put(key, step), mixed.add(key, step));
+            } else {
+                assertEquals(expected.remove(key), mixed.remove(key));
+            }
+            assertEquals(expected.size(), mixed.getSize());
+        }
+        for (int id = 0; id < 40; id++) {
+            CollidingKey key = new CollidingKey(id % 3, id);
+            assertEquals(expected.get(key), mixed.getValue(key));
+        }
+    }
+
+    @Test
+    public void testHashedDictionaryResize() {
+        // The default table has 16 slots, so these keys force several resizes
+        HashedDictionary<Integer, String> dictionary = new HashedDictionary<>();
+        for (int key = 0; key < 1000; key++) {
+            assertNull(dictionary.add(key, "v" + key));
+        }
+        assertEquals(1000, dictionary.getSize());
+        for (int key = 0; key < 1000; key++) {
+            assertTrue(dictionary.contains(key));
+            assertEquals("v" + key, dictionary.getValue(key));
+        }
+        assertFalse(dictionary.contains(1000));
+        assertNull(dictionary.getValue(-1));
+
+        for (int key = 0; key < 1000; key += 2) {
+            assertEquals("v" + key, dictionary.remove(key));
+        }
+        int count = 0;
+        java.util.Iterator<Integer> keys = dictionary.getKeyIterator();
+        while (keys.hasNext()) {
+            assertEquals(1, keys.next() % 2);
+            count++;
+        }
+        assertEquals(500, count);
+        assertEquals("v999", dictionary.getValue(999));
+    }
+
+    @Test
+    public void testLinkedListTail() {
+        LinkedListWithIterator<String> list = new LinkedListWithIterator<>();
+        list.add("a");
+        list.add("b");
+        list.add("c");
+
+        // Removing the last entry moves the tail back, so add still appends
+        assertEquals("c", list.remove(3));
+        list.add("d");
+        assertArrayEquals(new String[] {"a", "b", "d"}, list.toArray());
+
+        // Adding at position length + 1 also appends through the tail
+        list.add(4, "e");
+        list.add("f");
+        assertArrayEquals(new String[] {"a", "b", "d", "e", "f"}, list.toArray());
+
+        // Emptying the list from the front clears the tail
+        while (!list.isEmpty()) {
+            list.remove(1);
+        }
+        list.add("g");
+        list.add(1, "h");
+        list.add("i");
+        assertArrayEquals(new String[] {"h", "g", "i"}, list.toArray());
+        list.clear();
+        list.add("j");
+        assertEquals(1, list.getLength());
+        assertEquals("j", list.getEntry(1));
+    }
+
+    @Test
+    public void testHighDegreeVertex() {
+        // Past eight edges a vertex looks its neighbors up in an index
+        Graph<Integer> star = new Graph<>();
+        for (int vertex = 0; vertex <= 40; vertex++) {
+            star.addVertex(vertex);
+        }
+        for (int vertex = 1; vertex <= 40; vertex++) {
+            assertTrue(star.addEdge(0, vertex));
+            assertFalse(star.addEdge(0, vertex));
+        }
+        for (int vertex = 1; vertex <= 40; vertex += 3) {
+            assertTrue(star.removeEdge(0, vertex));
+        }
+        for (int vertex = 1; vertex <= 40; vertex++) {
+            assertEquals((vertex - 1) % 3 != 0, star.hasEdge(0, vertex));
+            assertFalse(star.hasEdge(vertex, 0));
+        }
+        assertTrue(star.addEdge(0, 1));
+        assertTrue(star.hasEdge(0, 1));
+        assertEquals(27, star.getNumberOfEdges());
+
+        // Removing a neighbor drops it from the index as well
+        assertTrue(star.removeVertex(2));
+        assertFalse(star.hasEdge(0, 2));
+        assertTrue(star.addVertex(2));
+        assertFalse(star.hasEdge(0, 2));
+        assertTrue(star.addEdge(0, 2));
+        assertEquals(27, star.getNumberOfEdges());
+    }
+
+    @Test
+    public void testResizableArrayQueueWrapAround() {
+        // Advance the front so that the 16 entries of a full queue wrap.
+        // toArray returns an Object[], so the entries are typed Object.
+        ResizableArrayQueue<Object> queue = new ResizableArrayQueue<>();
+        for (int i = 0; i < 10; i++) {
+            queue.enqueue(-1);
+            queue.dequeue();
+        }
+        for (int i = 0; i < 16; i++) {
+            queue.enqueue(i);
+        }
+        Object[] expected = new Object[16];
+        for (int i = 0; i < 16; i++) {
+            expected[i] = i;
+        }
+        assertArrayEquals(expected, queue.toArray());
+
+        // Growing while wrapped must keep the entries in order
+        for (int i = 16; i < 40; i++) {
+            queue.enqueue(i);
+        }
+        assertEquals(40, queue.getSize());
+        for (int i = 0; i < 20; i++) {
+            assertEquals(Integer.valueOf(i), queue.dequeue());
+        }
+        for (int i = 40; i < 60; i++) {
+            queue.enqueue(i);   // Wraps again in the 64-entry array
+        }
+
+        // drainTo takes a wrapped prefix, then the rest
+        Object[] firstPart = new Object[30];
+        assertEquals(30, queue.drainTo(firstPart));
+        for (int i = 0; i < 30; i++) {
+            assertEquals(Integer.valueOf(20 + i), firstPart[i]);
+        }
+        Object[] rest = new Object[20];
+        assertEquals(10, queue.drainTo(rest));
+        assertEquals(Integer.valueOf(59), rest[9]);
+        assertNull(rest[10]);
+
+        // An empty queue returns null rather than throwing
+        assertTrue(queue.isEmpty());
+        assertNull(queue.dequeue());
+        assertNull(queue.getFront());
+        assertEquals(0, queue.toArray().length);
+        queue.enqueue(7);
+        assertEquals(Integer.valueOf(7), queue.dequeue());
+    }
+
+    @Test
+    public void testDeepChainTraversal() {
+        // Deeper than the 10,000 entries stacks were once limited to
+        int length = 20000;
+        Graph<Integer> chain = new Graph<>();
+        Integer[] labels = new Integer[length];
+        for (int vertex = 0; vertex < length; vertex++) {
+            labels[vertex] = vertex;
+            chain.addVertex(labels[vertex]);
+        }
+        for (int vertex = 1; vertex < length; vertex++) {
+            chain.addEdge(labels[vertex - 1], labels[vertex]);
+        }
+
+        QueueInterface<Integer> dfsResult = chain.getDepthFirstTraversal(labels[0]);
+        for (int vertex = 0; vertex < length; vertex++) {
+            assertEquals(labels[vertex], dfsResult.dequeue());
+        }
+        assertTrue(dfsResult.isEmpty());
+
+        ResizableArrayStack<Integer> path = new ResizableArrayStack<>();
+        assertEquals(length - 1, chain.getShortestPath(labels[0], labels[length - 1], path));
+        for (int vertex = 0; vertex < length; vertex++) {
+            assertEquals(labels[vertex], path.pop());
+        }
+        assertTrue(path.isEmpty());
+
+        StackInterface<Integer> order = chain.getTopologicalOrder();
+        for (int vertex = 0; vertex < length; vertex++) {
+            assertEquals(labels[vertex], order.pop());
+        }
+    }
+
+    @Test
+    public void testIntArrayStack() {
+        IntArrayStack stack = new IntArrayStack(2);
+        assertTrue(stack.isEmpty());
+        for (int i = 0; i < 1000; i++) {
+            stack.push(i);    // Grows from two entries
+        }
+        assertEquals(1000, stack.getSize());
+        assertEquals(999, stack.peek());
+        for (int i = 999; i >= 0; i--) {
+            assertEquals(i, stack.pop());
+        }
+        try {
+            stack.pop();
+            fail("An empty stack was popped");
+        } catch (java.util.EmptyStackException expected) {
+        }
+        stack.push(5);
+        stack.clear();
+        assertTrue(stack.isEmpty());
+
+        // A stack with no room at all still grows, up to its maximum
+        IntArrayStack bounded = new IntArrayStack(0, 3);
+        bounded.push(1);
+        bounded.push(2);
+        bounded.push(3);
+        try {
+            bounded.push(4);
+            fail("A stack grew past its maximum capacity");
+        } catch (IllegalStateException expected) {
+        }
+        assertEquals(3, bounded.pop());
+    }
+
+    @Test
+    public void testStackCapacityChecks() {
+        int[][] illegal = {{-1, 10}, {10, 0}, {10, -5}, {10, Integer.MAX_VALUE}};
+        for (int[] capacities : illegal) {
+            try {
+                new IntArrayStack(capacities[0], capacities[1]);
+                fail("IntArrayStack accepted capacities " + capacities[0] + ", " + capacities[1]);
+            } catch (IllegalArgumentException expected) {
+            }
+            try {
+                new ResizableArrayStack<String>(capacities[0], capacities[1]);
+                fail("ResizableArrayStack accepted capacities " + capacities[0] + ", " + capacities[1]);
+            } catch (IllegalArgumentException expected) {
+            }
+        }
+        try {
+            new IntArrayStack(-1);
+            fail("IntArrayStack accepted a negative capacity");
+        } catch (IllegalArgumentException expected) {
+        }
+        try {
+            new IntArrayStack(11, 10);
+            fail("IntArrayStack started larger than its maximum");
+        } catch (IllegalStateException expected) {
+        }
+    }
+
+    @Test
+    public void testIndexedDaryHeap() {
+        IndexedDaryHeap heap = new IndexedDaryHeap(4);
+        heap.add(0, 5.0);
+        heap.add(1, 3.0);
+        heap.add(2, 3.0);
+        heap.add(3, 1.0);
+
+        // addOrDecrease lowers a present key, and ignores a higher priority
+        assertTrue(heap.addOrDecrease(0, 2.0));
+        assertFalse(heap.addOrDecrease(0, 4.0));
+        assertFalse(heap.addOrDecrease(0, 2.0));
+        assertEquals(2.0, heap.getPriority(0), 0.0);
+        assertEquals(4, heap.getSize());
+
+        // Removal follows priority; both ties come out, once each, in either order
+        assertEquals(3, heap.remove());
+        assertFalse(heap.contains(3));
+        assertEquals(0, heap.remove());
+        int firstTie = heap.remove();
+        int secondTie = heap.remove();
+        assertEquals(3, firstTie + secondTie);
+        assertTrue(heap.isEmpty());
+        assertFalse(heap.contains(firstTie));
+
+        // A removed index can be added again; an index past the capacity cannot
+        heap.add(3, 0.5);
+        assertTrue(heap.contains(3));
+        try {
+            heap.add(4, 1.0);
+            fail("An index past the capacity was accepted");
+        } catch (IllegalArgumentException expected) {
+        }
+        try {
+            heap.add(3, 1.0);
+            fail("An index was added twice");
+        } catch (IllegalArgumentException expected) {
+        }
+
+        // Growing keeps the entries already in the heap
+        heap.ensureCapacity(100);
+        assertEquals(100, heap.getCapacity());
+        for (int index = 4; index < 100; index++) {
+            heap.add(index, 100 - index);
+        }
+        assertEquals(3, heap.remove());
+        assertEquals(99, heap.remove());
+        assertTrue(heap.contains(4));
+    }
+
+    @Test
+    public void testIndexedDaryHeapOrder() {
+        // Random adds, decreases and removals, checked against a sorted scan
+        java.util.Random random = new java.util.Random(3);
+        for (int arity = 2; arity <= 5; arity++) {
+            IndexedDaryHeap heap = new IndexedDaryHeap(200, arity);
+            double[] priorities = new double[200];
+            boolean[] present = new boolean[200];
+            for (int step = 0; step < 5000; step++) {
+                int index = random.nextInt(200);
+                double priority = random.nextInt(50);  // Many ties
+                if (random.nextInt(3) > 0) {
+                    boolean lower = !present[index] || (priority < priorities[index]);
+                    assertEquals(lower, heap.addOrDecrease(index, priority));
+                    if (lower) {
+                        priorities[index] = priority;
+                        present[index] = true;
+                    }
+                } else if (!heap.isEmpty()) {
+                    double least = Double.POSITIVE_INFINITY;
+                    for (int other = 0; other < 200; other++) {
+                        if (present[other]) {
+                            least = Math.min(least, priorities[other]);
+                        }
+                    }
+                    int removed = heap.remove();
+                    assertTrue(present[removed]);
+                    assertEquals(least, priorities[removed], 0.0);
+                    present[removed] = false;
+                    assertFalse(heap.contains(removed));
+                }
+            }
+        }
+    }
+
+    // Builds a graph of random edges, each added in both directions, plus
+    // a few vertices with no edges that no traversal reaches
+    private static Graph<Integer> randomGraph(int numberOfVertices, int degree, long seed) {
+        java.util.Random random = new java.util.Random(seed);
+        Graph<Integer> result = new Graph<>();
+        for (int vertex = 0; vertex < numberOfVertices + 5; vertex++) {
+            result.addVertex(vertex);
+        }
+        for (int edge = 0; edge < numberOfVertices * degree / 2; edge++) {
+            int begin = random.nextInt(numberOfVertices);
+            int end = random.nextInt(numberOfVertices);
+            result.addEdge(begin, end);
+            result.addEdge(end, begin);
+        }
+        return result;
+    }
+
+    @Test
+    public void testDirectionOptimizingTraversal() {
+        // With 2,000 vertices of degree 16 the frontier soon has more edges
+        // than the unexplored part of the graph over 14, so middle levels
+        // are expanded bottom-up and the last ones top-down again
+        Graph<Integer> random = randomGraph(2000, 16, 5);
+        java.util.Map<Integer, Integer> levels = new java.util.HashMap<>();
+        TraversalIterator<Integer> topDown = random.getBreadthFirstIterator(0);
+        while (topDown.hasNext()) {
+            levels.put(topDown.next(), topDown.getDepth());
+        }
+        assertTrue(levels.size() > 1900);
+
+        QueueInterface<Integer> optimized = random.getBreadthFirstTraversal(0, new LinkedQueue<>(), true);
+        java.util.Set<Integer> visited = new java.util.HashSet<>();
+        int previousLevel = 0;
+        while (!optimized.isEmpty()) {
+            Integer vertex = optimized.dequeue();
+            assertTrue(visited.add(vertex));
+            Integer level = levels.get(vertex);
+            assertNotNull(level);
+            // Levels never decrease along the queue, so each vertex is
+            // reported on the same level as in the top-down traversal
+            assertTrue(level >= previousLevel);
+            previousLevel = level;
+        }
+        assertEquals(levels.size(), visited.size());
+    }
+
+    @Test
+    public void testParallelBreadthFirstSearch() {
+        // Frontiers of this graph hold thousands of vertices, so each level
+        // is split into many chunks of work
+        Graph<Integer> random = randomGraph(4000, 8, 9);
+        CsrGraph<Integer> frozen = random.freeze();
+        int origin = frozen.getIndex(0);
+        int[] expectedOrder = frozen.getBreadthFirstOrder(origin);
+        int[] expectedLevels = new int[frozen.getNumberOfVertices()];
+        java.util.Arrays.fill(expectedLevels, -1);
+        TraversalIterator<Integer> sequential = random.getBreadthFirstIterator(0);
+        while (sequential.hasNext()) {
+            expectedLevels[frozen.getIndex(sequential.next())] = sequential.getDepth();
+        }
+
+        java.util.concurrent.ForkJoinPool pool = new java.util.concurrent.ForkJoinPool(4);
+        try {
+            ParallelGraphAlgorithms algorithms = new ParallelGraphAlgorithms(pool);
+            for (int run = 0; run < 20; run++) {
+                BreadthFirstResult deterministic = algorithms.breadthFirstSearch(frozen, origin, true);
+                assertArrayEquals(expectedOrder, deterministic.getOrder());
+                assertArrayEquals(expectedLevels, deterministic.getLevels());
+
+                // Without determinism any parent may win, but the set of
+                // vertices and their levels cannot change
+                BreadthFirstResult claimed = algorithms.breadthFirstSearch(frozen, Integer.valueOf(0), false);
+                assertArrayEquals(expectedLevels, claimed.getLevels());
+                int[] order = claimed.getOrder().clone();
+                int[] sortedExpected = expectedOrder.clone();
+                java.util.Arrays.sort(order);
+                java.util.Arrays.sort(sortedExpected);
+                assertArrayEquals(sortedExpected, order);
+                int[] claimedOrder = claimed.getOrder();
+                for (int position = 1; position < claimedOrder.length; position++) {
+                    assertTrue(expectedLevels[claimedOrder[position - 1]] <= expectedLevels[claimedOrder[position]]);
+                }
+                assertEquals(deterministic.getNumberOfLevels(), claimed.getNumberOfLevels());
+            }
+        } finally {
+            pool.shutdown();
+        }
+        assertNull(new ParallelGraphAlgorithms().breadthFirstSearch(frozen, Integer.valueOf(-1), true));
+    }
+
+    @Test
+    public void testGraphLoaderMergesEqualLabels() throws java.io.IOException {
+        java.nio.file.Path file = java.nio.file.Files.createTempFile("edges", ".txt");
+        try {
+            // "1" and "01" are different texts but the same Integer label
+            java.nio.file.Files.writeString(file, "1 2\n01 3\n3 001\n2 01 4\n1 01\n");
+            GraphLoader<Integer> loader = new GraphLoader<>(Integer::valueOf);
+            CsrGraph<Integer> loaded = loader.loadCsrGraph(file);
+            assertEquals(3, loaded.getNumberOfVertices());
+            assertEquals(4, loaded.getNumberOfEdges());   // 1 -> 1 is a self-loop
+            int one = loaded.getIndex(1);
+            assertEquals(0, one);
+            assertEquals(2, loaded.getOutDegree(one));
+            assertEquals(Integer.valueOf(3), loaded.getLabel(2));
+
+            Graph<Integer> graph = loader.loadGraph(file);
+            assertEquals(3, graph.getNumberOfVertices());
+            assertEquals(4, graph.getNumberOfEdges());
+            assertTrue(graph.hasEdge(1, 3));
+            assertTrue(graph.hasEdge(3, 1));
+            assertEquals(4.0, graph.getCheapestPath(2, 1, new ResizableArrayStack<>()), 0.0);
+        } finally {
+            java.nio.file.Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testGraphFromSnapshot() {
+        graph.addEdge("B", "C", 2.5);
+        Graph<String> copy = new Graph<>(graph.freeze());
+        assertEquals(graph.getNumberOfVertices(), copy.getNumberOfVertices());
+        assertEquals(graph.getNumberOfEdges(), copy.getNumberOfEdges());
+        QueueInterface<String> expected = graph.getDepthFirstTraversal("A");
+        QueueInterface<String> actual = copy.getDepthFirstTraversal("A");
+        while (!expected.isEmpty()) {
+            assertEquals(expected.dequeue(), actual.dequeue());
+        }
+        assertEquals(2.5, copy.getCheapestPath("B", "C", new ResizableArrayStack<>()), 0.0);
+
+        // The copy is an ordinary graph that can change on its own
+        assertTrue(copy.addEdge("E", "A"));
+        assertFalse(graph.hasEdge("E", "A"));
+        assertTrue(copy.removeVertex("C"));
+        assertEquals(4, copy.getNumberOfVertices());
+    }
+
+    @Test
+    public void testMappedGraphRejectsCorruptIndex() throws java.io.IOException {
+        java.nio.file.Path file = java.nio.file.Files.createTempFile("graph", ".bin");
+        try {
+            MappedGraph.write(graph.freeze(), file);
+            byte[] original = java.nio.file.Files.readAllBytes(file);
+            // Five vertices: 6 label starts from byte 32, 6 offsets from
+            // byte 80, and the targets from byte 104
+            int[][] corruptions = {{104, 99}, {104, -1}, {88, 1000}, {80, 1}, {40, 3}};
+            for (int[] corruption : corruptions) {
+                byte[] bytes = original.clone();
+                java.nio.ByteBuffer.wrap(bytes).order(java.nio.ByteOrder.LITTLE_ENDIAN)
+                                   .putInt(corruption[0], corruption[1]);
+                java.nio.file.Files.write(file, bytes);
+                try {
+                    MappedGraph.open(file, label -> label);
+                    fail("A corrupt index at byte " + corruption[0] + " was accepted");
+                } catch (java.io.IOException expected) {
+                }
+            }
+        } finally {
+            java.nio.file.Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testMappedGraphCachesLabels() throws java.io.IOException {
+        java.nio.file.Path file = java.nio.file.Files.createTempFile("graph", ".bin");
+        try {
+            MappedGraph.write(graph.freeze(), file);
+            int[] parses = new int[1];
+            MappedGraph<String> mapped = MappedGraph.open(file, label -> {
+                parses[0]++;
+                return new String(label);
+            });
+            for (int round = 0; round < 3; round++) {
+                mapped.getBreadthFirstTraversal("A");
+                mapped.getDepthFirstTraversal("A");
+                mapped.getShortestPath("A", "E", new ResizableArrayStack<>());
+            }
+            assertEquals(5, parses[0]);   // Each label is parsed once
+            assertSame(mapped.getLabel(3), mapped.getLabel(3));
+        } finally {
+            java.nio.file.Files.delete(file);
+        }
+    }
+
+
+    @Test
+    public void testOffHeapGraphHighDegree() {
+        // A hub whose block grows through 11 classes, then loses and regains
+        // edges at random; the reference set holds every edge as begin * N + end
+        final int N = 3000;
+        OffHeapGraph<Integer> offHeap = new OffHeapGraph<>();
+        for (int vertex = 0; vertex < N; vertex++) {
+            offHeap.addVertex(vertex);
+        }
+        java.util.Set<Long> edges = new java.util.HashSet<>();
+        for (int end = 1; end < N; end++) {
+            assertTrue(offHeap.addEdge(0, end, end));
+            edges.add((long) end);
+        }
+        assertEquals(N - 1, offHeap.getNumberOfEdges());
+        assertEquals(1L << 26, offHeap.getOffHeapBytes());  // Everything fits one slab
+
+        java.util.Random random = new java.util.Random(23);
+        for (int step = 0; step < 20000; step++) {
+            int end = 1 + random.nextInt(N - 1);
+            if (edges.remove((long) end)) {
+                assertTrue(offHeap.removeEdge(0, end));
+                assertFalse(offHeap.removeEdge(0, end));
+            } else {
+                assertTrue(offHeap.addEdge(0, end));
+                edges.add((long) end);
+            }
+            assertEquals(edges.contains((long) end), offHeap.hasEdge(0, end));
+            assertEquals(edges.size(), offHeap.getNumberOfEdges());
+        }
+        for (int end = 0; end < N; end++) {
+            assertEquals(edges.contains((long) end), offHeap.hasEdge(0, end));
+        }
+
+        // Edges into the last vertex, which takes the index of a removed one
+        for (int begin = 1; begin <= 100; begin++) {
+            assertTrue(offHeap.addEdge(begin, N - 1));
+            assertTrue(offHeap.addEdge(begin, 5) || (begin == 5));
+            edges.add((long) begin * N + (N - 1));
+            edges.add((long) begin * N + 5);
+        }
+        edges.remove(5L * N + 5);
+        assertEquals(edges.size(), offHeap.getNumberOfEdges());
+
+        assertTrue(offHeap.removeVertex(5));
+        edges.removeIf(edge -> (edge / N == 5) || (edge % N == 5));
+        assertFalse(offHeap.removeVertex(5));
+        assertEquals(N - 1, offHeap.getNumberOfVertices());
+        assertEquals(edges.size(), offHeap.getNumberOfEdges());
+        for (int begin = 0; begin <= 100; begin++) {
+            assertEquals(edges.contains((long) begin * N + (N - 1)), offHeap.hasEdge(begin, N - 1));
+            assertFalse(offHeap.hasEdge(begin, 5));
+        }
+
+        // N - 2 now has the last index, so nothing moves
+        assertTrue(offHeap.removeVertex(N - 2));
+        edges.removeIf(edge -> (edge / N == N - 2) || (edge % N == N - 2));
+        assertEquals(edges.size(), offHeap.getNumberOfEdges());
+        assertTrue(offHeap.hasEdge(1, N - 1));
+        assertEquals(edges.contains((long) N - 1), offHeap.hasEdge(0, N - 1));
+
+        // The hub's freed blocks serve a new hub without taking more memory
+        assertTrue(offHeap.removeVertex(0));
+        edges.removeIf(edge -> (edge / N == 0) || (edge % N == 0));
+        assertEquals(edges.size(), offHeap.getNumberOfEdges());
+        offHeap.addVertex(N);
+        for (int end = 1; end < N - 2; end++) {
+            assertTrue(offHeap.addEdge(N, end) || (end == 5));
+        }
+        assertEquals(edges.size() + N - 4, offHeap.getNumberOfEdges());
+        assertTrue(offHeap.hasEdge(N, N - 3));
+        assertFalse(offHeap.hasEdge(N, 0));
+        assertEquals(1L << 26, offHeap.getOffHeapBytes());
+    }
+
+    @Test
+    public void testOffHeapGraphDedicatedBuffer() {
+        // A block of 2^20 edges, 12 MB, is too large to share a 64 MB slab,
+        // so the vertex that needs one gets a buffer of its own, which goes
+        // when the vertex does
+        final int HUB_DEGREE = (1 << 19) + 1;
+        final long slabBytes = 1L << 26;
+        final long dedicatedBytes = 12L << 20;
+        OffHeapGraph<Integer> offHeap = new OffHeapGraph<>();
+        for (int vertex = 0; vertex <= HUB_DEGREE + 1; vertex++) {
+            offHeap.addVertex(vertex);
+        }
+        for (int end = 1; end < HUB_DEGREE; end++) {
+            offHeap.addEdge(0, end);
+        }
+        assertEquals(slabBytes, offHeap.getOffHeapBytes());
+        assertTrue(offHeap.addEdge(0, HUB_DEGREE, 1.5));
+        assertEquals(slabBytes + dedicatedBytes, offHeap.getOffHeapBytes());
+        assertEquals(HUB_DEGREE, offHeap.getNumberOfEdges());
+        assertTrue(offHeap.hasEdge(0, 1));
+        assertTrue(offHeap.hasEdge(0, HUB_DEGREE));
+        assertEquals(1, offHeap.getShortestPath(0, HUB_DEGREE, new ResizableArrayStack<>()));
+
+        assertTrue(offHeap.removeVertex(0));
+        assertEquals(slabBytes, offHeap.getOffHeapBytes());
+        assertEquals(0, offHeap.getNumberOfEdges());
+
+        // A second hub takes its small blocks from those the first freed
+        for (int end = 2; end <= HUB_DEGREE + 1; end++) {
+            offHeap.addEdge(1, end);
+        }
+        assertEquals(slabBytes + dedicatedBytes, offHeap.getOffHeapBytes());
+        assertTrue(offHeap.hasEdge(1, HUB_DEGREE + 1));
+        offHeap.clear();
+        assertEquals(0L, offHeap.getOffHeapBytes());
+    }
+
+    @Test
+    public void testIntGraphHighDegree() {
+        // Vertex 0 passes the 8-edge threshold, so its edges are found
+        // through its neighbor index, which is rebuilt larger as it grows
+        // and loses entries, and moved edges, as edges come and go
+        final int N = 600;
+        IntGraph intGraph = new IntGraph(N);
+        boolean[] expected = new boolean[N];
+        int degree = 0;
+        java.util.Random random = new java.util.Random(24);
+        for (int step = 0; step < 20000; step++) {
+            // Adds outnumber removals until about 400 edges, then they balance
+            int end = 1 + random.nextInt(N - 1);
+            boolean add = (step < 2000) ? (random.nextInt(4) != 0) : random.nextBoolean();
+            if (add) {
+                assertEquals(!expected[end], intGraph.addEdge(0, end, end));
+                if (!expected[end]) {
+                    degree++;
+                }
+                expected[end] = true;
+            } else {
+                assertEquals(expected[end], intGraph.removeEdge(0, end));
+                if (expected[end]) {
+                    degree--;
+                }
+                expected[end] = false;
+            }
+            assertEquals(expected[end], intGraph.hasEdge(0, end));
+            assertEquals(degree, intGraph.getOutDegree(0));
+            if (step % 97 == 0) {
+                for (int other = 0; other < N; other++) {
+                    assertEquals(expected[other], intGraph.hasEdge(0, other));
+                }
+            }
+        }
+        assertTrue(degree > 8);
+        for (int position = 0; position < degree; position++) {
+            int end = intGraph.getNeighbor(0, position);
+            assertTrue(expected[end]);
+            assertEquals(end, intGraph.getWeight(0, position), 0.0);
+        }
+
+        // Removing every edge leaves an index with no stale entries
+        for (int end = 1; end < N; end++) {
+            assertEquals(expected[end], intGraph.removeEdge(0, end));
+            for (int other = end; other < N; other += 37) {
+                assertEquals(expected[other] && (other > end), intGraph.hasEdge(0, other));
+            }
+        }
+        assertEquals(0, intGraph.getNumberOfEdges());
+    }
+
+    @Test
+    public void testIntGraphTraversalAllocatesNothing() {
+        IntGraph intGraph = new IntGraph(2000);
+        java.util.Random random = new java.util.Random(24);
+        for (int edge = 0; edge < 8000; edge++) {
+            intGraph.addEdge(random.nextInt(2000), random.nextInt(2000));
+        }
+        IntArrayQueue order = new IntArrayQueue(intGraph.getNumberOfVertices());
+        intGraph.getBreadthFirstTraversal(0, order);  // Sizes this thread's context
+        int reached = order.getSize();
+        for (int run = 0; run < 2000; run++) {
+            // The JIT allocates a little the first times through; the graph does not
+            order.clear();
+            intGraph.getBreadthFirstTraversal(0, order);
+        }
+
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) java.lang.management.ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(threadId);
+        for (int run = 0; run < 100; run++) {
+            order.clear();
+            intGraph.getBreadthFirstTraversal(0, order);
+        }
+        long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+        assertEquals(reached, order.getSize());
+        assertEquals(0, allocated);
+    }
+
+
+    @Test
+    public void testMappedGraphRejectsCorruptLabelTable() throws java.io.IOException {
+        Graph<String> path = new Graph<>();
+        for (String label : new String[] {"A", "B", "C", "D"}) {
+            path.addVertex(label);
+        }
+        path.addEdge("A", "B");
+        path.addEdge("B", "C");
+        path.addEdge("C", "D");
+        java.nio.file.Path file = java.nio.file.Files.createTempFile("graph", ".bin");
+        try {
+            MappedGraph.write(path.freeze(), file);
+            byte[] original = java.nio.file.Files.readAllBytes(file);
+            // Four vertices and three edges put the 8-slot table at byte 136
+            final int table = 136;
+            java.nio.ByteBuffer buffer = java.nio.ByteBuffer.wrap(original).order(java.nio.ByteOrder.LITTLE_ENDIAN);
+            assertEquals(8, buffer.getInt(24));
+            int first = -1;
+            int full = -1;
+            for (int slot = 0; slot < 8; slot++) {
+                if (buffer.getInt(table + 4 * slot) != 0) {
+                    first = (first < 0) ? slot : first;
+                    full = slot;
+                }
+            }
+
+            // One vertex named twice in place of another, and a vertex not
+            // named at all
+            byte[] duplicate = original.clone();
+            java.nio.ByteBuffer.wrap(duplicate).order(java.nio.ByteOrder.LITTLE_ENDIAN)
+                               .putInt(table + 4 * first, buffer.getInt(table + 4 * full));
+            byte[] missing = original.clone();
+            java.nio.ByteBuffer.wrap(missing).order(java.nio.ByteOrder.LITTLE_ENDIAN).putInt(table + 4 * full, 0);
+
+            // A table of 4 slots names every vertex but has no empty slot to
+            // end a search for a missing label
+            byte[] small = new byte[original.length - 16];
+            System.arraycopy(original, 0, small, 0, table);
+            System.arraycopy(original, table + 32, small, table + 16, original.length - table - 32);
+            java.nio.ByteBuffer smallBuffer = java.nio.ByteBuffer.wrap(small).order(java.nio.ByteOrder.LITTLE_ENDIAN);
+            smallBuffer.putInt(24, 4);
+            for (int slot = 0; slot < 4; slot++) {
+                smallBuffer.putInt(table + 4 * slot, slot + 1);
+            }
+
+            for (byte[] bytes : new byte[][] {duplicate, missing, small}) {
+                java.nio.file.Files.write(file, bytes);
+                try {
+                    MappedGraph.open(file, label -> label);
+                    fail("A corrupt label table was accepted");
+                } catch (java.io.IOException expected) {
+                }
+            }
+        } finally {
+            java.nio.file.Files.delete(file);
+        }
+    }
+
+
+    @Test
+    public void testMultiSourceHopDistancesOnLongPath() {
+        // A path of 500 vertices, whose thin levels are searched sparsely,
+        // ending in a random cluster of 300, whose wide levels are swept
+        Graph<Integer> shape = randomGraph(300, 8, 15);
+        shape.addEdge(299, 304);
+        shape.addEdge(304, 299);
+        for (int vertex = 305; vertex < 805; vertex++) {
+            shape.addVertex(vertex);
+            shape.addEdge(vertex - 1, vertex);
+            shape.addEdge(vertex, vertex - 1);
+        }
+        CsrGraph<Integer> frozen = shape.freeze();
+        int n = frozen.getNumberOfVertices();
+        java.util.Random random = new java.util.Random(15);
+        int[] sources = new int[70];  // Two batches, with repeats
+        for (int i = 0; i < sources.length; i++) {
+            sources[i] = random.nextInt(n);
+        }
+        sources[69] = sources[3];
+
+        int[] hops = new MultiSourceShortestPaths(frozen).getHopDistances(sources);
+        for (int i = 0; i < sources.length; i++) {
+            int[] expected = new int[n];
+            java.util.Arrays.fill(expected, -1);
+            TraversalIterator<Integer> levels = shape.getBreadthFirstIterator(frozen.getLabel(sources[i]));
+            while (levels.hasNext()) {
+                expected[frozen.getIndex(levels.next())] = levels.getDepth();
+            }
+            assertArrayEquals(expected, java.util.Arrays.copyOfRange(hops, i * n, (i + 1) * n));
+        }
+    }
+
+    @Test
+    public void testSearchesAgreeAcrossGraphClasses() throws java.io.IOException {
+        // The five graph classes share their searches and differ only in how
+        // they store edges, so on one directed graph they must give the same
+        // orders, path lengths, costs and cycle. Edges run from lower to
+        // higher vertices until the last step adds one back to 0.
+        final int N = 300;
+        java.util.Random random = new java.util.Random(26);
+        Graph<Integer> directed = new Graph<>();
+        OffHeapGraph<Integer> offHeap = new OffHeapGraph<>();
+        IntGraph intGraph = new IntGraph(N);
+        for (int vertex = 0; vertex < N; vertex++) {
+            directed.addVertex(vertex);
+            offHeap.addVertex(vertex);
+        }
+        for (int edge = 0; edge < 3 * N; edge++) {
+            int begin = random.nextInt(N - 1);
+            int end = begin + 1 + random.nextInt(N - 1 - begin);
+            double weight = random.nextInt(10);
+            assertEquals(directed.addEdge(begin, end, weight), offHeap.addEdge(begin, end, weight));
+            intGraph.addEdge(begin, end, weight);
+        }
+        CsrGraph<Integer> snapshot = directed.freeze();
+        java.nio.file.Path file = java.nio.file.Files.createTempFile("graph", ".bin");
+        try {
+            MappedGraph.write(snapshot, file);
+            MappedGraph<Integer> mapped = MappedGraph.open(file, Integer::valueOf);
+            for (int origin : new int[] {0, 7, 150}) {
+                int[] breadthFirst = snapshot.getBreadthFirstOrder(origin);
+                assertArrayEquals(breadthFirst, mapped.getBreadthFirstOrder(origin));
+                assertArrayEquals(breadthFirst, offHeap.getBreadthFirstOrder(origin));
+                assertArrayEquals(breadthFirst, intGraph.getBreadthFirstOrder(origin));
+                QueueInterface<Integer> labels = directed.getBreadthFirstTraversal(origin);
+                for (int vertex : breadthFirst) {
+                    assertEquals(vertex, (int) labels.dequeue());
+                }
+                int[] depthFirst = snapshot.getDepthFirstOrder(origin);
+                assertArrayEquals(depthFirst, mapped.getDepthFirstOrder(origin));
+                assertArrayEquals(depthFirst, offHeap.getDepthFirstOrder(origin));
+                assertArrayEquals(depthFirst, intGraph.getDepthFirstOrder(origin));
+                labels = directed.getDepthFirstTraversal(origin);
+                for (int vertex : depthFirst) {
+                    assertEquals(vertex, (int) labels.dequeue());
+                }
+
+                int end = breadthFirst[breadthFirst.length - 1];
+                int length = directed.getShortestPath(origin, end, new ResizableArrayStack<>());
+                assertTrue(length > 1);
+                assertEquals(length, snapshot.getShortestPath(origin, end, new ResizableArrayStack<>()));
+                assertEquals(length, mapped.getShortestPath(origin, end, new ResizableArrayStack<>()));
+                assertEquals(length, offHeap.getShortestPath(origin, end, new ResizableArrayStack<>()));
+                assertEquals(length, intGraph.getShortestPath(origin, end, new IntArrayStack()));
+                double cost = directed.getCheapestPath(origin, end, new ResizableArrayStack<>());
+                assertEquals(cost, offHeap.getCheapestPath(origin, end, new ResizableArrayStack<>()), 0);
+                assertEquals(cost, intGraph.getCheapestPath(origin, end, new IntArrayStack()), 0);
+            }
+        } finally {
+            java.nio.file.Files.delete(file);
+        }
+
+        StackInterface<Integer> order = directed.getTopologicalOrder();
+        StackInterface<Integer> offHeapOrder = offHeap.getTopologicalOrder();
+        while (!order.isEmpty()) {
+            assertEquals(order.pop(), offHeapOrder.pop());
+        }
+        int[] fromOrigin = snapshot.getBreadthFirstOrder(0);
+        int last = fromOrigin[fromOrigin.length - 1];
+        directed.addEdge(last, 0);
+        offHeap.addEdge(last, 0);
+        Object[] cycle = null;
+        try {
+            directed.getTopologicalOrder();
+            fail("A cycle should be found");
+        } catch (GraphCycleException e) {
+            cycle = e.getCycle();
+        }
+        try {
+            offHeap.getTopologicalOrder();
+            fail("A cycle should be found");
+        } catch (GraphCycleException e) {
+            assertArrayEquals(cycle, e.getCycle());
+        }
+        assertEquals(last, cycle[cycle.length - 1]);
+    }
+
 }
@@ -0,0 +1,293 @@
+package benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ADTPackage.Dictionary.DictionaryInterface;
+import ADTPackage.Dictionary.HashedDictionary;
+import ADTPackage.Dictionary.UnsortedLinkedDictionary;
+import ADTPackage.List.LinkedListWithIterator;
+import ADTPackage.List.ListInterface;
+import ADTPackage.PriorityQueue.IndexedDaryHeap;
+import ADTPackage.Queue.IntArrayQueue;
+import ADTPackage.Queue.LinkedQueue;
+import ADTPackage.Queue.QueueInterface;
+import ADTPackage.Queue.ResizableArrayQueue;
+import ADTPackage.Stack.IntArrayStack;
+import ADTPackage.Stack.ResizableArrayStack;
+import ADTPackage.Stack.StackInterface;
+
+/**
+ * Measures the single operations of the dictionary, list, queue, stack
+ * and priority queue implementations, each on a structure that already
+ * holds size entries. Operations that add come paired with one that
+ * removes, so the size stays the same for the whole run. Every result is
+ * the time of one operation, or of one pair.
+ *
+ * Keys and values are boxed in setUp, so the benchmarks measure the
+ * structures rather than Integer.valueOf; whatever gc.alloc.rate.norm
+ * reports is allocated by the structure itself, such as a linked node.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AdtBenchmarks {
+    private static final int PROBES = 1024;  // A power of 2, for cheap wrap-around
+    private static final int BATCH = 1024;   // Entries added by each fill benchmark
+
+    /**
+     * Boxed values and a random sequence of positions in 0 to size - 1.
+     * JMH runs the @Setup methods of a state class and its superclasses in
+     * no set order, so each subclass's setup calls ensureEntries first.
+     */
+    @State(Scope.Thread)
+    public static class Entries {
+        @Param({"16", "1024", "16384"})
+        public int size;
+
+        Integer[] values;
+        Integer[] extraValues;  // Not among the first size values
+        int[] probes;
+        int cursor;
+
+        void ensureEntries() {
+            if (values != null) {
+                return;
+            }
+            values = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                values[i] = i;
+            }
+            extraValues = new Integer[PROBES];
+            for (int i = 0; i < PROBES; i++) {
+                extraValues[i] = size + i;
+            }
+            Random random = new Random(42);
+            probes = new int[PROBES];
+            for (int i = 0; i < PROBES; i++) {
+                probes[i] = random.nextInt(size);
+            }
+        }
+
+        // Returns the next position, and advances to the one after it
+        int nextProbe() {
+            return probes[cursor++ & (PROBES - 1)];
+        }
+    }
+
+    // Dictionaries
+
+    public enum DictionaryKind { HASHED, UNSORTED_LINKED }
+
+    @State(Scope.Thread)
+    public static class DictionaryState extends Entries {
+        @Param({"HASHED", "UNSORTED_LINKED"})
+        public DictionaryKind kind;
+
+        DictionaryInterface<Integer, Integer> dictionary;
+
+        @Setup
+        public void setUpDictionary() {
+            ensureEntries();
+            dictionary = (kind == DictionaryKind.HASHED) ? new HashedDictionary<>()
+                                                         : new UnsortedLinkedDictionary<>();
+            for (Integer value : values) {
+                dictionary.add(value, value);
+            }
+        }
+    }
+
+    @Benchmark
+    public Integer dictionaryGetValue(DictionaryState state) {
+        return state.dictionary.getValue(state.values[state.nextProbe()]);
+    }
+
+    @Benchmark
+    public Integer dictionaryGetMissingValue(DictionaryState state) {
+        return state.dictionary.getValue(state.extraValues[state.cursor++ & (PROBES - 1)]);
+    }
+
+    @Benchmark
+    public Integer dictionaryAddRemove(DictionaryState state) {
+        Integer key = state.extraValues[state.cursor++ & (PROBES - 1)];
+        state.dictionary.add(key, key);
+        return state.dictionary.remove(key);
+    }
+
+    // Lists; positions are 1 to size
+
+    @State(Scope.Thread)
+    public static class ListState extends Entries {
+        ListInterface<Integer> list;
+
+        @Setup
+        public void setUpList() {
+            ensureEntries();
+            list = new LinkedListWithIterator<>();
+            for (Integer value : values) {
+                list.add(value);
+            }
+        }
+    }
+
+    @Benchmark
+    public Integer listGetEntry(ListState state) {
+        return state.list.getEntry(1 + state.nextProbe());
+    }
+
+    @Benchmark
+    public Integer listAddRemoveAtEnd(ListState state) {
+        state.list.add(state.values[0]);
+        return state.list.remove(state.list.getLength());
+    }
+
+    @Benchmark
+    public boolean listContains(ListState state) {
+        return state.list.contains(state.values[state.nextProbe()]);
+    }
+
+    // Queues
+
+    public enum QueueKind { LINKED, RESIZABLE_ARRAY }
+
+    @State(Scope.Thread)
+    public static class QueueState extends Entries {
+        @Param({"LINKED", "RESIZABLE_ARRAY"})
+        public QueueKind kind;
+
+        QueueInterface<Integer> queue;
+        QueueInterface<Integer> emptyQueue;  // For the fill benchmark
+        IntArrayQueue intQueue;
+        IntArrayQueue emptyIntQueue;
+
+        @Setup
+        public void setUpQueues() {
+            ensureEntries();
+            queue = newQueue();
+            emptyQueue = newQueue();
+            intQueue = new IntArrayQueue();
+            emptyIntQueue = new IntArrayQueue();
+            for (int i = 0; i < size; i++) {
+                queue.enqueue(values[i]);
+                intQueue.enqueue(i);
+            }
+        }
+
+        private QueueInterface<Integer> newQueue() {
+            return (kind == QueueKind.LINKED) ? new LinkedQueue<>() : new ResizableArrayQueue<>();
+        }
+    }
+
+    /** Steady state: the entry at the front moves to the back. */
+    @Benchmark
+    public Integer queueEnqueueDequeue(QueueState state) {
+        state.queue.enqueue(state.values[state.nextProbe()]);
+        return state.queue.dequeue();
+    }
+
+    /** Filling an empty queue; the result is per enqueue. */
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public QueueInterface<Integer> queueEnqueue(QueueState state) {
+        QueueInterface<Integer> queue = state.emptyQueue;
+        queue.clear();
+        Integer[] values = state.extraValues;
+        for (int i = 0; i < BATCH; i++) {
+            queue.enqueue(values[i]);
+        }
+        return queue;
+    }
+
+    @Benchmark
+    public int intQueueEnqueueDequeue(QueueState state) {
+        state.intQueue.enqueue(state.nextProbe());
+        return state.intQueue.dequeue();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public IntArrayQueue intQueueEnqueue(QueueState state) {
+        IntArrayQueue queue = state.emptyIntQueue;
+        queue.clear();
+        for (int i = 0; i < BATCH; i++) {
+            queue.enqueue(i);
+        }
+        return queue;
+    }
+
+    // Stacks
+
+    @State(Scope.Thread)
+    public static class StackState extends Entries {
+        StackInterface<Integer> stack;
+        IntArrayStack intStack;
+
+        @Setup
+        public void setUpStacks() {
+            ensureEntries();
+            stack = new ResizableArrayStack<>();
+            intStack = new IntArrayStack();
+            for (int i = 0; i < size; i++) {
+                stack.push(values[i]);
+                intStack.push(i);
+            }
+        }
+    }
+
+    @Benchmark
+    public Integer stackPushPop(StackState state) {
+        state.stack.push(state.values[state.nextProbe()]);
+        return state.stack.pop();
+    }
+
+    @Benchmark
+    public int intStackPushPop(StackState state) {
+        state.intStack.push(state.nextProbe());
+        return state.intStack.pop();
+    }
+
+    // Priority queue
+
+    @State(Scope.Thread)
+    public static class HeapState extends Entries {
+        IndexedDaryHeap heap;
+        double[] priorities;
+
+        @Setup
+        public void setUpHeap() {
+            ensureEntries();
+            Random random = new Random(7);
+            priorities = new double[PROBES];
+            for (int i = 0; i < PROBES; i++) {
+                priorities[i] = random.nextDouble();
+            }
+            heap = new IndexedDaryHeap(size);
+            for (int index = 0; index < size; index++) {
+                heap.add(index, priorities[index & (PROBES - 1)]);
+            }
+        }
+    }
+
+    /** The least entry goes back in with a new priority. */
+    @Benchmark
+    public int heapRemoveAdd(HeapState state) {
+        int index = state.heap.remove();
+        state.heap.add(index, state.priorities[state.cursor++ & (PROBES - 1)]);
+        return index;
+    }
+}
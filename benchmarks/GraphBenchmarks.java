@@ -0,0 +1,204 @@
+package benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import ADTPackage.Graph.*;
+import ADTPackage.Queue.IntArrayQueue;
+import ADTPackage.Stack.IntArrayStack;
+import ADTPackage.Stack.ResizableArrayStack;
+
+/**
+ * Measures building and querying Graph, and its index-based counterparts
+ * IntGraph and CsrGraph, on every shape of GraphGenerators. Each graph is
+ * built once per trial, so the query benchmarks time only the query; the
+ * build benchmarks time everything from an empty graph.
+ *
+ * Run with BenchmarkMain, which attaches the GC profiler, so every result
+ * also reports gc.alloc.rate.norm: the bytes allocated per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GraphBenchmarks {
+    private static final int QUERIES = 1024;  // hasEdge calls per invocation
+
+    @Param({"RANDOM", "GRID", "POWER_LAW", "CHAIN"})
+    public GraphGenerators.Shape shape;
+
+    @Param({"1000", "100000"})
+    public int numberOfVertices;
+
+    private GraphGenerators.EdgeList edges;
+    private Integer[] labels;  // Boxed once, so no benchmark measures boxing
+    private Graph<Integer> graph;
+    private IntGraph intGraph;
+    private CsrGraph<Integer> csrGraph;
+    private int origin;
+    private int destination;
+    private int[] queryBegins;
+    private int[] queryEnds;
+    private IntArrayQueue intOrder;
+    private IntArrayStack intPath;
+
+    @Setup
+    public void setUp() {
+        edges = GraphGenerators.generate(shape, numberOfVertices, 42);
+        labels = new Integer[edges.numberOfVertices];
+        for (int vertex = 0; vertex < labels.length; vertex++) {
+            labels[vertex] = vertex;
+        }
+        graph = buildGraph();
+        intGraph = buildIntGraph();
+        csrGraph = graph.freeze();
+        origin = 0;
+        destination = edges.numberOfVertices - 1;
+
+        // Half the queries are edges of the graph, half are random pairs
+        Random random = new Random(7);
+        queryBegins = new int[QUERIES];
+        queryEnds = new int[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            if ((i % 2 == 0) && (edges.size() > 0)) {
+                int edge = random.nextInt(edges.size());
+                queryBegins[i] = edges.begins[edge];
+                queryEnds[i] = edges.ends[edge];
+            } else {
+                queryBegins[i] = random.nextInt(edges.numberOfVertices);
+                queryEnds[i] = random.nextInt(edges.numberOfVertices);
+            }
+        }
+        intOrder = new IntArrayQueue(edges.numberOfVertices);
+        intPath = new IntArrayStack(edges.numberOfVertices);
+    }
+
+    // Construction
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public Graph<Integer> buildGraph() {
+        Graph<Integer> result = new Graph<>();
+        for (Integer label : labels) {
+            result.addVertex(label);
+        }
+        for (int edge = 0; edge < edges.size(); edge++) {
+            result.addEdge(labels[edges.begins[edge]], labels[edges.ends[edge]], edges.weights[edge]);
+        }
+        return result;
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public IntGraph buildIntGraph() {
+        IntGraph result = new IntGraph(edges.numberOfVertices);
+        for (int edge = 0; edge < edges.size(); edge++) {
+            result.addEdge(edges.begins[edge], edges.ends[edge], edges.weights[edge]);
+        }
+        return result;
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public CsrGraph<Integer> freezeGraph() {
+        return graph.freeze();
+    }
+
+    // Breadth-first traversal
+
+    @Benchmark
+    public Object breadthFirstGraph() {
+        return graph.getBreadthFirstTraversal(labels[origin]);
+    }
+
+    @Benchmark
+    public IntArrayQueue breadthFirstIntGraph() {
+        intOrder.clear();
+        intGraph.getBreadthFirstTraversal(origin, intOrder);
+        return intOrder;
+    }
+
+    @Benchmark
+    public int[] breadthFirstCsrGraph() {
+        return csrGraph.getBreadthFirstOrder(origin);
+    }
+
+    // Depth-first traversal
+
+    @Benchmark
+    public Object depthFirstGraph() {
+        return graph.getDepthFirstTraversal(labels[origin]);
+    }
+
+    @Benchmark
+    public IntArrayQueue depthFirstIntGraph() {
+        intOrder.clear();
+        intGraph.getDepthFirstTraversal(origin, intOrder);
+        return intOrder;
+    }
+
+    @Benchmark
+    public int[] depthFirstCsrGraph() {
+        return csrGraph.getDepthFirstOrder(origin);
+    }
+
+    // Shortest path, from vertex 0 to the last vertex
+
+    @Benchmark
+    public int shortestPathGraph() {
+        return graph.getShortestPath(labels[origin], labels[destination], new ResizableArrayStack<>());
+    }
+
+    @Benchmark
+    public int shortestPathIntGraph() {
+        intPath.clear();
+        return intGraph.getShortestPath(origin, destination, intPath);
+    }
+
+    @Benchmark
+    public double cheapestPathGraph() {
+        return graph.getCheapestPath(labels[origin], labels[destination], new ResizableArrayStack<>());
+    }
+
+    @Benchmark
+    public double cheapestPathIntGraph() {
+        intPath.clear();
+        return intGraph.getCheapestPath(origin, destination, intPath);
+    }
+
+    // Edge lookup; results are per hasEdge call
+
+    @Benchmark
+    @OperationsPerInvocation(QUERIES)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public void hasEdgeGraph(Blackhole blackhole) {
+        for (int i = 0; i < QUERIES; i++) {
+            blackhole.consume(graph.hasEdge(labels[queryBegins[i]], labels[queryEnds[i]]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUERIES)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public void hasEdgeIntGraph(Blackhole blackhole) {
+        for (int i = 0; i < QUERIES; i++) {
+            blackhole.consume(intGraph.hasEdge(queryBegins[i], queryEnds[i]));
+        }
+    }
+}
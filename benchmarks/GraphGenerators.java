@@ -0,0 +1,179 @@
+package benchmarks;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Generates the edge lists that the graph benchmarks build their graphs
+ * from. Vertices are the integers 0 to n - 1, and every shape reaches all
+ * of them from vertex 0, so a traversal from 0 always visits the whole
+ * graph. Weights are uniform in [0, 1). The same seed gives the same
+ * edges, so every implementation is measured on identical input.
+ */
+public final class GraphGenerators {
+    /** The shapes of graph the benchmarks are parameterized by. */
+    public enum Shape {
+        /** A spanning path plus uniformly random edges, of average out-degree 8. */
+        RANDOM,
+        /** A square lattice whose neighbors are joined in both directions. */
+        GRID,
+        /** Preferential attachment, so a few hubs have most of the edges. */
+        POWER_LAW,
+        /** A single path 0, 1, ..., n - 1: the deepest traversal there is. */
+        CHAIN
+    }
+
+    /** Edges, as parallel arrays of begin vertices, end vertices and weights. */
+    public static final class EdgeList {
+        public final int numberOfVertices;
+        public final int[] begins;
+        public final int[] ends;
+        public final double[] weights;
+
+        EdgeList(int numberOfVertices, int[] begins, int[] ends, double[] weights) {
+            this.numberOfVertices = numberOfVertices;
+            this.begins = begins;
+            this.ends = ends;
+            this.weights = weights;
+        }
+
+        public int size() {
+            return begins.length;
+        }
+    }
+
+    private static final int RANDOM_DEGREE = 8;
+    private static final int ATTACHMENTS = 4;  // Edges each new vertex adds in POWER_LAW
+
+    private GraphGenerators() {
+    }
+
+    public static EdgeList generate(Shape shape, int numberOfVertices, long seed) {
+        if (numberOfVertices < 1) {
+            throw new IllegalArgumentException("A graph needs at least one vertex.");
+        }
+        Random random = new Random(seed);
+        switch (shape) {
+            case RANDOM:
+                return random(numberOfVertices, (long) numberOfVertices * RANDOM_DEGREE, random);
+            case GRID:
+                return grid(numberOfVertices, random);
+            case POWER_LAW:
+                return powerLaw(numberOfVertices, random);
+            default:
+                return chain(numberOfVertices, random);
+        }
+    }
+
+    /**
+     * Generates a RANDOM graph with a chosen number of edges, at least
+     * numberOfVertices - 1 of them: those of the spanning path.
+     */
+    public static EdgeList generateRandom(int numberOfVertices, long numberOfEdges, long seed) {
+        if (numberOfVertices < 1) {
+            throw new IllegalArgumentException("A graph needs at least one vertex.");
+        }
+        return random(numberOfVertices, Math.max(numberOfEdges, numberOfVertices - 1), new Random(seed));
+    }
+
+    // A random spanning path, so everything is reachable, then random edges
+    private static EdgeList random(int n, long numberOfEdges, Random random) {
+        Builder edges = new Builder(n, numberOfEdges, random);
+        int[] path = shuffledVertices(n, random);
+        for (int i = 1; i < n; i++) {
+            edges.add(path[i - 1], path[i]);
+        }
+        while (edges.size < edges.begins.length) {
+            edges.add(random.nextInt(n), random.nextInt(n));
+        }
+        return edges.toEdgeList();
+    }
+
+    // Row-major cells of a lattice ceil(sqrt(n)) wide; the last row may be short
+    private static EdgeList grid(int n, Random random) {
+        int width = (int) Math.ceil(Math.sqrt(n));
+        Builder edges = new Builder(n, 4L * n, random);
+        for (int vertex = 0; vertex < n; vertex++) {
+            int right = vertex + 1;
+            int below = vertex + width;
+            if ((right % width != 0) && (right < n)) {
+                edges.add(vertex, right);
+                edges.add(right, vertex);
+            }
+            if (below < n) {
+                edges.add(vertex, below);
+                edges.add(below, vertex);
+            }
+        }
+        return edges.toEdgeList();
+    }
+
+    // Barabasi-Albert: each new vertex joins vertices chosen in proportion
+    // to their degree, found by picking a random end of an earlier edge
+    private static EdgeList powerLaw(int n, Random random) {
+        Builder edges = new Builder(n, 2L * ATTACHMENTS * n, random);
+        for (int vertex = 1; vertex < n; vertex++) {
+            int attachments = Math.min(ATTACHMENTS, vertex);
+            for (int i = 0; i < attachments; i++) {
+                int other = (edges.size == 0) ? 0 : edges.ends[random.nextInt(edges.size)];
+                edges.add(vertex, other);
+                edges.add(other, vertex);
+            }
+        }
+        return edges.toEdgeList();
+    }
+
+    private static EdgeList chain(int n, Random random) {
+        Builder edges = new Builder(n, n - 1, random);
+        for (int vertex = 1; vertex < n; vertex++) {
+            edges.add(vertex - 1, vertex);
+        }
+        return edges.toEdgeList();
+    }
+
+    private static int[] shuffledVertices(int n, Random random) {
+        int[] vertices = new int[n];
+        for (int i = 0; i < n; i++) {
+            vertices[i] = i;
+        }
+        for (int i = n - 1; i > 1; i--) {
+            int j = 1 + random.nextInt(i);  // Keep vertex 0 first, as the origin
+            int swap = vertices[i];
+            vertices[i] = vertices[j];
+            vertices[j] = swap;
+        }
+        return vertices;
+    }
+
+    private static final class Builder {
+        final int numberOfVertices;
+        final int[] begins;
+        final int[] ends;
+        final double[] weights;
+        final Random random;
+        int size;
+
+        Builder(int numberOfVertices, long maxEdges, Random random) {
+            if (maxEdges > Integer.MAX_VALUE - 8) {
+                throw new IllegalArgumentException("Too many edges: " + maxEdges);
+            }
+            this.numberOfVertices = numberOfVertices;
+            this.begins = new int[(int) maxEdges];
+            this.ends = new int[(int) maxEdges];
+            this.weights = new double[(int) maxEdges];
+            this.random = random;
+        }
+
+        void add(int begin, int end) {
+            begins[size] = begin;
+            ends[size] = end;
+            weights[size] = random.nextDouble();
+            size++;
+        }
+
+        EdgeList toEdgeList() {
+            return new EdgeList(numberOfVertices, Arrays.copyOf(begins, size),
+                                Arrays.copyOf(ends, size), Arrays.copyOf(weights, size));
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ADTPackage.Graph.*;
+
+/**
+ * Compares Prim's and Kruskal's algorithms on connected random graphs of
+ * increasing density, to show which one is faster where. Kruskal's runs
+ * with both a serial and a fork/join edge sort.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SpanningForestBenchmarks {
+    @Param({"20000"})
+    public int numberOfVertices;
+
+    /** Average number of edges at a vertex, counting both ends of an edge. */
+    @Param({"2", "8", "32", "128"})
+    public int averageDegree;
+
+    private CsrGraph<Integer> graph;
+    private MinimumSpanningForests algorithms;
+
+    @Setup
+    public void setUp() {
+        GraphGenerators.EdgeList edges = GraphGenerators.generateRandom(
+                numberOfVertices, (long) numberOfVertices * averageDegree / 2, averageDegree);
+        Graph<Integer> builder = new Graph<>();
+        for (int vertex = 0; vertex < edges.numberOfVertices; vertex++) {
+            builder.addVertex(vertex);
+        }
+        for (int edge = 0; edge < edges.size(); edge++) {
+            builder.addEdge(edges.begins[edge], edges.ends[edge], edges.weights[edge]);
+        }
+        graph = builder.freeze();
+        algorithms = new MinimumSpanningForests();
+    }
+
+    @Benchmark
+    public SpanningForest<Integer> prim() {
+        return algorithms.getPrimForest(graph);
+    }
+
+    @Benchmark
+    public SpanningForest<Integer> kruskalSerialSort() {
+        return algorithms.getKruskalForest(graph, false);
+    }
+
+    @Benchmark
+    public SpanningForest<Integer> kruskalParallelSort() {
+        return algorithms.getKruskalForest(graph, true);
+    }
+}